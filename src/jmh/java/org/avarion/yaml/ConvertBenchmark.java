@@ -0,0 +1,92 @@
+package org.avarion.yaml;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TypeConverter} on its own, on what the parser has already handed over: the part of a
+ * load that is this library's rather than SnakeYAML's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConvertBenchmark {
+
+    private final TypeConverter converter = new TypeConverter(Naming.SNAKE_CASE, false);
+
+    private Type messagesType;
+    private Type playersType;
+    private Type soundsType;
+    private Object messages;
+    private Object players;
+    private Object sounds;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        messagesType = SyntheticConfigs.Flat.class.getField("messages").getGenericType();
+        playersType = SyntheticConfigs.Records.class.getField("players").getGenericType();
+        soundsType = SyntheticConfigs.Registry.class.getField("sounds").getGenericType();
+
+        YamlWrapper yaml = YamlWrapperFactory.create();
+        messages = ((Map<?, ?>) yaml.load(SyntheticConfigs.flatYaml())).get("messages");
+        players = ((Map<?, ?>) yaml.load(SyntheticConfigs.recordsYaml())).get("players");
+        sounds = ((Map<?, ?>) yaml.load(SyntheticConfigs.registryYaml())).get("sounds");
+    }
+
+    @Benchmark
+    public Object intFromNumber() throws IOException {
+        return converter.convertWithType(int.class, 42);
+    }
+
+    @Benchmark
+    public Object intFromText() throws IOException {
+        return converter.convertWithType(int.class, "42");
+    }
+
+    @Benchmark
+    public Object doubleFromNumber() throws IOException {
+        return converter.convertWithType(double.class, 2.5);
+    }
+
+    @Benchmark
+    public Object string() throws IOException {
+        return converter.convertWithType(String.class, "a message");
+    }
+
+    /** {@link SyntheticConfigs#FLAT_KEYS} strings, in a map. */
+    @Benchmark
+    public Object mapOfStrings() throws IOException {
+        return converter.convertWithType(messagesType, messages);
+    }
+
+    /** {@link SyntheticConfigs#RECORDS} records, in a map. */
+    @Benchmark
+    public Object mapOfRecords() throws IOException {
+        return converter.convertWithType(playersType, players);
+    }
+
+    /** One constant among fifteen hundred, by its exact field name. */
+    @Benchmark
+    public Object constantByName() throws IOException {
+        return converter.convertWithType(SyntheticRegistry.class, "ENTRY_1499");
+    }
+
+    /** One constant among fifteen hundred, written as a key: found by a scan of every field. */
+    @Benchmark
+    public Object constantByKey() throws IOException {
+        return converter.convertWithType(SyntheticRegistry.class, "entry.1499");
+    }
+
+    /** {@link SyntheticConfigs#REGISTRY_VALUES} constants written as keys, in a list. */
+    @Benchmark
+    public Object listOfConstants() throws IOException {
+        return converter.convertWithType(soundsType, sounds);
+    }
+}
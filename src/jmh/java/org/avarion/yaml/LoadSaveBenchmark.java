@@ -0,0 +1,57 @@
+package org.avarion.yaml;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link YamlFileInterface#load(File)} and {@link YamlFileInterface#save(File)} end to end, for
+ * each {@link SyntheticConfigs.Shape}: reading the file, parsing, converting and setting every
+ * field, and the way back.
+ *
+ * <p>Each load is into a new object, as a plugin's first load is; loading the same file into the
+ * same object again would only measure {@link LoadSnapshot} finding nothing changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadSaveBenchmark {
+
+    @Param({"FLAT", "DEEP", "RECORDS", "REGISTRY"})
+    public SyntheticConfigs.Shape shape;
+
+    private File source;
+    private File target;
+    private YamlFileInterface loaded;
+
+    @Setup
+    public void setUp() throws IOException {
+        source = File.createTempFile("bench-load", ".yml");
+        target = File.createTempFile("bench-save", ".yml");
+        Files.writeString(source.toPath(), shape.yaml());
+        loaded = shape.newConfig().load(source);
+    }
+
+    @TearDown
+    public void tearDown() {
+        source.delete();
+        target.delete();
+    }
+
+    @Benchmark
+    public YamlFileInterface load() throws IOException {
+        return shape.newConfig().load(source);
+    }
+
+    @Benchmark
+    public File save() throws IOException {
+        loaded.save(target);
+        return target;
+    }
+}
@@ -0,0 +1,67 @@
+package org.avarion.yaml;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link KeyRenames#applyTo}: finding and carrying across the keys a class says have moved, in a
+ * file of {@link SyntheticConfigs#FLAT_KEYS} other keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenameBenchmark {
+
+    public static class Moved extends YamlFileInterface {
+        @YamlKey(value = "general.name", previously = "name")
+        public String name = "";
+        @YamlKey(value = "general.motd", previously = "motd")
+        public String motd = "";
+        @YamlKey(value = "limits.players", previously = "max-players")
+        public int maxPlayers = 0;
+        @YamlKey(value = "limits.view-distance", previously = "view-distance")
+        public int viewDistance = 0;
+        @YamlKey(value = "storage.folder", previously = {"folder", "data.folder"})
+        public String folder = "";
+    }
+
+    private static final Map<String, Object> OLD = Map.of(
+            "name", "server", "motd", "hello", "max-players", 20, "view-distance", 10, "folder", "data");
+    private static final List<String> NEW_ROOTS = List.of("general", "limits", "storage");
+
+    private KeyRenames renames;
+    private LoadContext context;
+    private Map<String, Object> data;
+
+    @Setup
+    public void setUp() {
+        Schema schema = Schema.of(Moved.class);
+        renames = schema.renames;
+        // Gathered as a load gathers them, but never finished: the log is not what is measured.
+        context = LoadContext.of(schema, message -> { });
+        data = new LinkedHashMap<>(SyntheticConfigs.flatData(SyntheticConfigs.FLAT_KEYS));
+    }
+
+    /** Every key still where an old release wrote it: five moves. */
+    @Benchmark
+    public Map<String, String> allMoved() {
+        // Undo the last invocation's moves; that costs five puts, not a copy of the whole file.
+        data.keySet().removeAll(NEW_ROOTS);
+        data.putAll(OLD);
+        return renames.applyTo(data, context);
+    }
+
+    /** A file that is already up to date: nothing to move, which is most loads. */
+    @Benchmark
+    public Map<String, String> nothingMoved() {
+        data.keySet().removeAll(OLD.keySet());
+        return renames.applyTo(data, context);
+    }
+}
@@ -0,0 +1,44 @@
+package org.avarion.yaml;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Similarity#jaroWinkler}: one comparison, and the fifteen hundred it takes to suggest a
+ * spelling for a value that names none of {@link SyntheticRegistry}'s constants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimilarityBenchmark {
+
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        names = Arrays.stream(SyntheticRegistry.class.getDeclaredFields())
+                      .map(Field::getName)
+                      .filter(name -> name.startsWith("ENTRY_"))
+                      .toArray(String[]::new);
+    }
+
+    @Benchmark
+    public double one() {
+        return Similarity.jaroWinkler("ENTITY_PLAYER_LEVELUP", "ENTITY_PLAYER_LEVEL_UP");
+    }
+
+    @Benchmark
+    public double againstEveryConstant() {
+        double best = 0;
+        for (String name : names) {
+            best = Math.max(best, Similarity.jaroWinkler("ENTRY_7S0", name));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,160 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shapes of config the benchmarks measure, and files of each shape to read.
+ *
+ * <p>Each is generated rather than checked in, so its size is a number here instead of a
+ * megabyte in the repository, and each stresses one thing a real plugin's config does a lot of:
+ * <ul>
+ *   <li>{@link Shape#FLAT}: one block of ten thousand scalar keys, like a message file;</li>
+ *   <li>{@link Shape#DEEP}: values eight sections down, reached by dotted keys;</li>
+ *   <li>{@link Shape#RECORDS}: ten thousand records in one map, like per-player data;</li>
+ *   <li>{@link Shape#REGISTRY}: a list of {@link SyntheticRegistry} constants, found by name among
+ *       fifteen hundred, like a list of Bukkit sounds.</li>
+ * </ul>
+ */
+public final class SyntheticConfigs {
+
+    public static final int FLAT_KEYS = 10_000;
+    public static final int RECORDS = 10_000;
+    public static final int DEPTH = 8;
+    public static final int REGISTRY_VALUES = 1_000;
+
+    public enum Shape {
+        FLAT, DEEP, RECORDS, REGISTRY;
+
+        /** A class to load a file of this shape into, as it is before any load. */
+        public @NotNull YamlFileInterface newConfig() {
+            return switch (this) {
+                case FLAT -> new Flat();
+                case DEEP -> new Deep();
+                case RECORDS -> new Records();
+                case REGISTRY -> new Registry();
+            };
+        }
+
+        /** A file of this shape, as text. */
+        public @NotNull String yaml() {
+            return switch (this) {
+                case FLAT -> flatYaml();
+                case DEEP -> deepYaml();
+                case RECORDS -> recordsYaml();
+                case REGISTRY -> registryYaml();
+            };
+        }
+    }
+
+    public record Player(String name, int level, double balance, List<String> tags) {
+    }
+
+    public static class Flat extends YamlFileInterface {
+        @YamlKey("messages")
+        public Map<String, String> messages = new LinkedHashMap<>();
+    }
+
+    public static class Deep extends YamlFileInterface {
+        @YamlKey("a.b.c.d.e.f.g.first")
+        public int first = 0;
+        @YamlKey("a.b.c.d.e.f.g.second")
+        public String second = "";
+        @YamlKey("a.b.c.d.e.f.h.third")
+        public List<Integer> third = new ArrayList<>();
+        @YamlKey("a.b.c.d.e.f.h.fourth")
+        public double fourth = 0;
+        @YamlKey("a.b.c.x.y.z.w.fifth")
+        public Map<String, Integer> fifth = new LinkedHashMap<>();
+    }
+
+    public static class Records extends YamlFileInterface {
+        @YamlKey("players")
+        public Map<String, Player> players = new LinkedHashMap<>();
+    }
+
+    public static class Registry extends YamlFileInterface {
+        @YamlKey("sounds")
+        public List<SyntheticRegistry> sounds = new ArrayList<>();
+    }
+
+    private SyntheticConfigs() {
+    }
+
+    /** {@link #FLAT_KEYS} messages, {@code key-0} onwards. */
+    static @NotNull String flatYaml() {
+        StringBuilder yaml = new StringBuilder("messages:\n");
+        for (int i = 0; i < FLAT_KEYS; i++) {
+            yaml.append("  key-").append(i).append(": 'The message for key ").append(i).append("'\n");
+        }
+        return yaml.toString();
+    }
+
+    static @NotNull String deepYaml() {
+        String indent = "  ".repeat(DEPTH - 1);
+        return """
+               a:
+                 b:
+                   c:
+                     d:
+                       e:
+                         f:
+                           g:
+               %sfirst: 42
+               %ssecond: deep down
+                           h:
+               %sthird: [1, 2, 3, 5, 8, 13]
+               %sfourth: 2.5
+                     x:
+                       y:
+                         z:
+                           w:
+               %sfifth:
+               %s  one: 1
+               %s  two: 2
+               """.formatted(indent, indent, indent, indent, indent, indent, indent);
+    }
+
+    static @NotNull String recordsYaml() {
+        StringBuilder yaml = new StringBuilder("players:\n");
+        for (int i = 0; i < RECORDS; i++) {
+            yaml.append("  p").append(i).append(":\n")
+                .append("    name: Player").append(i).append('\n')
+                .append("    level: ").append(i % 100).append('\n')
+                .append("    balance: ").append(i * 1.5).append('\n')
+                .append("    tags: [vip, 'rank-").append(i % 7).append("']\n");
+        }
+        return yaml.toString();
+    }
+
+    /** Written as keys rather than constant names, so each one is looked for the slow way. */
+    static @NotNull String registryYaml() {
+        StringBuilder yaml = new StringBuilder("sounds:\n");
+        for (int i = 0; i < REGISTRY_VALUES; i++) {
+            yaml.append("  - entry.").append(1499 - i % 1500).append('\n');
+        }
+        return yaml.toString();
+    }
+
+    /** A flat map of {@code size} top-level keys, as the parser would hand it over. */
+    static @NotNull Map<String, Object> flatData(final int size) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            data.put("key-" + i, "value " + i);
+        }
+        return data;
+    }
+
+    /** What {@link Records#players} holds after loading {@link #recordsYaml()}. */
+    static @NotNull Map<String, Player> players() {
+        Map<String, Player> players = new LinkedHashMap<>();
+        for (int i = 0; i < RECORDS; i++) {
+            players.put("p" + i, new Player("Player" + i, i % 100, i * 1.5, List.of("vip", "rank-" + i % 7)));
+        }
+        return players;
+    }
+}
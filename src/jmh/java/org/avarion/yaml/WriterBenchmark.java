@@ -0,0 +1,43 @@
+package org.avarion.yaml;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** {@link YamlWriter#write(Map)}: turning what the fields hold into text, without a file to put it in. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriterBenchmark {
+
+    private YamlWriter writer;
+    private Map<Object, Object> flat;
+    private Map<Object, Object> records;
+
+    @Setup
+    public void setUp() {
+        writer = new YamlWriter(YamlWrapperFactory.create(), Naming.SNAKE_CASE);
+        flat = new LinkedHashMap<>();
+        flat.put("messages", SyntheticConfigs.flatData(SyntheticConfigs.FLAT_KEYS));
+        records = new LinkedHashMap<>();
+        records.put("players", SyntheticConfigs.players());
+    }
+
+    /** {@link SyntheticConfigs#FLAT_KEYS} strings. */
+    @Benchmark
+    public String flat() throws IOException {
+        return writer.write(flat);
+    }
+
+    /** {@link SyntheticConfigs#RECORDS} records, each with a list in it. */
+    @Benchmark
+    public String records() throws IOException {
+        return writer.write(records);
+    }
+}
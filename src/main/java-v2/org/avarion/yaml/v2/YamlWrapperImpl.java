@@ -4,6 +4,16 @@ import org.avarion.yaml.YamlWrapper;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class YamlWrapperImpl implements YamlWrapper {
     private final Yaml yaml;
@@ -24,4 +34,57 @@ public class YamlWrapperImpl implements YamlWrapper {
     public Object load(String content) {
         return yaml.load(content);
     }
+
+    @Override
+    public Iterable<Object> loadAll(String content) {
+        return yaml.loadAll(content);
+    }
+
+    @Override
+    public @Nullable Map<String, Span> spans(String content) {
+        Node root = yaml.compose(new StringReader(content));
+        if (!(root instanceof MappingNode mapping)) {
+            return null;
+        }
+        Map<String, Span> spans = new LinkedHashMap<>();
+        collectSpans(content, mapping, "", spans);
+        return spans;
+    }
+
+    private static void collectSpans(String content, MappingNode mapping, String prefix, Map<String, Span> spans) {
+        for (NodeTuple tuple : mapping.getValue()) {
+            if (!(tuple.getKeyNode() instanceof ScalarNode key)) {
+                continue;
+            }
+            String path = prefix + key.getValue();
+            Node value = tuple.getValueNode();
+            spans.put(path, new Span(key.getStartMark().getIndex(), value.getStartMark().getIndex(), endOf(content, value)));
+            if (value instanceof MappingNode child && !isFlow(content, child)) {
+                collectSpans(content, child, path + ".", spans);
+            }
+        }
+    }
+
+    /**
+     * Where a value ends. A block collection's own end mark is wherever the parser noticed the
+     * block was over, which is past any comments that follow it, so it ends where its last value
+     * does instead.
+     */
+    private static int endOf(String content, Node node) {
+        if (node instanceof MappingNode mapping && !isFlow(content, node) && !mapping.getValue().isEmpty()) {
+            List<NodeTuple> tuples = mapping.getValue();
+            return endOf(content, tuples.get(tuples.size() - 1).getValueNode());
+        }
+        if (node instanceof SequenceNode sequence && !isFlow(content, node) && !sequence.getValue().isEmpty()) {
+            List<Node> items = sequence.getValue();
+            return endOf(content, items.get(items.size() - 1));
+        }
+        return node.getEndMark().getIndex();
+    }
+
+    /** Read off the text rather than the node, whose flow-style accessor differs between releases. */
+    private static boolean isFlow(String content, Node node) {
+        int start = node.getStartMark().getIndex();
+        return start < content.length() && (content.charAt(start) == '[' || content.charAt(start) == '{');
+    }
 }
\ No newline at end of file
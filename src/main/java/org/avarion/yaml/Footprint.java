@@ -0,0 +1,442 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Estimates the heap configs hold on to, for {@link YamlFileInterface#memoryFootprint()} and
+ * {@link YamlFootprint#aggregate}.
+ *
+ * <p>Nothing in the JDK says what an object graph weighs without an agent, so this works it out
+ * the way the JVM lays objects out on a 64-bit heap with compressed references, the default below
+ * 32 GB: a 12-byte header, 4 bytes per reference, sizes rounded up to 8. Strings, boxes, records,
+ * arrays and {@link Lazy} fields are followed to what they hold; the collections and maps a load
+ * makes are sized from how the JDK builds them, as their insides cannot be read. Any other object
+ * counts as itself, without what it refers to.
+ *
+ * <p>What other code holds on to anyway is not the config's doing, and counts nothing: enum
+ * constants, the boxes {@link Integer#valueOf} and its kin cache, and the public constants of a
+ * value's class — {@code Sound.CLICK}, {@code Boolean.TRUE}, {@code BigDecimal.ZERO}. Everything
+ * else is counted the first time it is reached, so a value two configs share is counted once, under
+ * the first.
+ */
+final class Footprint {
+
+    private static final int HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int ARRAY_HEADER = 16;
+
+    // The JDK's own nodes, with compressed references: HashMap.Node and ConcurrentHashMap.Node,
+    // LinkedHashMap.Entry, TreeMap.Entry and ConcurrentSkipListMap's nodes, LinkedList.Node.
+    private static final int HASH_NODE = 32;
+    private static final int LINKED_HASH_NODE = 40;
+    private static final int TREE_NODE = 40;
+    private static final int LIST_NODE = 24;
+
+    /** How much an instance of a class takes itself, from the fields it and its superclasses declare. */
+    private static final ClassValue<Long> SHALLOW = new ClassValue<>() {
+        @Override
+        protected Long computeValue(final @NotNull Class<?> type) {
+            long bytes = HEADER;
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        bytes += slot(field.getType());
+                    }
+                }
+            }
+            return align(bytes);
+        }
+    };
+
+    /** The public constants of a class, and of the class it is nested in: values that live as long as it does. */
+    private static final ClassValue<Set<Object>> CONSTANTS = new ClassValue<>() {
+        @Override
+        protected Set<Object> computeValue(final @NotNull Class<?> type) {
+            Set<Object> constants = Collections.newSetFromMap(new IdentityHashMap<>());
+            addConstants(type, constants);
+            Class<?> outer = type.getDeclaringClass();
+            if (outer != null) {
+                addConstants(outer, constants);
+            }
+            return constants;
+        }
+    };
+
+    /**
+     * A record's accessors for its components that refer to something, made accessible once;
+     * empty when they cannot be. The others are in the record's own size.
+     */
+    private static final ClassValue<List<Method>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected List<Method> computeValue(final @NotNull Class<?> type) {
+            List<Method> accessors = new ArrayList<>();
+            try {
+                for (RecordComponent component : type.getRecordComponents()) {
+                    if (component.getType().isPrimitive()) {
+                        continue;
+                    }
+                    Method accessor = component.getAccessor();
+                    accessor.setAccessible(true);
+                    accessors.add(accessor);
+                }
+            } catch (RuntimeException e) {
+                // A record in a module that does not open itself; it counts as itself.
+                return List.of();
+            }
+            return List.copyOf(accessors);
+        }
+    };
+
+    /**
+     * The fields of a config class outside its schema that refer to something, the library's own
+     * included, made accessible where they can be: what {@link YamlFootprint#otherBytes()} walks.
+     */
+    private static final ClassValue<List<Field>> OTHER_FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(final @NotNull Class<?> type) {
+            Set<Field> keyed = new HashSet<>(Schema.of(type).fields);
+            List<Field> others = new ArrayList<>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()
+                            || keyed.contains(field)) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                        others.add(field);
+                    } catch (RuntimeException e) {
+                        // Its slot is in the object's own size; what it refers to cannot be seen.
+                    }
+                }
+            }
+            return List.copyOf(others);
+        }
+    };
+
+    /** Everything counted so far, so nothing is counted twice. */
+    private final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private Footprint() {
+        // A load's sentinel for a field it left alone, held by every reload snapshot.
+        seen.add(YamlFileInterface.UNKNOWN);
+    }
+
+    /**
+     * One footprint per class among {@code configs}, largest first, each summed over its instances.
+     */
+    static @NotNull List<YamlFootprint> measure(final @NotNull Collection<? extends YamlFileInterface> configs) {
+        Footprint footprint = new Footprint();
+        Map<Class<?>, Tally> tallies = new LinkedHashMap<>();
+        for (YamlFileInterface config : configs) {
+            if (footprint.seen.add(config)) {
+                Class<?> type = config.getClass();
+                tallies.computeIfAbsent(type, Tally::new).add(config, footprint);
+            }
+        }
+
+        List<YamlFootprint> result = new ArrayList<>(tallies.size());
+        for (Tally tally : tallies.values()) {
+            result.add(tally.toFootprint());
+        }
+        result.sort(Comparator.comparingLong(YamlFootprint::totalBytes).reversed());
+        return result;
+    }
+
+    /** One class's instances, added up as they are walked. */
+    private static final class Tally {
+        private final @NotNull Class<?> type;
+        private final @NotNull Schema schema;
+        private final @NotNull Map<String, Long> keys = new LinkedHashMap<>();
+        private long other;
+        private int instances;
+
+        Tally(final @NotNull Class<?> type) {
+            this.type = type;
+            this.schema = Schema.of(type);
+            for (int i = 0; i < schema.size(); i++) {
+                keys.put(schema.root(i), 0L);
+            }
+        }
+
+        void add(final @NotNull YamlFileInterface config, final @NotNull Footprint footprint) {
+            instances++;
+            long slots = 0;
+            for (int i = 0; i < schema.size(); i++) {
+                Field field = schema.fields.get(i);
+                long slot = Modifier.isStatic(field.getModifiers()) ? 0 : slot(field.getType());
+                slots += slot;
+                // Reading a primitive would box it; its value is the slot.
+                long held = field.getType().isPrimitive() ? 0 : footprint.sizeOf(read(field, config));
+                keys.merge(schema.root(i), slot + held, Long::sum);
+            }
+
+            other += shallow(type) - slots;
+            for (Field field : OTHER_FIELDS.get(type)) {
+                other += footprint.sizeOf(read(field, config));
+            }
+        }
+
+        @NotNull YamlFootprint toFootprint() {
+            return new YamlFootprint(type, instances, Collections.unmodifiableMap(keys), other);
+        }
+    }
+
+    private static @Nullable Object read(final @NotNull Field field, final @NotNull Object config) {
+        try {
+            return field.get(config);
+        } catch (IllegalAccessException e) {
+            // Every field walked was made accessible first.
+            return null;
+        }
+    }
+
+    /** What {@code value} takes, and everything it holds that has not been counted yet. */
+    long sizeOf(final @Nullable Object value) {
+        if (value == null || isShared(value) || !seen.add(value)) {
+            return 0;
+        }
+
+        Class<?> type = value.getClass();
+        long bytes = shallow(type);
+        if (value instanceof String text) {
+            return bytes + array(text.chars().allMatch(c -> c <= 0xFF) ? text.length() : 2L * text.length());
+        }
+        if (value instanceof Lazy<?> lazy) {
+            return bytes + sizeOf(lazy.forWriting());
+        }
+        if (value instanceof File file) {
+            return bytes + sizeOf(file.getPath());
+        }
+        if (value instanceof LoadSnapshot snapshot) {
+            return snapshot.retained(this);
+        }
+        if (type.isRecord()) {
+            for (Method accessor : ACCESSORS.get(type)) {
+                bytes += sizeOf(invoke(accessor, value));
+            }
+            return bytes;
+        }
+        if (type.isArray()) {
+            int length = Array.getLength(value);
+            Class<?> component = type.getComponentType();
+            bytes = array((long) slot(component) * length);
+            if (!component.isPrimitive()) {
+                for (Object element : (Object[]) value) {
+                    bytes += sizeOf(element);
+                }
+            }
+            return bytes;
+        }
+        if (value instanceof Collection<?> collection) {
+            bytes += insides(collection, collection.size());
+            for (Object element : collection) {
+                bytes += sizeOf(element);
+            }
+            return bytes;
+        }
+        if (value instanceof Map<?, ?> map) {
+            bytes += insides(map, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                bytes += sizeOf(entry.getKey()) + sizeOf(entry.getValue());
+            }
+            return bytes;
+        }
+        return bytes;
+    }
+
+    private static @Nullable Object invoke(final @NotNull Method accessor, final @NotNull Object record) {
+        try {
+            return accessor.invoke(record);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    /** Whether {@code value} lives as long as its class does, whoever refers to it. */
+    private static boolean isShared(final @NotNull Object value) {
+        if (value instanceof Enum<?> || value instanceof Class<?>) {
+            return true;
+        }
+        if (value instanceof Integer number) {
+            return number >= -128 && number <= 127 && value == (Object) Integer.valueOf(number);
+        }
+        if (value instanceof Long number) {
+            return number >= -128 && number <= 127 && value == (Object) Long.valueOf(number);
+        }
+        if (value instanceof Short number) {
+            return number >= -128 && number <= 127 && value == (Object) Short.valueOf(number);
+        }
+        if (value instanceof Byte number) {
+            return value == (Object) Byte.valueOf(number);
+        }
+        if (value instanceof Character character) {
+            return character <= 127 && value == (Object) Character.valueOf(character);
+        }
+        return CONSTANTS.get(value.getClass()).contains(value);
+    }
+
+    /**
+     * What a collection or map holds beyond its own fields: the array, table or nodes behind it,
+     * sized the way the JDK builds it for {@code size} entries. The ones a load wraps with
+     * {@link YamlFile#immutableCollections()} are taken to wrap what a load makes.
+     */
+    private static long insides(final @NotNull Object container, final int size) {
+        String name = container.getClass().getName();
+        if (container instanceof EnumSet<?>) {
+            // Its members are bits in the set itself; the constants are the enum's.
+            return 0;
+        }
+        if (container instanceof EnumMap<?, ?> map) {
+            Object key = map.isEmpty() ? null : map.keySet().iterator().next();
+            int universe = key == null ? 0 : ((Enum<?>) key).getDeclaringClass().getEnumConstants().length;
+            return array((long) REFERENCE * universe);
+        }
+        if (container instanceof LinkedHashSet<?>) {
+            return shallow(LinkedHashMap.class) + table(size, LINKED_HASH_NODE);
+        }
+        if (container instanceof HashSet<?>) {
+            return shallow(HashMap.class) + table(size, HASH_NODE);
+        }
+        if (container instanceof LinkedHashMap<?, ?>) {
+            return table(size, LINKED_HASH_NODE);
+        }
+        if (container instanceof HashMap<?, ?> || container instanceof ConcurrentHashMap<?, ?>
+                || container instanceof Hashtable<?, ?>) {
+            return table(size, HASH_NODE);
+        }
+        if (container instanceof TreeSet<?> || container instanceof ConcurrentSkipListSet<?>) {
+            return shallow(TreeMap.class) + (long) size * TREE_NODE;
+        }
+        if (container instanceof TreeMap<?, ?> || container instanceof ConcurrentSkipListMap<?, ?>) {
+            return (long) size * TREE_NODE;
+        }
+        if (container instanceof LinkedList<?>) {
+            return (long) size * LIST_NODE;
+        }
+        if (container instanceof ArrayDeque<?>) {
+            return array((long) REFERENCE * (size + 1));
+        }
+        if (name.startsWith("java.util.ImmutableCollections$")) {
+            // List.of keeps an array of its elements; Set.of and Map.of a table twice as wide.
+            if (name.endsWith("ListN")) {
+                return array((long) REFERENCE * size);
+            }
+            if (name.endsWith("SetN")) {
+                return array(2L * REFERENCE * size);
+            }
+            if (name.endsWith("MapN")) {
+                return array(4L * REFERENCE * size);
+            }
+            return 0;
+        }
+        if (name.startsWith("java.util.Collections$Unmodifiable")) {
+            if (container instanceof SortedSet<?>) {
+                return shallow(TreeSet.class) + shallow(TreeMap.class) + (long) size * TREE_NODE;
+            }
+            if (container instanceof SortedMap<?, ?>) {
+                return shallow(TreeMap.class) + (long) size * TREE_NODE;
+            }
+            if (container instanceof Set<?>) {
+                return shallow(LinkedHashSet.class) + shallow(LinkedHashMap.class) + table(size, LINKED_HASH_NODE);
+            }
+            if (container instanceof Map<?, ?>) {
+                return shallow(LinkedHashMap.class) + table(size, LINKED_HASH_NODE);
+            }
+            return shallow(ArrayList.class) + array((long) REFERENCE * size);
+        }
+        if (container instanceof Map<?, ?>) {
+            return table(size, HASH_NODE);
+        }
+        // ArrayList, Vector, Arrays.asList and the like: an array at least as long as the list.
+        return array((long) REFERENCE * size);
+    }
+
+    /** A hash table holding {@code size} entries at the default load factor, and its nodes. */
+    private static long table(final int size, final int node) {
+        if (size == 0) {
+            return 0;
+        }
+        int needed = (int) Math.ceil(size / 0.75);
+        int buckets = Math.max(16, Integer.highestOneBit(needed - 1) << 1);
+        return array((long) REFERENCE * buckets) + (long) size * node;
+    }
+
+    static long shallow(final @NotNull Class<?> type) {
+        return SHALLOW.get(type);
+    }
+
+    private static long array(final long contents) {
+        return align(ARRAY_HEADER + contents);
+    }
+
+    private static long align(final long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /** The room a field of {@code type} takes in the object holding it. */
+    private static int slot(final @NotNull Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE;
+    }
+
+    private static void addConstants(final @NotNull Class<?> type, final @NotNull Set<Object> constants) {
+        for (Field field : type.getFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers) && !field.getType().isPrimitive()) {
+                try {
+                    Object constant = field.get(null);
+                    if (constant != null) {
+                        constants.add(constant);
+                    }
+                } catch (IllegalAccessException | RuntimeException e) {
+                    // A constant of a class that is not public; nothing holds on to it through here.
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The change journal kept beside a YAML file: the settings that changed since it was last saved
+ * in full, appended one record at a time.
+ *
+ * <p>A record is an ordinary YAML document of one of two kinds. A map, whose keys are the dotted
+ * keys of the fields it carries, replaces each of them whole: what {@link YamlFileInterface#journal}
+ * writes. A list changes single entries of the map or collection under a key, one item per entry —
+ * {@code put} or {@code remove} for a map, {@code add} or {@code remove} for a collection — so a
+ * change to one entry of a large map costs that entry to write, not the map: what
+ * {@link YamlFileInterface#journalEntries} writes.
+ *
+ * <pre>{@code
+ * ---
+ * - put: points
+ *   entry: alice
+ *   value: 11
+ * - remove: points
+ *   entry: bob
+ * }</pre>
+ *
+ * <p>Loading replays the records over the base file in the order they were written, which makes
+ * the newest value of a key, or of an entry, the one that is read.
+ *
+ * <p>A full save makes every record redundant, so a save is also what compacts the journal: it
+ * writes the base file and deletes the journal in one go.
+ *
+ * @see YamlFileInterface#journal(File, String...)
+ */
+final class Journal {
+
+    /**
+     * The journal is never compacted while it is smaller than this, however small the base file
+     * is: rewriting a file of a few lines on every other change would defeat the purpose.
+     */
+    private static final long MIN_COMPACTION_BYTES = 16 * 1024L;
+
+    private static final String PUT = "put";
+    private static final String ADD = "add";
+    private static final String REMOVE = "remove";
+    private static final String ENTRY = "entry";
+    private static final String VALUE = "value";
+
+    private Journal() {
+    }
+
+    /** Where the journal for {@code file} lives: beside it, under the same name plus {@code .journal}. */
+    static @NotNull File of(final @NotNull File file) {
+        File absolute = file.getAbsoluteFile();
+        return new File(absolute.getParentFile(), absolute.getName() + ".journal");
+    }
+
+    /** Add one record to the end of {@code journal}, creating it when it is not there yet. */
+    static void append(final @NotNull File journal, final @NotNull String record) throws IOException {
+        try (FileWriter writer = new FileWriter(journal, true)) {
+            writer.write("---\n");
+            writer.write(record);
+        }
+    }
+
+    /**
+     * Whether {@code journal} has grown enough that replaying it costs more than a full save would.
+     *
+     * <p>Measured against the base file itself, so a compaction — which costs the size of the
+     * base file — only happens after at least that many bytes of records have been written. Spread
+     * over those records, a compaction adds a constant to each of them, never the size of the file.
+     */
+    static boolean isDue(final @NotNull File file, final @NotNull File journal) {
+        return journal.length() > Math.max(file.length(), MIN_COMPACTION_BYTES);
+    }
+
+    /**
+     * Lay every record in {@code journal} over {@code data}, oldest first.
+     *
+     * <p>A record is only ever appended, so a crash can cut the last one short but cannot damage
+     * any before it. A record that does not parse is therefore where the journal ends: everything
+     * before it is replayed, it and anything after it are left out, and that is said out loud.
+     */
+    static void replay(final @NotNull YamlWrapper yaml, final @NotNull Map<String, Object> data,
+                       final @NotNull File journal, final @NotNull LoadContext context) throws IOException {
+        String content;
+        try (FileInputStream inputStream = new FileInputStream(journal)) {
+            content = new String(inputStream.readAllBytes());
+        }
+
+        Iterator<Object> records = yaml.loadAll(content).iterator();
+        while (true) {
+            Object record;
+            try {
+                if (!records.hasNext()) {
+                    return;
+                }
+                record = records.next();
+            }
+            catch (RuntimeException e) {
+                context.warn(YamlWarning.Kind.JOURNAL_TRUNCATED, journal.getName(), null, null, null);
+                return;
+            }
+            if (record instanceof Map<?, ?> changes) {
+                for (Map.Entry<?, ?> change : changes.entrySet()) {
+                    put(data, String.valueOf(change.getKey()), change.getValue());
+                }
+            }
+            else if (record instanceof List<?> changes) {
+                for (Object change : changes) {
+                    if (change instanceof Map<?, ?> entryChange) {
+                        apply(data, entryChange);
+                    }
+                }
+            }
+        }
+    }
+
+    /** {@code entry} of the map under {@code key} is now {@code value}: one item of a list record. */
+    static @NotNull Map<Object, Object> put(final @NotNull String key, final @NotNull Object entry,
+                                            final @Nullable Object value) {
+        Map<Object, Object> change = new LinkedHashMap<>();
+        change.put(PUT, key);
+        change.put(ENTRY, entry);
+        change.put(VALUE, value);
+        return change;
+    }
+
+    /** The collection under {@code key} now holds {@code element}. */
+    static @NotNull Map<Object, Object> add(final @NotNull String key, final @NotNull Object element) {
+        Map<Object, Object> change = new LinkedHashMap<>();
+        change.put(ADD, key);
+        change.put(ENTRY, element);
+        return change;
+    }
+
+    /** The map or collection under {@code key} no longer has {@code entry}. */
+    static @NotNull Map<Object, Object> remove(final @NotNull String key, final @NotNull Object entry) {
+        Map<Object, Object> change = new LinkedHashMap<>();
+        change.put(REMOVE, key);
+        change.put(ENTRY, entry);
+        return change;
+    }
+
+    /**
+     * Make one item of a list record to what the base file holds under its key: a map or a list,
+     * made when there is none yet. Only a set is recorded entry by entry, so an element is added
+     * once however often it was recorded.
+     */
+    @SuppressWarnings("unchecked")
+    private static void apply(final @NotNull Map<String, Object> data, final @NotNull Map<?, ?> change) {
+        Object entry = change.get(ENTRY);
+        if (change.get(PUT) != null) {
+            String path = String.valueOf(change.get(PUT));
+            Object current = get(data, path);
+            Map<Object, Object> map = current instanceof Map<?, ?> ? (Map<Object, Object>) current : new LinkedHashMap<>();
+            map.put(entry, change.get(VALUE));
+            put(data, path, map);
+        }
+        else if (change.get(ADD) != null) {
+            String path = String.valueOf(change.get(ADD));
+            Object current = get(data, path);
+            List<Object> list = current instanceof List<?> ? (List<Object>) current : new ArrayList<>();
+            if (!list.contains(entry)) {
+                list.add(entry);
+            }
+            put(data, path, list);
+        }
+        else if (change.get(REMOVE) != null) {
+            Object current = get(data, String.valueOf(change.get(REMOVE)));
+            if (current instanceof Map<?, ?> map) {
+                map.remove(entry);
+            }
+            else if (current instanceof Collection<?> collection) {
+                collection.remove(entry);
+            }
+        }
+    }
+
+    /** What sits at the dotted {@code path}, or {@code null} when something along the way is not a block. */
+    private static @Nullable Object get(final @NotNull Map<String, Object> data, final @NotNull String path) {
+        Object current = data;
+        for (String part : path.split("\\.")) {
+            if (!(current instanceof Map<?, ?> map)) {
+                return null;
+            }
+            current = map.get(part);
+        }
+        return current;
+    }
+
+    /**
+     * Put {@code value} at the dotted {@code path}, making blocks along the way.
+     *
+     * <p>Unlike a rename, a record may replace a value that sits where a block has to be: the
+     * record was written from the fields after the base file was, so it is the better account of
+     * what the configuration looks like now.
+     */
+    @SuppressWarnings("unchecked")
+    private static void put(final @NotNull Map<String, Object> data, final @NotNull String path, final Object value) {
+        String[] parts = path.split("\\.");
+        Map<String, Object> current = data;
+        for (int i = 0; i < parts.length - 1; i++) {
+            Object next = current.get(parts[i]);
+            if (!(next instanceof Map)) {
+                next = new LinkedHashMap<String, Object>();
+                current.put(parts[i], next);
+            }
+            current = (Map<String, Object>) next;
+        }
+        current.put(parts[parts.length - 1], value);
+    }
+}
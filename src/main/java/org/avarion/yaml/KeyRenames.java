@@ -8,6 +8,7 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Deque;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,36 +30,100 @@ import java.util.Set;
  */
 final class KeyRenames {
 
-    private KeyRenames() {
+    /** One declared move, both ends already cut at their dots. */
+    private record Move(@NotNull String from, @NotNull String @NotNull [] fromPath,
+                        @NotNull String to, @NotNull String @NotNull [] toPath) {
+
+        /** {@code null} for a declaration that cannot move anything: an empty end, or one that goes nowhere. */
+        static @Nullable Move of(final @NotNull String rawFrom, final @NotNull String rawTo) {
+            String from = rawFrom.trim();
+            String to = rawTo.trim();
+            if (from.isEmpty() || to.isEmpty() || from.equals(to)) {
+                return null;
+            }
+            return new Move(from, from.split("\\."), to, to.split("\\."));
+        }
+    }
+
+    private final @NotNull List<Move> blockMoves;
+
+    /** Per field that has a history, its old keys as moves, newest first. */
+    private final @NotNull List<List<Move>> fieldMoves;
+
+    private final @NotNull Set<String> roots;
+
+    /**
+     * Everything {@code type} declares as moved, worked out once: which annotations there are
+     * up the class chain, and each of their paths cut into segments.
+     *
+     * <p>Built by {@link Schema}, which is kept per class, so a load pays for none of this. The
+     * fields and the keys they are saved under are the schema's, rather than walked again.
+     */
+    KeyRenames(final @NotNull Class<?> type, final @NotNull List<Field> fields, final @NotNull String @NotNull [] keys) {
+        List<Move> blocks = new ArrayList<>();
+        for (YamlRename rename : blockMovesOn(type)) {
+            Move move = Move.of(rename.from(), rename.to());
+            if (move != null) {
+                blocks.add(move);
+            }
+        }
+
+        List<List<Move>> perField = new ArrayList<>();
+        for (int i = 0; i < fields.size(); i++) {
+            List<Move> history = new ArrayList<>();
+            for (String from : fields.get(i).getAnnotation(YamlKey.class).previously()) {
+                Move move = Move.of(from, keys[i]);
+                if (move != null) {
+                    history.add(move);
+                }
+            }
+            if (!history.isEmpty()) {
+                perField.add(List.copyOf(history));
+            }
+        }
+
+        Set<String> fromRoots = new HashSet<>();
+        for (Move move : blocks) {
+            fromRoots.add(move.fromPath()[0]);
+        }
+        for (List<Move> history : perField) {
+            for (Move move : history) {
+                fromRoots.add(move.fromPath()[0]);
+            }
+        }
+
+        blockMoves = List.copyOf(blocks);
+        fieldMoves = List.copyOf(perField);
+        roots = Set.copyOf(fromRoots);
     }
 
     /**
-     * Move everything {@code type} declares as moved, in {@code data}, in place.
+     * Move everything declared as moved, in {@code data}, in place.
+     *
+     * <p>Almost every file a load sees has already been migrated, so the first question is
+     * whether the file has any of the top-level keys a declaration reads from at all. When it has
+     * none — one lookup per such key — there is nothing to do, and nothing more is done.
      *
      * @return every old path a declaration accounted for, mapped to the key that now holds the
      * value — whether it was carried there or was already there. What it is <em>not</em> is a
      * list of keys still needing a human: those are exactly the ones missing from it.
      */
-    static @NotNull Map<String, String> applyTo(final @NotNull Map<String, Object> data,
-                                                final @NotNull Class<?> type,
-                                                final @NotNull Naming naming) {
-        Map<String, String> applied = new LinkedHashMap<>();
+    @NotNull Map<String, String> applyTo(final @NotNull Map<String, Object> data, final @NotNull LoadContext context) {
+        if (!anyRootIn(data)) {
+            return Map.of();
+        }
 
-        for (YamlRename rename : blockMovesOn(type)) {
-            move(data, rename.from(), rename.to(), applied);
+        Map<String, String> applied = new LinkedHashMap<>();
+        for (Move move : blockMoves) {
+            move(data, move, applied, context);
         }
 
-        for (Field field : YamlFileInterface.yamlKeyFields(type)) {
-            YamlKey annotation = field.getAnnotation(YamlKey.class);
-            if (annotation.previously().length == 0) {
-                continue;
-            }
-            String to = YamlFileInterface.keyOf(field, annotation, naming);
-            for (String from : annotation.previously()) {
+        for (List<Move> history : fieldMoves) {
+            for (Move move : history) {
                 // Newest first, and the first one the file actually has wins: a file holding
                 // two generations of the same key was hand-edited across an upgrade, and the
                 // later spelling is the better guess at what they meant.
-                if (move(data, from, to, applied)) {
+                if (move(data, move, applied, context)) {
                     break;
                 }
             }
@@ -67,6 +132,30 @@ final class KeyRenames {
         return applied;
     }
 
+    private boolean anyRootIn(final @NotNull Map<String, Object> data) {
+        for (String root : roots) {
+            if (data.containsKey(root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The top-level key of every old path declared, block moves and single keys alike. A part of
+     * a file that has none of them has nothing in it to move.
+     */
+    @NotNull Set<String> roots() {
+        return roots;
+    }
+
+    /** The first segment of a dotted path: the top-level key it lives under. */
+    static @NotNull String rootOf(final @NotNull String path) {
+        String trimmed = path.trim();
+        int dot = trimmed.indexOf('.');
+        return dot < 0 ? trimmed : trimmed.substring(0, dot);
+    }
+
     /**
      * The block moves declared on {@code type} and everything it extends, base class first so a
      * subclass's declaration is applied to a file its parent has already reshaped.
@@ -83,6 +172,19 @@ final class KeyRenames {
         return moves;
     }
 
+    /**
+     * Carry {@code from} to {@code to} as a declared move would, for a move that is not declared on
+     * the class but made by a {@link YamlMigrations.Step}.
+     *
+     * @return whether {@code from} was accounted for; see {@link #move(Map, Move, Map, LoadContext)}
+     */
+    static boolean move(final @NotNull Map<String, Object> data, final @NotNull String from,
+                        final @NotNull String to, final @NotNull Map<String, String> applied,
+                        final @NotNull LoadContext context) {
+        Move move = Move.of(from, to);
+        return move != null && move(data, move, applied, context);
+    }
+
     /**
      * Carry {@code from} to {@code to}, if {@code from} is there at all.
      *
@@ -90,49 +192,42 @@ final class KeyRenames {
      * was already set and the old one was dropped in its favour. False means the file simply did
      * not have it, or that the move could not be made.
      */
-    private static boolean move(final @NotNull Map<String, Object> data, final @NotNull String rawFrom,
-                                final @NotNull String rawTo, final @NotNull Map<String, String> applied) {
-        String from = rawFrom.trim();
-        String to = rawTo.trim();
-        if (from.isEmpty() || to.isEmpty() || from.equals(to)) {
-            return false;
-        }
+    private static boolean move(final @NotNull Map<String, Object> data, final @NotNull Move move,
+                                final @NotNull Map<String, String> applied, final @NotNull LoadContext context) {
+        String from = move.from();
+        String to = move.to();
 
         // The block holding `from` is looked up once and kept: it is both where the value is read
         // and where it is taken out of, and asking twice would mean a second answer to null-check
         // that cannot differ from the first.
-        Map<String, Object> origin = blockHolding(data, from, false);
-        String leaf = leafOf(from);
+        Map<String, Object> origin = blockHolding(data, move.fromPath(), false);
+        String leaf = leafOf(move.fromPath());
         if (origin == null || origin.get(leaf) == null) {
             // Absent, or written down empty. Neither is a value to carry anywhere.
             return false;
         }
         Object value = origin.get(leaf);
 
-        if (valueAt(data, to) != YamlFileInterface.UNKNOWN) {
+        if (valueAt(data, move.toPath()) != YamlFileInterface.UNKNOWN) {
             // Both generations in one file: somebody hand-edited across an upgrade. The key this
             // release documents is the one to believe, and the other one is about to stop
             // existing, so say which value is being used before it does.
-            TypeConverter.warn("'" + from + "' is now '" + to + "', and this file sets both."
-                               + " Using '" + to + "'; the value under '" + from + "' is ignored"
-                               + " and will not be kept.");
+            context.warn(YamlWarning.Kind.KEY_CONFLICT, from, null, to, null);
             origin.remove(leaf);
             applied.put(from, to);
             return true;
         }
 
-        if (!putAt(data, to, value)) {
+        if (!putAt(data, move.toPath(), value)) {
             // Something along the way to `to` is a value where a block has to be. Leaving `from`
             // exactly where it is, is the point: untouched, it is still there to be reported as a
             // key that belongs to nothing, which beats discarding it quietly.
-            TypeConverter.warn("'" + from + "' should have moved to '" + to + "', but '" + to
-                               + "' cannot be created: something on the way to it is a value"
-                               + " rather than a section. Fix that and the move will happen.");
+            context.warn(YamlWarning.Kind.MOVE_BLOCKED, from, null, to, null);
             return false;
         }
 
         origin.remove(leaf);
-        TypeConverter.warn("'" + from + "' is now '" + to + "'; your value has been carried across.");
+        context.warn(YamlWarning.Kind.KEY_MOVED, from, null, to, null);
         applied.put(from, to);
         return true;
     }
@@ -145,18 +240,35 @@ final class KeyRenames {
      */
     static void drop(final @NotNull Map<String, Object> data, final @NotNull Set<String> paths) {
         for (String path : paths) {
-            String trimmed = path.trim();
-            Map<String, Object> parent = blockHolding(data, trimmed, false);
+            String[] segments = path.trim().split("\\.");
+            Map<String, Object> parent = blockHolding(data, segments, false);
             if (parent != null) {
-                parent.remove(leafOf(trimmed));
+                parent.remove(leafOf(segments));
             }
         }
     }
 
+    /**
+     * Put {@code value} where something already is at {@code path}, or take it out when
+     * {@code value} is {@code null}. Nothing is done when {@code path} leads nowhere.
+     */
+    static void replace(final @NotNull Map<String, Object> data, final @NotNull String @NotNull [] path,
+                        final @Nullable Object value) {
+        Map<String, Object> parent = blockHolding(data, path, false);
+        if (parent == null) {
+            return;
+        }
+        if (value == null) {
+            parent.remove(leafOf(path));
+        } else {
+            parent.put(leafOf(path), value);
+        }
+    }
+
     // ==================== Walking a dotted path ====================
 
     /** What sits at {@code path}, or {@link YamlFileInterface#UNKNOWN} when nothing does. */
-    private static @NotNull Object valueAt(final @NotNull Map<String, Object> data, final @NotNull String path) {
+    private static @NotNull Object valueAt(final @NotNull Map<String, Object> data, final @NotNull String @NotNull [] path) {
         Map<String, Object> parent = blockHolding(data, path, false);
         String leaf = leafOf(path);
         if (parent == null || !parent.containsKey(leaf)) {
@@ -167,7 +279,7 @@ final class KeyRenames {
     }
 
     /** Put {@code value} at {@code path}, reporting whether there was room for it. */
-    private static boolean putAt(final @NotNull Map<String, Object> data, final @NotNull String path,
+    static boolean putAt(final @NotNull Map<String, Object> data, final @NotNull String @NotNull [] path,
                                  final @NotNull Object value) {
         Map<String, Object> parent = blockHolding(data, path, true);
         if (parent == null) {
@@ -188,8 +300,8 @@ final class KeyRenames {
      */
     @SuppressWarnings("unchecked")
     private static @Nullable Map<String, Object> blockHolding(final @NotNull Map<String, Object> data,
-                                                              final @NotNull String path, final boolean create) {
-        String[] parts = path.split("\\.");
+                                                              final @NotNull String @NotNull [] parts,
+                                                              final boolean create) {
         Map<String, Object> current = data;
         for (int i = 0; i < parts.length - 1; i++) {
             Object next = current.get(parts[i]);
@@ -207,8 +319,7 @@ final class KeyRenames {
         return current;
     }
 
-    private static @NotNull String leafOf(final @NotNull String path) {
-        int dot = path.lastIndexOf('.');
-        return dot < 0 ? path : path.substring(dot + 1);
+    private static @NotNull String leafOf(final @NotNull String @NotNull [] path) {
+        return path[path.length - 1];
     }
 }
@@ -0,0 +1,103 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/**
+ * A field whose value is only converted the first time it is asked for.
+ *
+ * <p>A config class with one block far larger than the rest — every arena, every warp — that only
+ * a rarely used command reads pays for converting that block on every load. Declared as a
+ * {@code Lazy}, the block is kept as the parser read it, and turned into a {@code T} by the first
+ * {@link #get()}:
+ *
+ * <pre>{@code
+ * @YamlKey("arenas")
+ * public Lazy<Map<String, Arena>> arenas = Lazy.of(new LinkedHashMap<>());
+ *
+ * Arena arena = config.arenas.get().get(name);
+ * }</pre>
+ *
+ * <p>It is converted once, however many threads ask at the same time, and with the leniency of the
+ * field it was read into. A value that cannot be converted fails that {@code get()} rather than
+ * the load; warnings go where the load's went, such as the plugin's logger. A save writes a block
+ * that was never asked for exactly as it was read.
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    /** Turns what was read into the value; throws what a load would have. */
+    @FunctionalInterface
+    interface Conversion {
+        @Nullable Object convert(@Nullable Object raw) throws IOException;
+    }
+
+    private static final Object PENDING = new Object();
+
+    private volatile @Nullable Object value;
+    private @Nullable Object raw;
+    private @Nullable Conversion conversion;
+
+    private Lazy(final @Nullable Object value, final @Nullable Object raw, final @Nullable Conversion conversion) {
+        this.value = value;
+        this.raw = raw;
+        this.conversion = conversion;
+    }
+
+    /** A value that is already there, as a field's default or for a value set in code. */
+    public static <T> @NotNull Lazy<T> of(final @Nullable T value) {
+        return new Lazy<>(value, null, null);
+    }
+
+    /** What a load puts in the field: {@code raw} as the parser read it, converted on the first {@link #get()}. */
+    static <T> @NotNull Lazy<T> deferred(final @Nullable Object raw, final @NotNull Conversion conversion) {
+        return new Lazy<>(PENDING, raw, conversion);
+    }
+
+    /**
+     * The value, converted now if this is the first time it is asked for.
+     *
+     * @throws UncheckedIOException If what was read cannot be converted into a {@code T}; the next
+     *                              call tries again.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Object current = value;
+        if (current == PENDING) {
+            synchronized (this) {
+                current = value;
+                if (current == PENDING) {
+                    try {
+                        current = conversion.convert(raw);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    value = current;
+                    // Nothing needs what was read any more, and it can be the larger of the two.
+                    raw = null;
+                    conversion = null;
+                }
+            }
+        }
+        return (T) current;
+    }
+
+    /** Whether the value has been converted, or was there from the start. */
+    public boolean isLoaded() {
+        return value != PENDING;
+    }
+
+    /** What a save writes: the value when there is one, or else what was read, as it was read. */
+    synchronized @Nullable Object forWriting() {
+        return value == PENDING ? raw : value;
+    }
+
+    @Override
+    public String toString() {
+        return isLoaded() ? String.valueOf(value) : "Lazy[not loaded]";
+    }
+}
@@ -0,0 +1,121 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * One load, as everything taking part in it sees it: where its warnings go, and how the class
+ * being loaded wants its values read.
+ *
+ * <p>Handed from {@link YamlFileInterface} to {@link TypeConverter}, {@link KeyRenames},
+ * {@link YamlMigrations} and {@link Journal} rather than left on the thread for them to find. A
+ * load is not bound to one thread — {@link ParallelConversion} converts on several, and a
+ * {@link Lazy} field is converted on whichever thread first asks — and a warning has to reach the
+ * same place from all of them: the plugin's logger for {@link YamlFileInterface#load(Object)},
+ * the log with the file's name in front for {@link YamlBatch}.
+ *
+ * <p>A warning is not said the moment it comes up. It is gathered into a {@link WarningReport},
+ * and {@link #finish()} says each distinct problem once, with how often it came up, when the load
+ * is over.
+ */
+final class LoadContext {
+
+    private final @NotNull Consumer<String> sink;
+    /** Where an occurrence goes as it comes up: the report, or straight to the sink when there is none. */
+    private final @NotNull Consumer<WarningReport.Occurrence> gather;
+    /** What {@link #finish()} summarizes; {@code null} when every occurrence is said as it comes up. */
+    private final @Nullable WarningReport report;
+
+    /** How keys derived from a record component's name are spelled. */
+    final @NotNull Naming naming;
+    /** {@link YamlFile#immutableCollections()}. */
+    final boolean immutableCollections;
+    /** {@link YamlFile#intern()}. */
+    final boolean intern;
+    /** {@link YamlFile#parallelThreshold()}. */
+    final int parallelThreshold;
+    /**
+     * Every value, key and element converted so far, for {@link YamlStats#valuesConverted()};
+     * shared with the runs of a {@link ParallelConversion}.
+     */
+    final @NotNull LongAdder converted;
+
+    private LoadContext(final @NotNull Consumer<String> sink, final @Nullable WarningReport report,
+                        final @Nullable Consumer<WarningReport.Occurrence> gather, final @NotNull Naming naming,
+                        final boolean immutableCollections, final boolean intern, final int parallelThreshold,
+                        final @NotNull LongAdder converted) {
+        this.sink = sink;
+        this.converted = converted;
+        this.report = report;
+        this.gather = gather != null ? gather
+                : report != null ? report::add
+                : occurrence -> sink.accept(occurrence.toWarning(1).message());
+        this.naming = naming;
+        this.immutableCollections = immutableCollections;
+        this.intern = intern;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /** A load of a class described by {@code schema}, warning to {@code sink} once it is {@link #finish() finished}. */
+    static @NotNull LoadContext of(final @NotNull Schema schema, final @NotNull Consumer<String> sink) {
+        return new LoadContext(sink, new WarningReport(), null, schema.naming, schema.immutableCollections,
+                               schema.intern, schema.parallelThreshold, new LongAdder());
+    }
+
+    /** A load with every option at its default, warning to {@link TypeConverter#LOG} as it goes. */
+    static @NotNull LoadContext logged(final @NotNull Naming naming) {
+        return new LoadContext(TypeConverter.LOG::warning, null, null, naming, false, false, 0, new LongAdder());
+    }
+
+    /**
+     * This load, with every occurrence handed to {@code other} instead; {@link #finish()} says
+     * nothing. For a part of the load that keeps its warnings back, to be replayed in order.
+     */
+    @NotNull LoadContext withGather(final @NotNull Consumer<WarningReport.Occurrence> other) {
+        return new LoadContext(sink, null, other, naming, immutableCollections, intern, parallelThreshold, converted);
+    }
+
+    /**
+     * A load of its own with the options and the sink of this one, for a conversion done after this
+     * load is over — a {@link Lazy} field — which is {@link #finish() finished} on its own.
+     */
+    @NotNull LoadContext detached() {
+        return new LoadContext(sink, report == null ? null : new WarningReport(), null, naming, immutableCollections,
+                               intern, parallelThreshold, new LongAdder());
+    }
+
+    /**
+     * Notes that {@code kind} came up under {@code path}. Nothing is put into words here: the
+     * {@code suggestion} is only asked for once per problem, when the load is finished.
+     */
+    void warn(final @NotNull YamlWarning.Kind kind, final @NotNull String path, final @Nullable Object value,
+              final @Nullable Object detail, final @Nullable Supplier<String> suggestion) {
+        gather.accept(new WarningReport.Occurrence(kind, path, value, detail, suggestion));
+    }
+
+    /** Hands on an occurrence another context kept back, as if it had come up here. */
+    void warn(final @NotNull WarningReport.Occurrence occurrence) {
+        gather.accept(occurrence);
+    }
+
+    /**
+     * Says each problem gathered so far once, in the order they first came up.
+     *
+     * @return the problems, as {@link YamlFileInterface#warnings()} hands them over
+     */
+    @NotNull List<YamlWarning> finish() {
+        if (report == null) {
+            return List.of();
+        }
+        List<YamlWarning> warnings = report.summarize();
+        for (YamlWarning warning : warnings) {
+            sink.accept(warning.message());
+        }
+        return warnings;
+    }
+}
@@ -0,0 +1,285 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * What one load read, top-level block by top-level block, so the next load of the same file can
+ * leave alone whatever has not changed since.
+ *
+ * <p>A one-line edit to a large data file otherwise costs a parse and a conversion of every
+ * field in it. A top-level block, though, is self-contained: from its key at the start of a line
+ * to the next key at the start of a line, nothing in it can change what another block means. So
+ * a block whose text is the same as last time holds the same values as last time, and the fields
+ * that read from it can be given back what they were given then — when nothing can have changed
+ * those since.
+ *
+ * <p>Only the layout the writer produces, and any hand-edit that keeps to it, is split up. A
+ * document that does anything a plain block-per-key split could misread — anchors another block
+ * may refer to, several documents, a key that is not a plain word — is simply not snapshotted,
+ * and every load of it is a full one.
+ */
+final class LoadSnapshot {
+
+    /** A top-level key, alone at the start of a line, that a split can be sure of. */
+    private static final Pattern PLAIN_KEY = Pattern.compile("[A-Za-z0-9_][^:#'\"]*?:(?:\\s.*)?");
+
+    /** An anchor: something another block could refer to, which makes a block's text not the whole story. */
+    private static final Pattern ANCHOR = Pattern.compile("(?:^|[\\s\\[{,:-])&\\S");
+
+    /** The values a field of any type may be given again: nothing can change them. */
+    private static final Set<Class<?>> VALUES = Set.of(String.class, Boolean.class, Character.class, Byte.class,
+                                                       Short.class, Integer.class, Long.class, Float.class,
+                                                       Double.class, BigInteger.class, BigDecimal.class, UUID.class);
+
+    /**
+     * The collections and maps nothing can change through: the unmodifiable views and the
+     * {@code List.of} kind, which are what {@link YamlFile#immutableCollections()} hands out.
+     */
+    private static final Set<Class<?>> UNMODIFIABLE = Set.copyOf(List.of(
+            Collections.unmodifiableCollection(new ArrayList<>()).getClass(),
+            Collections.unmodifiableList(new ArrayList<>()).getClass(),
+            Collections.unmodifiableList(new LinkedList<>()).getClass(),
+            Collections.unmodifiableSet(new HashSet<>()).getClass(),
+            Collections.unmodifiableSortedSet(new TreeSet<>()).getClass(),
+            Collections.unmodifiableNavigableSet(new TreeSet<>()).getClass(),
+            Collections.unmodifiableMap(new HashMap<>()).getClass(),
+            Collections.unmodifiableSortedMap(new TreeMap<>()).getClass(),
+            Collections.unmodifiableNavigableMap(new TreeMap<>()).getClass(),
+            Collections.emptyList().getClass(), Collections.emptySet().getClass(), Collections.emptyMap().getClass(),
+            List.of().getClass(), List.of(0).getClass(), List.of(0, 1, 2).getClass(),
+            Set.of().getClass(), Set.of(0).getClass(), Set.of(0, 1, 2).getClass(),
+            Map.of().getClass(), Map.of(0, 0).getClass(), Map.of(0, 0, 1, 1).getClass()));
+
+    /** Each record's accessors, or nothing for a record whose accessors cannot be called. */
+    private static final ClassValue<Optional<List<Method>>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Optional<List<Method>> computeValue(final @NotNull Class<?> type) {
+            List<Method> accessors = new ArrayList<>();
+            try {
+                for (RecordComponent component : type.getRecordComponents()) {
+                    if (!component.getType().isPrimitive()) {
+                        Method accessor = component.getAccessor();
+                        accessor.setAccessible(true);
+                        accessors.add(accessor);
+                    }
+                }
+            } catch (RuntimeException e) {
+                return Optional.empty();
+            }
+            return Optional.of(List.copyOf(accessors));
+        }
+    };
+
+    private final @NotNull File file;
+    private final @NotNull Set<String> ignoredKeys;
+
+    /** Each top-level key's block, as a hash of its text, in file order. */
+    private final @NotNull Map<String, Long> hashes;
+
+    /**
+     * What each field was given by the load, by its position in
+     * {@link YamlFileInterface#yamlKeyFields}; {@link YamlFileInterface#UNKNOWN} for a field the
+     * load left alone.
+     */
+    private final @NotNull Object @NotNull [] bound;
+
+    LoadSnapshot(final @NotNull File file, final @NotNull Set<String> ignoredKeys, final @NotNull Map<String, Long> hashes,
+                 final @NotNull Object @NotNull [] bound) {
+        this.file = file.getAbsoluteFile();
+        this.ignoredKeys = Set.copyOf(ignoredKeys);
+        this.hashes = hashes;
+        this.bound = bound;
+    }
+
+    /** Whether this snapshot describes a load of {@code file} that ignored exactly {@code ignored}. */
+    boolean isOf(final @NotNull File file, final @NotNull Set<String> ignored) {
+        return this.file.equals(file.getAbsoluteFile()) && ignoredKeys.equals(ignored);
+    }
+
+    /** What field number {@code index} was given, or {@link YamlFileInterface#UNKNOWN}. */
+    @Nullable Object boundAt(final int index) {
+        return bound[index];
+    }
+
+    /**
+     * Whether {@code value} is one nothing can have changed since a load handed it out, so that a
+     * field whose block is unchanged may be given it again: {@code null}, a string, a boxed number,
+     * an enum constant, an unmodifiable collection or map of those, or a record of them. Anything
+     * else is converted again from its block, so a load still undoes what the program changed in
+     * place.
+     */
+    static boolean unchangeable(final @Nullable Object value) {
+        if (value == null || value instanceof Enum<?> || VALUES.contains(value.getClass())) {
+            return true;
+        }
+        Class<?> type = value.getClass();
+        if (value instanceof Collection<?> collection) {
+            if (!UNMODIFIABLE.contains(type)) {
+                return false;
+            }
+            for (Object element : collection) {
+                if (!unchangeable(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof Map<?, ?> map) {
+            if (!UNMODIFIABLE.contains(type)) {
+                return false;
+            }
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!unchangeable(entry.getKey()) || !unchangeable(entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (!type.isRecord()) {
+            return false;
+        }
+        Optional<List<Method>> accessors = ACCESSORS.get(type);
+        if (accessors.isEmpty()) {
+            return false;
+        }
+        for (Method accessor : accessors.get()) {
+            try {
+                if (!unchangeable(accessor.invoke(value))) {
+                    return false;
+                }
+            } catch (ReflectiveOperationException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * What this snapshot keeps alive that the fields do not: the file, the hashes, and any value a
+     * field has been given something else in place of since.
+     */
+    long retained(final @NotNull Footprint footprint) {
+        return Footprint.shallow(LoadSnapshot.class) + footprint.sizeOf(file) + footprint.sizeOf(ignoredKeys)
+               + footprint.sizeOf(hashes) + footprint.sizeOf(bound);
+    }
+
+    /**
+     * The top-level keys whose blocks are not what they were: added, removed or edited.
+     *
+     * @param blocks the blocks of the file as it is now
+     */
+    @NotNull Set<String> changedSince(final @NotNull Map<String, Block> blocks) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (Map.Entry<String, Block> block : blocks.entrySet()) {
+            if (!Long.valueOf(block.getValue().hash()).equals(hashes.get(block.getKey()))) {
+                changed.add(block.getKey());
+            }
+        }
+        for (String key : hashes.keySet()) {
+            if (!blocks.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    /** The hashes a snapshot keeps of {@code blocks}. */
+    static @NotNull Map<String, Long> hashesOf(final @NotNull Map<String, Block> blocks) {
+        Map<String, Long> result = new LinkedHashMap<>(blocks.size() * 2);
+        for (Map.Entry<String, Block> block : blocks.entrySet()) {
+            result.put(block.getKey(), block.getValue().hash());
+        }
+        return result;
+    }
+
+    // ==================== Splitting a document ====================
+
+    /**
+     * One top-level block: where its text starts and ends, and a hash of that text.
+     */
+    record Block(int start, int end, long hash) {
+    }
+
+    /**
+     * {@code content} cut into its top-level blocks, keyed and ordered as the file has them, or
+     * {@code null} when the document is not one a split can be trusted with.
+     *
+     * <p>Comment and blank lines belong to the block above them, and anything before the first key
+     * — a header — to none at all: neither holds a value, so neither can make a block mean
+     * something else.
+     */
+    static @Nullable Map<String, Block> split(final @NotNull String content) {
+        if (ANCHOR.matcher(content).find()) {
+            return null;
+        }
+
+        Map<String, Block> blocks = new LinkedHashMap<>();
+        String key = null;
+        int start = 0;
+        int lineStart = 0;
+        while (lineStart < content.length()) {
+            int newline = content.indexOf('\n', lineStart);
+            int lineEnd = newline < 0 ? content.length() : newline + 1;
+            char first = content.charAt(lineStart);
+
+            if (first != ' ' && first != '\t' && first != '#' && first != '\n' && first != '\r') {
+                String line = content.substring(lineStart, lineEnd).stripTrailing();
+                if (!PLAIN_KEY.matcher(line).matches()) {
+                    return null;
+                }
+                if (key != null && blocks.put(key, blockOf(content, start, lineStart)) != null) {
+                    return null;
+                }
+                key = line.substring(0, line.indexOf(':')).trim();
+                start = lineStart;
+            }
+            lineStart = lineEnd;
+        }
+        if (key != null && blocks.put(key, blockOf(content, start, content.length())) != null) {
+            return null;
+        }
+        return blocks;
+    }
+
+    /**
+     * Whether {@code blocks} are the keys {@code parsed} came out with, in the same order: a last
+     * check that the split saw the document the way the parser did.
+     */
+    static boolean agrees(final @NotNull Map<String, Block> blocks, final @NotNull Collection<String> parsed) {
+        return List.copyOf(blocks.keySet()).equals(List.copyOf(parsed));
+    }
+
+    private static @NotNull Block blockOf(final @NotNull String content, final int start, final int end) {
+        // 64-bit FNV-1a: cheap enough to run over every byte of a large file, and wide enough that
+        // two different versions of one block colliding is not a thing to plan for.
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            hash ^= content.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return new Block(start, end, hash);
+    }
+}
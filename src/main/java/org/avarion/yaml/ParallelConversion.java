@@ -0,0 +1,133 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Converts the elements of one very large collection or map on every core at once.
+ *
+ * <p>A map of two hundred thousand player records is converted one entry at a time by
+ * {@link TypeConverter}, on one core, while the rest of the machine waits for the server to start.
+ * Above {@link YamlFile#parallelThreshold()} the elements are cut into contiguous runs, which the
+ * common fork-join pool converts side by side, each into its own stretch of one array — so the
+ * elements come out in the order they went in, and a list or a linked map keeps the file's order.
+ *
+ * <p>Nothing that can be seen from outside differs from converting them one by one. Each run
+ * converts with a {@link LoadContext} that holds on to its warnings, and once every run is done the
+ * elements are taken in one by one, each after the warnings about it. When an element cannot be
+ * converted, the one that comes first in the file is the one that fails the load, preceded by
+ * exactly the warnings about the elements before it — just as if they had been converted in turn.
+ */
+final class ParallelConversion {
+
+    /** The fewest elements a run is given; fewer are not worth handing to another thread. */
+    private static final int MIN_RUN = 256;
+
+    /**
+     * Converts one element as part of {@code run}, the load it belongs to with its warnings kept
+     * back; throws what converting it in turn would have.
+     */
+    @FunctionalInterface
+    interface Element {
+        @Nullable Object convert(@NotNull LoadContext run, int index) throws IOException;
+    }
+
+    /** Takes in one converted element, in order; throws what taking it in turn would have. */
+    @FunctionalInterface
+    interface Collector {
+        void accept(@Nullable Object converted) throws IOException;
+    }
+
+    private ParallelConversion() {
+    }
+
+    /**
+     * Converts {@code size} elements with {@code element} on as many threads as there is work
+     * for, then hands them to {@code collector} in order, each after the warnings about it.
+     *
+     * @throws IOException If an element cannot be converted or collected: the first one there is,
+     *                     in order, after every warning about the elements before it.
+     */
+    static void convert(final int size, final @NotNull LoadContext context, final @NotNull Element element,
+                        final @NotNull Collector collector) throws IOException {
+        Object[] converted = new Object[size];
+        int runs = Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, (size + MIN_RUN - 1) / MIN_RUN);
+        if (runs <= 1) {
+            for (int i = 0; i < size; i++) {
+                collector.accept(element.convert(context, i));
+            }
+            return;
+        }
+
+        List<Run> work = new ArrayList<>(runs);
+        for (int r = 0; r < runs; r++) {
+            work.add(new Run(context, element, converted, (int) ((long) size * r / runs), (int) ((long) size * (r + 1) / runs)));
+        }
+        ForkJoinTask.invokeAll(work);
+
+        for (Run run : work) {
+            int warning = 0;
+            for (int i = run.from; i < run.to; i++) {
+                for (; warning < run.warnings.size() && run.warnedAt.get(warning) == i; warning++) {
+                    context.warn(run.warnings.get(warning));
+                }
+                if (i == run.failedAt) {
+                    if (run.failure instanceof IOException failure) {
+                        throw failure;
+                    }
+                    throw (RuntimeException) run.failure;
+                }
+                collector.accept(converted[i]);
+            }
+        }
+    }
+
+    /** The elements from {@code from} up to {@code to}, and what was said about them. */
+    private static final class Run extends RecursiveAction {
+        private final LoadContext context;
+        private final Element element;
+        private final Object[] converted;
+        private final int from;
+        private final int to;
+
+        /** Every warning about these elements, and the index of the element each is about. */
+        private final List<WarningReport.Occurrence> warnings = new ArrayList<>();
+        private final List<Integer> warnedAt = new ArrayList<>();
+
+        /** The element the run stopped at, if it did, and why; the elements after it were never looked at. */
+        private int failedAt = -1;
+        private @Nullable Exception failure;
+
+        Run(LoadContext context, Element element, Object[] converted, int from, int to) {
+            this.context = context;
+            this.element = element;
+            this.converted = converted;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int[] current = {from};
+            LoadContext run = context.withGather(occurrence -> {
+                warnings.add(occurrence);
+                warnedAt.add(current[0]);
+            });
+            try {
+                for (; current[0] < to; current[0]++) {
+                    converted[current[0]] = element.convert(run, current[0]);
+                }
+            } catch (IOException | RuntimeException e) {
+                failedAt = current[0];
+                failure = e;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * What {@link YamlFileInterface#load(Object)} and {@link YamlFileInterface#save(Object)} look up on
+ * a plugin they only know as an {@code Object}: its {@code getDataFolder()}, and how to warn on
+ * whatever its {@code getLogger()} returns.
+ *
+ * <p>Looked up once per class, not once per call — a plugin that saves each player's file as they
+ * leave would otherwise walk its own class hierarchy and probe its logger's methods thousands of
+ * times an hour. Kept in {@link ClassValue}s, which hang what they hold off the class itself: a
+ * plugin that is unloaded and loaded again takes its old entries with its old class loader, rather
+ * than being kept alive by them.
+ */
+final class PluginReflection {
+
+    /** Per plugin class: what it has in the way of {@code getDataFolder()} and {@code getLogger()}. */
+    private static final ClassValue<PluginReflection> PLUGINS = new ClassValue<>() {
+        @Override
+        protected PluginReflection computeValue(final @NotNull Class<?> type) {
+            return new PluginReflection(type);
+        }
+    };
+
+    /**
+     * Per logger class: the first of {@code warn(String)}, {@code warning(String)},
+     * {@code warn(String, Object[])} and {@code warning(String, Object[])} it has; empty when none.
+     */
+    private static final ClassValue<Optional<Method>> WARN_METHODS = new ClassValue<>() {
+        @Override
+        protected Optional<Method> computeValue(final @NotNull Class<?> type) {
+            for (Class<?>[] parameters : new Class<?>[][]{{String.class}, {String.class, Object[].class}}) {
+                for (String name : new String[]{"warn", "warning"}) {
+                    try {
+                        return Optional.of(type.getMethod(name, parameters));
+                    } catch (NoSuchMethodException ignored) { /* try next */ }
+                }
+            }
+            return Optional.empty();
+        }
+    };
+
+    /** The nearest {@code getDataFolder()} up the hierarchy; {@code null} when there is none. */
+    private final @Nullable Method dataFolder;
+    private final @Nullable Method getLogger;
+
+    private PluginReflection(final @NotNull Class<?> type) {
+        Method found = null;
+        for (Class<?> current = type; current != null && found == null; current = current.getSuperclass()) {
+            try {
+                found = current.getDeclaredMethod("getDataFolder");
+            } catch (NoSuchMethodException ignored) { /* go up */ }
+        }
+        dataFolder = found;
+
+        Method logger;
+        try {
+            logger = type.getMethod("getLogger");
+        } catch (NoSuchMethodException e) {
+            logger = null;
+        }
+        getLogger = logger;
+    }
+
+    static @NotNull PluginReflection of(final @NotNull Object plugin) {
+        return PLUGINS.get(plugin.getClass());
+    }
+
+    /**
+     * The plugin's {@code getDataFolder()}: the one its own class declares, or else the nearest
+     * superclass's.
+     *
+     * @throws IOException           If the nearest one is not public.
+     * @throws NoSuchMethodException If there is none anywhere up the hierarchy.
+     */
+    @NotNull Method dataFolder() throws IOException, NoSuchMethodException {
+        if (dataFolder == null) {
+            throw new NoSuchMethodException("getDataFolder() method not found in class hierarchy");
+        }
+        if (!Modifier.isPublic(dataFolder.getModifiers())) {
+            throw new IOException("getDataFolder() method must be public");
+        }
+        return dataFolder;
+    }
+
+    /**
+     * Duck-type a warning sink onto whatever {@code plugin.getLogger()} returns: try
+     * {@code warn(String)}, {@code warning(String)}, {@code warn(String, Object[])},
+     * {@code warning(String, Object[])} in that order. Falls back to {@link TypeConverter#LOG}'s
+     * {@code warning(String)} when nothing matches, so the caller never has to null-check.
+     */
+    @NotNull Consumer<String> sink(final @NotNull Object plugin) {
+        if (getLogger == null) {
+            return TypeConverter.LOG::warning;
+        }
+        final Object logger;
+        try {
+            logger = getLogger.invoke(plugin);
+        } catch (ReflectiveOperationException ignored) {
+            return TypeConverter.LOG::warning;
+        }
+        if (logger == null) return TypeConverter.LOG::warning;
+
+        Method method = WARN_METHODS.get(logger.getClass()).orElse(null);
+        if (method == null) {
+            return TypeConverter.LOG::warning;
+        }
+        if (method.getParameterCount() == 1) {
+            return msg -> invokeQuietly(method, logger, msg);
+        }
+        return msg -> invokeQuietly(method, logger, msg, new Object[0]);
+    }
+
+    private static void invokeQuietly(@NotNull Method method, @NotNull Object target, Object... args) {
+        try {
+            method.invoke(target, args);
+        } catch (ReflectiveOperationException ignored) {
+            // Plugin's logger threw — drop the warning rather than blow up the load.
+        }
+    }
+}
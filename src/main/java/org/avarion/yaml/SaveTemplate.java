@@ -0,0 +1,125 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.exceptions.DuplicateKey;
+import org.avarion.yaml.exceptions.FinalAttribute;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a save of a config class writes, minus the values of its fields: the header, every
+ * comment, every key with its indentation and the blocks the dotted keys nest into.
+ *
+ * <p>None of that depends on what the fields hold, yet a save used to build it all again —
+ * splitting each comment on its line breaks, nesting each dotted key into a fresh map, walking
+ * that map to indent it. Here it is done once per class, leaving a save to append the text
+ * between two fields and have {@link YamlWriter} format the value that goes in between.
+ *
+ * <p>The text is laid out by the same rules {@link YamlWriter#write} follows for a
+ * {@link NestedMap}, so the file comes out byte for byte the same as it did when it was built that
+ * way.
+ */
+final class SaveTemplate {
+
+    /** The text before each field's value; {@code text[i]} comes before the value of field {@code fields[i]}. */
+    private final String @NotNull [] text;
+    /** Which field each value comes from, as its index in {@link Schema}. */
+    private final int @NotNull [] fields;
+    /** The indentation of whatever a field's value nests below its key. */
+    private final String @NotNull [] indents;
+    /** The text after the last value: a header and nothing else, for a class without fields. */
+    private final @NotNull String tail;
+    /** Roughly how long a file of this class comes out, for sizing the buffer it is written into. */
+    private final int sizeHint;
+
+    /** A field's place in the nesting, until its text is laid out. */
+    private record Slot(int index) {
+    }
+
+    private SaveTemplate(List<String> text, List<Integer> fields, List<String> indents, String tail) {
+        this.text = text.toArray(new String[0]);
+        this.fields = fields.stream().mapToInt(Integer::intValue).toArray();
+        this.indents = indents.toArray(new String[0]);
+        this.tail = tail;
+        this.sizeHint = String.join("", text).length() + tail.length() + 16 * this.fields.length;
+    }
+
+    /**
+     * Lay out the text of {@code schema}.
+     *
+     * @throws FinalAttribute If a field is final, which would make loading into it impossible.
+     * @throws DuplicateKey   If two fields claim the same key.
+     */
+    static @NotNull SaveTemplate compile(final @NotNull Schema schema) throws FinalAttribute, DuplicateKey {
+        // The same nesting a save used to build, with a place holder for each value.
+        NestedMap nestedMap = new NestedMap();
+        // First, so it is the first thing anyone opening the file sees as well.
+        if (schema.version > 0) {
+            nestedMap.put(schema.versionKey, null, schema.version);
+        }
+        for (int i = 0; i < schema.size(); i++) {
+            if (Modifier.isFinal(schema.fields.get(i).getModifiers())) {
+                throw new FinalAttribute(schema.fields.get(i).getName());
+            }
+            nestedMap.put(schema.key(i), schema.comment(i), new Slot(i));
+        }
+
+        StringBuilder pending = new StringBuilder();
+        YamlFile annotation = schema.annotation;
+        if (annotation != null && !annotation.header().trim().isEmpty()) {
+            YamlWriter.appendComment(pending, annotation.header(), "");
+            pending.append("\n");
+        }
+
+        List<String> text = new ArrayList<>();
+        List<Integer> fields = new ArrayList<>();
+        List<String> indents = new ArrayList<>();
+        layOut(nestedMap.getMap(), "", pending, text, fields, indents);
+        return new SaveTemplate(text, fields, indents, pending.toString());
+    }
+
+    /** {@link YamlWriter}'s {@code writeMap}, for a map whose leaves are values still to come. */
+    private static void layOut(Map<Object, Object> map, String indent, StringBuilder pending,
+                               List<String> text, List<Integer> fields, List<String> indents) {
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof NestedMap.NestedNode node) {
+                YamlWriter.appendComment(pending, node.comment, indent);
+                value = node.value;
+            }
+            pending.append(indent).append(entry.getKey()).append(":\n");
+
+            if (value instanceof Slot slot) {
+                text.add(pending.toString());
+                fields.add(slot.index());
+                indents.add(indent + "  ");
+                pending.setLength(0);
+            }
+            else if (value instanceof Map<?, ?> block) {
+                @SuppressWarnings("unchecked")
+                Map<Object, Object> nested = (Map<Object, Object>) block;
+                layOut(nested, indent + "  ", pending, text, fields, indents);
+            }
+            else {
+                // The version: known now, so it is as much a part of the text as its key.
+                pending.setLength(pending.length() - 1);
+                pending.append(' ').append(value).append('\n');
+            }
+        }
+    }
+
+    /** The file {@code config} saves to: the text laid out here, with each field's value formatted into it. */
+    @NotNull String fill(final @NotNull Object config, final @NotNull Schema schema, final @NotNull YamlWriter writer)
+            throws IllegalAccessException, IOException {
+        StringBuilder result = new StringBuilder(sizeHint);
+        for (int i = 0; i < fields.length; i++) {
+            result.append(text[i]);
+            writer.writeValueBelow(result, schema.fields.get(fields[i]).get(config), indents[i]);
+        }
+        return result.append(tail).toString();
+    }
+}
@@ -0,0 +1,146 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.exceptions.DuplicateKey;
+import org.avarion.yaml.exceptions.FinalAttribute;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Everything about a config class that does not depend on an instance of it: which fields take
+ * part, under which keys, how leniently, with which comments.
+ *
+ * <p>None of it can change while the class is loaded, yet every load and every save used to work
+ * it out again — walking the class hierarchy, reading annotations, splitting keys on their dots.
+ * For one configuration file that is noise; for a folder of ten thousand player files bound to
+ * the same class it is most of the time a load of a small file takes. So it is worked out once
+ * per class and kept with the class itself, which also means it goes when the class does: a
+ * plugin that is unloaded leaves nothing behind here.
+ *
+ * <p>Fields are listed in {@link YamlFileInterface#yamlKeyFields} order, and everything else is
+ * indexed by a field's position in that list, which is also what {@link LoadSnapshot} goes by.
+ */
+final class Schema {
+
+    private static final ClassValue<Schema> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected Schema computeValue(final @NotNull Class<?> type) {
+            return new Schema(type);
+        }
+    };
+
+    final @Nullable YamlFile annotation;
+    final @NotNull Naming naming;
+    final boolean isLenientByDefault;
+    /** {@link YamlFile#immutableCollections()}. */
+    final boolean immutableCollections;
+    /** {@link YamlFile#intern()}. */
+    final boolean intern;
+    /** {@link YamlFile#parallelThreshold()}. */
+    final int parallelThreshold;
+
+    /** {@link YamlFile#version()}: 0 for a class whose files do not keep one. */
+    final int version;
+    final @NotNull String versionKey;
+    final String @NotNull [] versionPath;
+
+    /** The fields that take part, already made accessible. */
+    final @NotNull List<Field> fields;
+
+    private final String @NotNull [] keys;
+    private final String @NotNull [] @NotNull [] paths;
+    private final String @NotNull [] roots;
+    private final boolean @NotNull [] lenient;
+    private final String @NotNull [] comments;
+
+    /** The top-level key of every field's key: the parts of a file some field reads. */
+    final @NotNull Set<String> claimedRoots;
+
+    /** The moves this class declares, ready to apply. */
+    final @NotNull KeyRenames renames;
+
+    /** Laid out on the first save; a class that cannot be saved is tried again, and fails again, every time. */
+    private volatile @Nullable SaveTemplate template;
+
+    private Schema(final @NotNull Class<?> type) {
+        annotation = type.getAnnotation(YamlFile.class);
+        naming = YamlFileInterface.namingOf(annotation);
+        isLenientByDefault = annotation == null || annotation.lenient() != Leniency.STRICT;
+        immutableCollections = annotation != null && annotation.immutableCollections();
+        intern = annotation != null && annotation.intern();
+        parallelThreshold = annotation == null ? 0 : Math.max(0, annotation.parallelThreshold());
+        version = annotation == null ? 0 : Math.max(0, annotation.version());
+        versionKey = annotation == null ? "config-version" : annotation.versionKey().trim();
+        versionPath = versionKey.split("\\.");
+        fields = List.copyOf(YamlFileInterface.yamlKeyFields(type));
+
+        int size = fields.size();
+        keys = new String[size];
+        paths = new String[size][];
+        roots = new String[size];
+        lenient = new boolean[size];
+        comments = new String[size];
+        Set<String> claimed = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            Field field = fields.get(i);
+            field.setAccessible(true);
+            YamlKey yamlKey = field.getAnnotation(YamlKey.class);
+            keys[i] = YamlFileInterface.keyOf(field, yamlKey, naming);
+            paths[i] = keys[i].split("\\.");
+            roots[i] = KeyRenames.rootOf(keys[i]);
+            lenient[i] = YamlFileInterface.isLenient(yamlKey.lenient(), isLenientByDefault);
+            YamlComment comment = field.getAnnotation(YamlComment.class);
+            comments[i] = comment == null ? null : comment.value();
+            claimed.add(roots[i]);
+        }
+        claimedRoots = Set.copyOf(claimed);
+        renames = new KeyRenames(type, fields, keys);
+    }
+
+    /** The schema of {@code type}, worked out the first time it is asked for. */
+    static @NotNull Schema of(final @NotNull Class<?> type) {
+        return SCHEMAS.get(type);
+    }
+
+    /** What a save of this class writes around the values of its fields. */
+    @NotNull SaveTemplate template() throws FinalAttribute, DuplicateKey {
+        SaveTemplate compiled = template;
+        if (compiled == null) {
+            // Two saves racing here lay out the same text; either may be kept.
+            compiled = SaveTemplate.compile(this);
+            template = compiled;
+        }
+        return compiled;
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    /** The key field {@code index} reads and writes, spelled the way the file has it. */
+    @NotNull String key(final int index) {
+        return keys[index];
+    }
+
+    /** {@link #key} cut at its dots: the way from the top of the file down to the value. */
+    String @NotNull [] path(final int index) {
+        return paths[index];
+    }
+
+    /** The top-level key {@link #key} lives under. */
+    @NotNull String root(final int index) {
+        return roots[index];
+    }
+
+    boolean isLenient(final int index) {
+        return lenient[index];
+    }
+
+    @Nullable String comment(final int index) {
+        return comments[index];
+    }
+}
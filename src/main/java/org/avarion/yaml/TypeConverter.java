@@ -6,10 +6,16 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
+import java.util.function.IntFunction;
 import java.util.logging.Logger;
 
 /**
@@ -25,36 +31,13 @@ final class TypeConverter {
     /** How many guesses an error offers. Enough to cover a near-miss, few enough to read. */
     private static final int SUGGESTIONS = 3;
 
-    /**
-     * Per-thread sink for lenient warnings, unset unless a caller installs one.
-     * {@link YamlFileInterface#load(Object)} installs the plugin's logger for the duration
-     * of the load, then restores what was there before.
-     */
-    private static final ThreadLocal<Consumer<String>> ACTIVE = new ThreadLocal<>();
-
-    static void warn(String message) {
-        Consumer<String> sink = ACTIVE.get();
-        if (sink == null) {
-            LOG.warning(message);
-        } else {
-            sink.accept(message);
-        }
-    }
+    /** The types {@link #stringToNumber} parses text into. */
+    private static final Set<Class<?>> NUMERIC_TYPES = Set.of(
+            int.class, Integer.class, long.class, Long.class, short.class, Short.class, byte.class, Byte.class,
+            double.class, Double.class, float.class, Float.class, BigInteger.class);
 
-    /**
-     * Install {@code sink} for the current thread; returns the previous one for restore-in-finally.
-     * A {@code null} sink clears the entry rather than parking a stale reference on a thread that
-     * may outlive the load — server thread pools are long-lived.
-     */
-    static @Nullable Consumer<String> pushSink(final @Nullable Consumer<String> sink) {
-        Consumer<String> prev = ACTIVE.get();
-        if (sink == null) {
-            ACTIVE.remove();
-        } else {
-            ACTIVE.set(sink);
-        }
-        return prev;
-    }
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
 
     private static final Set<String> TRUE_VALUES = new HashSet<>(Arrays.asList("yes", "y", "true", "1"));
 
@@ -64,21 +47,70 @@ final class TypeConverter {
      */
     static final Object LENIENT_ENUM_SKIP = new Object();
 
-    private static final Map<Class<?>, Supplier<Collection<Object>>> COLLECTION_FACTORIES;
+    /**
+     * The collections a declared collection type can be filled with, most general first: the first
+     * one the declared type can hold is the one that is made, sized for the elements it is about to
+     * be given where the class takes a size.
+     */
+    private static final List<Map.Entry<Class<?>, IntFunction<Collection<Object>>>> COLLECTION_CLASSES = List.of(
+            Map.entry(ArrayList.class, ArrayList::new),
+            Map.entry(LinkedHashSet.class, size -> new LinkedHashSet<>(hashCapacity(size))),
+            Map.entry(ArrayDeque.class, ArrayDeque::new),
+            Map.entry(TreeSet.class, size -> new TreeSet<>()),
+            Map.entry(LinkedList.class, size -> new LinkedList<>()),
+            Map.entry(ConcurrentSkipListSet.class, size -> new ConcurrentSkipListSet<>()));
+
+    /** As {@link #COLLECTION_CLASSES}, for maps. */
+    private static final List<Map.Entry<Class<?>, IntFunction<Map<Object, Object>>>> MAP_CLASSES = List.of(
+            Map.entry(LinkedHashMap.class, size -> new LinkedHashMap<>(hashCapacity(size))),
+            Map.entry(TreeMap.class, size -> new TreeMap<>()),
+            Map.entry(ConcurrentHashMap.class, ConcurrentHashMap::new),
+            Map.entry(ConcurrentSkipListMap.class, size -> new ConcurrentSkipListMap<>()));
+
+    /** What each declared collection type is filled with, worked out the first time it is read. */
+    private static final ClassValue<Factory<Collection<Object>>> COLLECTION_FACTORIES = new ClassValue<>() {
+        @Override
+        protected Factory<Collection<Object>> computeValue(final @NotNull Class<?> declared) {
+            if (declared == EnumSet.class) {
+                return (element, size) -> EnumSet.noneOf(enumClassOf(declared, element));
+            }
+            return factoryOf(declared, Collection.class, COLLECTION_CLASSES, "Unsupported collection type: ");
+        }
+    };
 
-    static {
-        COLLECTION_FACTORIES = new HashMap<>();
-        COLLECTION_FACTORIES.put(Set.class, LinkedHashSet::new);
-        COLLECTION_FACTORIES.put(List.class, ArrayList::new);
-        COLLECTION_FACTORIES.put(Queue.class, ArrayDeque::new);
-    }
+    /** What each declared map type is filled with, worked out the first time it is read. */
+    private static final ClassValue<Factory<Map<Object, Object>>> MAP_FACTORIES = new ClassValue<>() {
+        @Override
+        protected Factory<Map<Object, Object>> computeValue(final @NotNull Class<?> declared) {
+            if (declared == EnumMap.class) {
+                return (key, size) -> new EnumMap(enumClassOf(declared, key));
+            }
+            return factoryOf(declared, Map.class, MAP_CLASSES, "Unsupported map type: ");
+        }
+    };
 
-    /** How keys derived from a record component's name are spelled. */
-    private final Naming naming;
+    /** The load this conversion is part of: where warnings go, and the options of the class being loaded. */
+    private final @NotNull LoadContext context;
 
     /** Whether a value that doesn't fit its target type is coerced with a warning, or rejected outright. */
     private final boolean isLenient;
 
+    /** The key of the field being converted, which its warnings are gathered under. */
+    private final @NotNull String path;
+
+    TypeConverter(final @NotNull Naming naming, final boolean isLenient) {
+        this(LoadContext.logged(naming), isLenient, "");
+    }
+
+    private void warn(final @NotNull YamlWarning.Kind kind, final @Nullable Object value, final @Nullable Object detail) {
+        context.warn(kind, path, value, detail, null);
+    }
+
+    /** This converter, as part of {@code other}: the same conversion, with warnings going where {@code other}'s go. */
+    private @NotNull TypeConverter within(final @NotNull LoadContext other) {
+        return other == context ? this : new TypeConverter(other, isLenient, path);
+    }
+
     // ==================== Main Entry Points ====================
 
     /**
@@ -97,6 +129,17 @@ final class TypeConverter {
      */
     @Nullable Object getConvertedValue(final @Nullable Field field, final @NotNull Class<?> expectedType, final Object value,
                                        final @Nullable Object fallback) throws IOException {
+        context.converted.increment();
+        Object converted = convertValue(field, expectedType, value, fallback);
+        return context.intern ? ValuePool.intern(converted) : converted;
+    }
+
+    private @Nullable Object convertValue(final @Nullable Field field, final @NotNull Class<?> expectedType, final Object value,
+                                          final @Nullable Object fallback) throws IOException {
+        if (expectedType == Lazy.class) {
+            return deferred(typeArgAt(genericTypeOf(field), 0), value, fallback);
+        }
+
         if (value == null) {
             return handleNullValue(expectedType, field);
         }
@@ -111,6 +154,14 @@ final class TypeConverter {
             return stringToEnum((Class<? extends Enum>) expectedType, convertedValue);
         }
 
+        if (expectedType.isArray() && value instanceof List<?> items) {
+            return convertArray(expectedType, componentTypeOf(expectedType, genericTypeOf(field)), items);
+        }
+        if (expectedType.isArray() && !expectedType.isInstance(value) && isLenient) {
+            // As for a collection below: a single value where a list of them was expected
+            return convertArray(expectedType, componentTypeOf(expectedType, genericTypeOf(field)), List.of(value));
+        }
+
         if (value instanceof List<?>) {
             return convertCollection(expectedType, genericTypeOf(field), (Collection<?>) value);
         }
@@ -120,17 +171,31 @@ final class TypeConverter {
         }
 
         if (value instanceof Map && Map.class.isAssignableFrom(expectedType)) {
-            return convertMap(genericTypeOf(field), (Map<?, ?>) value);
+            return convertMap(expectedType, genericTypeOf(field), (Map<?, ?>) value);
         }
 
         if (expectedType.isInstance(value)) {
             return value;
         }
 
+        YamlAdapters.Adapter<?> adapter = YamlAdapters.forType(expectedType);
+        if (adapter != null) {
+            // An unquoted timestamp has already been read into a Date, whose toString() no adapter
+            // would recognise; ISO-8601 is what it was written in.
+            return adapter.decode(value instanceof Date date ? date.toInstant().toString() : value.toString());
+        }
+
         if (value instanceof String convertedValue && expectedType.equals(UUID.class)) {
             return UUID.fromString(convertedValue);
         }
 
+        if (value instanceof String text && NUMERIC_TYPES.contains(expectedType)) {
+            Object number = stringToNumber(text, expectedType);
+            if (number != null) {
+                return number;
+            }
+        }
+
         if (isBooleanType(expectedType)) {
             return convertToBoolean(value);
         }
@@ -149,10 +214,13 @@ final class TypeConverter {
         }
 
         // For other classes, attempt to use their constructor that takes a String parameter
-        try {
-            Constructor<?> constructor = expectedType.getConstructor(String.class);
-            return constructor.newInstance(value.toString());
-        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException ignored) {
+        MethodHandle constructor = YamlAdapters.stringConstructorOf(expectedType);
+        if (constructor != null) {
+            try {
+                return constructor.invokeExact(value.toString());
+            } catch (Throwable ignored) {
+                // Not a value this constructor takes; it may still name a constant.
+            }
         }
 
         try {
@@ -229,21 +297,52 @@ final class TypeConverter {
             throws IOException {
         Class<?> rawClass = getRawClass(type);
 
+        if (rawClass == Lazy.class) {
+            context.converted.increment();
+            return deferred(typeArgAt(type, 0), value, fallback);
+        }
         if (value == null) {
+            context.converted.increment();
             return handleNullValue(rawClass, null);
         }
         if (value instanceof Map<?, ?> map && Map.class.isAssignableFrom(rawClass)) {
-            return convertMap(type, map);
+            context.converted.increment();
+            return convertMap(rawClass, type, map);
         }
         if (value instanceof Collection<?> items && Collection.class.isAssignableFrom(rawClass)) {
+            context.converted.increment();
             return convertCollection(rawClass, type, items);
         }
+        if (value instanceof List<?> items && rawClass.isArray()) {
+            context.converted.increment();
+            return convertArray(rawClass, componentTypeOf(rawClass, type), items);
+        }
 
         // For all other types (primitives, String, enums, UUID, numbers, chars, etc.),
         // delegate to getConvertedValue which has all the conversion logic in one place.
         return getConvertedValue(null, rawClass, value, fallback);
     }
 
+    /**
+     * A {@link Lazy} that converts {@code raw} into a {@code valueType} when it is first asked to,
+     * by the same rules it would have been converted by now. An enum the file misspells leaves it
+     * holding what {@code fallback} held, as it would leave a field at its default.
+     */
+    private @NotNull Lazy<?> deferred(final @NotNull Type valueType, final @Nullable Object raw,
+                                      final @Nullable Object fallback) {
+        Object current = fallback instanceof Lazy<?> lazy && lazy.isLoaded() ? lazy.get() : null;
+        return Lazy.deferred(raw, read -> {
+            // The load is long over by now, and was finished without this; its warnings are said on their own.
+            LoadContext own = context.detached();
+            try {
+                Object converted = within(own).convertWithType(valueType, read, current);
+                return converted == LENIENT_ENUM_SKIP ? current : converted;
+            } finally {
+                own.finish();
+            }
+        });
+    }
+
     // ==================== Collection & Map Handling ====================
 
     /**
@@ -271,45 +370,305 @@ final class TypeConverter {
      */
     private @NotNull Object convertCollection(final @NotNull Class<?> targetType, final @Nullable Type genericType, final @NotNull Collection<?> items)
             throws IOException {
-        Collection<Object> result = createCollectionInstance(targetType);
         Type elementType = typeArgAt(genericType, 0);
+        if (context.immutableCollections && (targetType == List.class || targetType == Collection.class)) {
+            return compactList(elementType, items);
+        }
+        Collection<Object> result = createCollectionInstance(targetType, getRawClass(elementType), items.size());
+
+        if (isParallel(items.size())) {
+            List<?> list = items instanceof List<?> indexed ? indexed : new ArrayList<>(items);
+            ParallelConversion.convert(list.size(), context,
+                                       (run, i) -> within(run).convertWithType(elementType, list.get(i)), converted -> {
+                if (converted != LENIENT_ENUM_SKIP) {
+                    add(result, converted, targetType);
+                }
+            });
+            return context.immutableCollections ? unmodifiable(result, targetType) : result;
+        }
 
         for (Object item : items) {
             Object converted = convertWithType(elementType, item);
             if (converted != LENIENT_ENUM_SKIP) {
-                result.add(converted);
+                add(result, converted, targetType);
             }
         }
+        return context.immutableCollections ? unmodifiable(result, targetType) : result;
+    }
+
+    /**
+     * {@code items} converted into a list nothing can change, for a field declared as a
+     * {@code List} or {@code Collection} under {@link YamlFile#immutableCollections()}.
+     *
+     * <p>The elements go straight into an array of the size the file gives, with no
+     * {@code ArrayList} around it. A list without a {@code null} is then the compact kind
+     * {@link List#of} makes, which holds nothing but its own copy of that array, and none at all
+     * for one or two elements. {@code List.of} takes no {@code null}, so a list with one is the
+     * array itself, wrapped.
+     */
+    private @NotNull List<Object> compactList(final @NotNull Type elementType, final @NotNull Collection<?> items)
+            throws IOException {
+        Object[] elements = new Object[items.size()];
+        int[] size = {0};
+        if (isParallel(items.size())) {
+            List<?> list = items instanceof List<?> indexed ? indexed : new ArrayList<>(items);
+            ParallelConversion.convert(list.size(), context,
+                                       (run, i) -> within(run).convertWithType(elementType, list.get(i)), converted -> {
+                if (converted != LENIENT_ENUM_SKIP) {
+                    elements[size[0]++] = converted;
+                }
+            });
+        } else {
+            for (Object item : items) {
+                Object converted = convertWithType(elementType, item);
+                if (converted != LENIENT_ENUM_SKIP) {
+                    elements[size[0]++] = converted;
+                }
+            }
+        }
+
+        // Shorter than the file only when a lenient load skipped an element it could not read.
+        Object[] read = size[0] == elements.length ? elements : Arrays.copyOf(elements, size[0]);
+        for (Object element : read) {
+            if (element == null) {
+                return Collections.unmodifiableList(Arrays.asList(read));
+            }
+        }
+        return List.of(read);
+    }
+
+    /**
+     * {@code result} wrapped so nothing can change it, when {@code targetType} is an interface a
+     * view can stand in for. A queue, or a field declared as a class, keeps the collection it was
+     * given.
+     *
+     * <p>The view is one small object more than the set itself; it keeps the set's order, which
+     * {@link Set#copyOf} would not — and a save would then write the elements out in that order.
+     * Only an empty set, which can be the same one everywhere, takes less than a mutable one.
+     */
+    private static @NotNull Collection<Object> unmodifiable(final @NotNull Collection<Object> result,
+                                                            final @NotNull Class<?> targetType) {
+        if (targetType == Set.class) {
+            // Empty, the order it would keep does not matter, so every empty set can be the same one.
+            return result.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet((Set<Object>) result);
+        }
+        if (targetType == SortedSet.class) {
+            return Collections.unmodifiableSortedSet((SortedSet<Object>) result);
+        }
+        if (targetType == NavigableSet.class) {
+            return Collections.unmodifiableNavigableSet((NavigableSet<Object>) result);
+        }
         return result;
     }
 
+    /** As {@link #unmodifiable(Collection, Class)}, for a map. */
+    private static @NotNull Map<Object, Object> unmodifiable(final @NotNull Map<Object, Object> result,
+                                                             final @NotNull Class<?> targetType) {
+        if (targetType == Map.class) {
+            return result.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(result);
+        }
+        if (targetType == SortedMap.class) {
+            return Collections.unmodifiableSortedMap((SortedMap<Object, Object>) result);
+        }
+        if (targetType == NavigableMap.class) {
+            return Collections.unmodifiableNavigableMap((NavigableMap<Object, Object>) result);
+        }
+        return result;
+    }
+
+    /** The capacity a hash-based collection needs to take {@code size} elements without growing. */
+    private static int hashCapacity(final int size) {
+        return size < 3 ? size + 1 : (int) Math.ceil(size / 0.75);
+    }
+
+    /**
+     * Add {@code element} to {@code result}, turning the refusal of a collection that cannot hold
+     * it — a {@code null} in a sorted set, a value a {@code TreeSet} cannot compare — into an error
+     * that says so.
+     */
+    private static void add(final @NotNull Collection<Object> result, final @Nullable Object element,
+                            final @NotNull Class<?> targetType) throws IOException {
+        try {
+            result.add(element);
+        } catch (NullPointerException e) {
+            throw new IOException(targetType.getSimpleName() + " cannot hold null");
+        } catch (ClassCastException e) {
+            throw new IOException(targetType.getSimpleName() + " cannot sort '" + element + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The element type of an array type: from {@code genericType} when that says more than the
+     * class does, as it does for a {@code List<String>[]}.
+     */
+    private static @NotNull Type componentTypeOf(final @NotNull Class<?> arrayType, final @Nullable Type genericType) {
+        if (genericType instanceof GenericArrayType generic) {
+            return generic.getGenericComponentType();
+        }
+        return arrayType.getComponentType();
+    }
+
     /**
-     * Convert the incoming value into a Map with properly typed keys and values.
+     * Convert a list into an array of {@code arrayType}. An array of a primitive type is filled in
+     * directly, one element at a time, so a long list of numbers becomes one array rather than an
+     * array and a boxed copy of every element in it.
      */
-    private @NotNull Object convertMap(final @Nullable Type genericType, final @NotNull Map<?, ?> map) throws IOException {
-        Map<Object, Object> result = new LinkedHashMap<>();
+    private @NotNull Object convertArray(final @NotNull Class<?> arrayType, final @NotNull Type componentType,
+                                         final @NotNull List<?> items) throws IOException {
+        Class<?> component = arrayType.getComponentType();
+        int size = items.size();
+
+        if (component == int.class) {
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                Object item = items.get(i);
+                result[i] = item instanceof Integer number ? number : (Integer) convertWithType(int.class, item);
+            }
+            return result;
+        }
+        if (component == long.class) {
+            long[] result = new long[size];
+            for (int i = 0; i < size; i++) {
+                Object item = items.get(i);
+                result[i] = item instanceof Long number ? number : (Long) convertWithType(long.class, item);
+            }
+            return result;
+        }
+        if (component == double.class) {
+            double[] result = new double[size];
+            for (int i = 0; i < size; i++) {
+                Object item = items.get(i);
+                result[i] = item instanceof Double number ? number : (Double) convertWithType(double.class, item);
+            }
+            return result;
+        }
+        if (component == byte.class) {
+            byte[] result = new byte[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = (Byte) convertWithType(byte.class, items.get(i));
+            }
+            return result;
+        }
+
+        // The remaining primitives, and every kind of object: a String, an enum, a record, another array
+        Object result = Array.newInstance(component, size);
+        int length = 0;
+        for (Object item : items) {
+            Object converted = convertWithType(componentType, item);
+            if (converted != LENIENT_ENUM_SKIP) {
+                Array.set(result, length++, converted);
+            }
+        }
+        if (length == size) {
+            return result;
+        }
+        Object trimmed = Array.newInstance(component, length);
+        System.arraycopy(result, 0, trimmed, 0, length);
+        return trimmed;
+    }
+
+    /**
+     * Convert the incoming value into a Map with properly typed keys and values, of the concrete
+     * map class {@code targetType} calls for.
+     */
+    private @NotNull Object convertMap(final @NotNull Class<?> targetType, final @Nullable Type genericType,
+                                       final @NotNull Map<?, ?> map) throws IOException {
         Type keyType = typeArgAt(genericType, 0);
         Type valueType = typeArgAt(genericType, 1);
+        Map<Object, Object> result = MAP_FACTORIES.get(targetType).create(getRawClass(keyType), map.size());
+
+        if (isParallel(map.size())) {
+            List<Map.Entry<?, ?>> entries = new ArrayList<>(map.entrySet());
+            ParallelConversion.convert(entries.size(), context, (run, i) -> {
+                Map.Entry<?, ?> entry = entries.get(i);
+                TypeConverter converter = within(run);
+                Object convertedKey = converter.convertWithType(keyType, entry.getKey());
+                return new Object[]{convertedKey, converter.convertWithType(valueType, entry.getValue())};
+            }, converted -> {
+                Object[] pair = (Object[]) converted;
+                put(result, pair[0], pair[1], targetType);
+            });
+            return context.immutableCollections ? unmodifiable(result, targetType) : result;
+        }
 
         for (Map.Entry<?, ?> entry : map.entrySet()) {
             Object convertedKey = convertWithType(keyType, entry.getKey());
             Object convertedValue = convertWithType(valueType, entry.getValue());
-            if (convertedKey != LENIENT_ENUM_SKIP && convertedValue != LENIENT_ENUM_SKIP) {
-                result.put(convertedKey, convertedValue);
-            }
+            put(result, convertedKey, convertedValue, targetType);
         }
-        return result;
+        return context.immutableCollections ? unmodifiable(result, targetType) : result;
+    }
+
+    /** As {@link #add}, for an entry of a map; an entry with a lenient enum skip in it is left out. */
+    private static void put(final @NotNull Map<Object, Object> result, final @Nullable Object convertedKey,
+                            final @Nullable Object convertedValue, final @NotNull Class<?> targetType) throws IOException {
+        if (convertedKey == LENIENT_ENUM_SKIP || convertedValue == LENIENT_ENUM_SKIP) {
+            return;
+        }
+        try {
+            result.put(convertedKey, convertedValue);
+        } catch (NullPointerException e) {
+            throw new IOException(targetType.getSimpleName() + " cannot hold null, as the value of '"
+                                  + convertedKey + "' or as a key");
+        } catch (ClassCastException e) {
+            throw new IOException(targetType.getSimpleName() + " cannot sort '" + convertedKey + "': "
+                                  + e.getMessage(), e);
+        }
+    }
+
+    /** Whether a collection or map of {@code size} elements is big enough to convert on several threads. */
+    private boolean isParallel(final int size) {
+        return context.parallelThreshold > 0 && size >= context.parallelThreshold;
     }
 
     static Collection<Object> createCollectionInstance(@NotNull Class<?> expectedType) throws IOException {
-        Supplier<Collection<Object>> factory = COLLECTION_FACTORIES.entrySet()
-                                                                   .stream()
-                                                                   .filter(entry -> entry.getKey().isAssignableFrom(expectedType))
-                                                                   .map(Map.Entry::getValue)
-                                                                   .findFirst()
-                                                                   .orElseThrow(() -> new IOException(
-                                                                           "Unsupported collection type: " + expectedType.getSimpleName()));
-        return factory.get();
+        return createCollectionInstance(expectedType, Object.class, 0);
+    }
+
+    /**
+     * An empty collection of the kind {@code expectedType} declares, for {@code size} elements of
+     * {@code elementClass}: the class it names when that can be made, or else the first of
+     * {@link #COLLECTION_CLASSES} it can hold.
+     */
+    static Collection<Object> createCollectionInstance(@NotNull Class<?> expectedType, @NotNull Class<?> elementClass,
+                                                       int size) throws IOException {
+        return COLLECTION_FACTORIES.get(expectedType).create(elementClass, size);
+    }
+
+    /** Makes an empty collection or map, given the class of its elements or keys and how many it is to hold. */
+    @FunctionalInterface
+    private interface Factory<C> {
+        @NotNull C create(@NotNull Class<?> elementClass, int size) throws IOException;
+    }
+
+    /**
+     * The factory for {@code declared}: the first of {@code candidates} it can hold, or one that
+     * refuses with {@code unsupported} and the type's name when none of them fit.
+     */
+    private static <C> @NotNull Factory<C> factoryOf(final @NotNull Class<?> declared, final @NotNull Class<?> kind,
+                                                     final @NotNull List<Map.Entry<Class<?>, IntFunction<C>>> candidates,
+                                                     final @NotNull String unsupported) {
+        if (kind.isAssignableFrom(declared)) {
+            for (Map.Entry<Class<?>, IntFunction<C>> candidate : candidates) {
+                if (declared.isAssignableFrom(candidate.getKey())) {
+                    IntFunction<C> constructor = candidate.getValue();
+                    return (element, size) -> constructor.apply(size);
+                }
+            }
+        }
+        return (element, size) -> {
+            throw new IOException(unsupported + declared.getSimpleName());
+        };
+    }
+
+    /** The enum an {@code EnumSet} or {@code EnumMap} holds, which it has to be told up front. */
+    private static @NotNull Class<? extends Enum> enumClassOf(final @NotNull Class<?> declared,
+                                                              final @NotNull Class<?> element) throws IOException {
+        if (!element.isEnum()) {
+            throw new IOException(declared.getSimpleName() + " needs an enum type to hold, not "
+                                  + element.getSimpleName());
+        }
+        return (Class<? extends Enum>) element;
     }
 
     // ==================== Record Handling ====================
@@ -327,7 +686,7 @@ final class TypeConverter {
 
         for (int i = 0; i < components.length; i++) {
             RecordComponent component = components[i];
-            String key = RecordComponents.keyOf(component, naming);
+            String key = RecordComponents.keyOf(component, context.naming);
             Object existing = componentOf(recordClass, fallback, component);
 
             // Not written down at all is not the same statement as written down
@@ -420,26 +779,44 @@ final class TypeConverter {
         return TRUE_VALUES.contains(strValue);
     }
 
+    /**
+     * A number the parser already made, as {@code expectedType}: under the same rules as one written
+     * as text, so quoting a number never changes what it is read as.
+     *
+     * @see #stringToNumber
+     */
     private Object convertToNumber(final Number numValue, final Class<?> expectedType) throws IOException {
-        if (expectedType == int.class || expectedType == Integer.class) {
-            return numValue.intValue();
-        }
         if (expectedType == double.class || expectedType == Double.class) {
             return numValue.doubleValue();
         }
         if (expectedType == float.class || expectedType == Float.class) {
             return convertToFloat(numValue);
         }
-        if (expectedType == long.class || expectedType == Long.class) {
-            return numValue.longValue();
+        if (!NUMERIC_TYPES.contains(expectedType)) {
+            throw new IOException("Cannot convert " + numValue.getClass().getSimpleName() + " to " + expectedType.getSimpleName());
+        }
+
+        if (numValue instanceof Integer && (expectedType == int.class || expectedType == Integer.class)) {
+            return numValue;
         }
-        if (expectedType == short.class || expectedType == Short.class) {
-            return numValue.shortValue();
+        if (numValue instanceof Integer || numValue instanceof Long || numValue instanceof Short || numValue instanceof Byte) {
+            long value = numValue.longValue();
+            return expectedType == BigInteger.class ? BigInteger.valueOf(value) : narrowed(value, numValue, expectedType);
         }
-        if (expectedType == byte.class || expectedType == Byte.class) {
-            return numValue.byteValue();
+        if (numValue instanceof BigInteger whole && expectedType == BigInteger.class) {
+            return whole;
         }
-        throw new IOException("Cannot convert " + numValue.getClass().getSimpleName() + " to " + expectedType.getSimpleName());
+
+        BigDecimal number;
+        try {
+            number = numValue instanceof BigInteger whole ? new BigDecimal(whole)
+                    : numValue instanceof BigDecimal decimal ? decimal
+                    : new BigDecimal(numValue.toString());
+        } catch (NumberFormatException e) {
+            // Infinity or NaN: there is no whole number to make of it.
+            throw new IOException("Cannot convert " + numValue + " to " + expectedType.getSimpleName());
+        }
+        return wholeNumber(number, numValue.toString(), expectedType);
     }
 
     private float convertToFloat(final @NotNull Number numValue) throws IOException {
@@ -449,11 +826,106 @@ final class TypeConverter {
             if (!isLenient) {
                 throw new IOException("Double value " + doubleValue + " cannot be precisely represented as a float");
             }
-            warn("Lenient mode: lossy conversion of double " + doubleValue + " to float " + (float) doubleValue);
+            warn(YamlWarning.Kind.LOSSY_FLOAT, doubleValue, (float) doubleValue);
         }
         return numValue.floatValue();
     }
 
+    /**
+     * A number written as text — quoted, or kept a string by the parser — read straight into a
+     * numeric type, as {@link #convertToNumber} reads one the parser already made a number.
+     * Whole numbers are parsed without going through a {@code BigDecimal} unless they have to be.
+     *
+     * <p>Text with a fraction is only read into a whole-number type leniently, with the fraction
+     * dropped and a warning; a number too large for its type is never read, since wrapping it
+     * around would quietly turn a limit into its opposite.
+     *
+     * @return {@code null} when {@code written} is not a number at all, so the caller can try what
+     *         else the text might be
+     */
+    private @Nullable Object stringToNumber(final @NotNull String written, final @NotNull Class<?> expectedType)
+            throws IOException {
+        String text = written.trim();
+        if (expectedType == double.class || expectedType == Double.class
+            || expectedType == float.class || expectedType == Float.class) {
+            double parsed;
+            try {
+                parsed = Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (expectedType == double.class || expectedType == Double.class) {
+                return parsed;
+            }
+            return convertToFloat(parsed);
+        }
+
+        try {
+            long parsed = Long.parseLong(text);
+            if (expectedType == BigInteger.class) {
+                return BigInteger.valueOf(parsed);
+            }
+            return narrowed(parsed, written, expectedType);
+        } catch (NumberFormatException e) {
+            // Too long for a long, or not written as a plain whole number.
+        }
+
+        BigDecimal number;
+        try {
+            number = new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return wholeNumber(number, written, expectedType);
+    }
+
+    /**
+     * {@code number} as a whole-number {@code expectedType}, whether it was written as text or the
+     * parser made it a number: a fraction is only dropped leniently, with a warning, and a number
+     * too large for its type is never read.
+     */
+    private @NotNull Object wholeNumber(final @NotNull BigDecimal number, final @NotNull String written,
+                                        final @NotNull Class<?> expectedType) throws IOException {
+        if (expectedType != BigInteger.class
+            && (number.compareTo(LONG_MIN) < 0 || number.compareTo(LONG_MAX) > 0)) {
+            throw new IOException("'" + written + "' is out of range for " + expectedType.getSimpleName());
+        }
+
+        BigInteger whole;
+        try {
+            whole = number.toBigIntegerExact();
+        } catch (ArithmeticException e) {
+            if (!isLenient) {
+                throw new IOException("Cannot convert '" + written + "' to " + expectedType.getSimpleName()
+                                      + " without dropping its fraction");
+            }
+            whole = number.toBigInteger();
+            warn(YamlWarning.Kind.DROPPED_FRACTION, written, expectedType.getSimpleName() + " " + whole);
+        }
+        if (expectedType == BigInteger.class) {
+            return whole;
+        }
+        return narrowed(whole.longValue(), written, expectedType);
+    }
+
+    /** {@code value} as a whole-number {@code expectedType}, when it fits in one. */
+    private static @NotNull Object narrowed(final long value, final @NotNull Object written,
+                                            final @NotNull Class<?> expectedType) throws IOException {
+        if (expectedType == long.class || expectedType == Long.class) {
+            return value;
+        }
+        if ((expectedType == int.class || expectedType == Integer.class) && value == (int) value) {
+            return (int) value;
+        }
+        if ((expectedType == short.class || expectedType == Short.class) && value == (short) value) {
+            return (short) value;
+        }
+        if ((expectedType == byte.class || expectedType == Byte.class) && value == (byte) value) {
+            return (byte) value;
+        }
+        throw new IOException("'" + written + "' is out of range for " + expectedType.getSimpleName());
+    }
+
     private static boolean isCharacterType(final Class<?> type) {
         return type == char.class || type == Character.class;
     }
@@ -463,7 +935,7 @@ final class TypeConverter {
             return value.charAt(0);
         }
         if (isLenient) {
-            warn("Lenient mode: truncating String '" + value + "' (length " + value.length() + ") to first character");
+            warn(YamlWarning.Kind.TRUNCATED_CHARACTER, value, null);
             return value.charAt(0);
         }
         throw new IOException("Cannot convert String of length " + value.length() + " to Character");
@@ -472,14 +944,18 @@ final class TypeConverter {
     /**
      * Convert a String to an enum constant. Under lenient mode an unknown name yields
      * {@link #LENIENT_ENUM_SKIP} instead of throwing; iterators in collection/map paths
-     * use that sentinel to drop the offending entry.
+     * use that sentinel to drop the offending entry. The names it might have meant are
+     * only looked for once the load is over, and once however often it was written.
      */
     private @NotNull Object stringToEnum(final Class<? extends Enum> enumClass, final @NotNull String value) {
         try {
             return Enum.valueOf(enumClass, value.toUpperCase());
         } catch (IllegalArgumentException ex) {
             if (!isLenient) throw ex;
-            warn("Lenient mode: skipping unknown " + enumClass.getName() + " value '" + value + "'");
+            context.warn(YamlWarning.Kind.UNKNOWN_ENUM, path, value, enumClass.getName(), () -> {
+                List<String> guesses = nearestConstants(enumClass, value.toUpperCase());
+                return guesses.isEmpty() ? null : String.join(", ", guesses);
+            });
             return LENIENT_ENUM_SKIP;
         }
     }
@@ -487,7 +963,7 @@ final class TypeConverter {
     // ==================== Reflection Utilities ====================
 
     /**
-     * Extract the raw Class from a Type, handling both Class and ParameterizedType.
+     * Extract the raw Class from a Type, handling Class, ParameterizedType and GenericArrayType.
      */
     static Class<?> getRawClass(Type type) {
         if (type instanceof Class<?>) {
@@ -497,6 +973,8 @@ final class TypeConverter {
             if (rawType instanceof Class<?> rawClass) {
                 return rawClass;
             }
+        } else if (type instanceof GenericArrayType arrayType) {
+            return getRawClass(arrayType.getGenericComponentType()).arrayType();
         }
         return Object.class;
     }
@@ -0,0 +1,90 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * One shared copy of the short strings and small numbers that many loaded files have in common.
+ *
+ * <p>The parser makes a new {@code String} for every scalar it reads, so twenty thousand player
+ * files that each say {@code world: world_nether} hold twenty thousand copies of
+ * {@code "world_nether"}, and as many {@code Integer}s for every number above 127. With
+ * {@link YamlFile#intern()} each of them is swapped for the copy that was seen before, and memory
+ * grows with the number of different values instead of with the number of files.
+ *
+ * <p>The pool is a fixed number of slots, each remembering the last string that hashed to it, so
+ * it never holds more than {@link #SLOTS} of them however many it sees. Two strings that keep
+ * claiming the same slot only cost each other a copy. A slot holds its string weakly: once no
+ * loaded config uses a value any more, the pool does not keep it alive either. Numbers are kept in
+ * a table of their own, the way {@link Integer#valueOf(int)} keeps -128 to 127.
+ */
+final class ValuePool {
+
+    /** How many strings the pool remembers at most. */
+    static final int SLOTS = 1 << 12;
+
+    /** Longer strings are rarely repeated word for word, and are not worth hashing to find out. */
+    static final int MAX_LENGTH = 64;
+
+    /** The numbers shared: as {@link Integer#valueOf(int)}'s cache, but up to a count a config is likely to hold. */
+    private static final int LOWEST = -128;
+    private static final int HIGHEST = 4095;
+
+    private static final AtomicReferenceArray<WeakReference<String>> STRINGS = new AtomicReferenceArray<>(SLOTS);
+    private static final AtomicReferenceArray<Integer> INTEGERS = new AtomicReferenceArray<>(HIGHEST - LOWEST + 1);
+    private static final AtomicReferenceArray<Long> LONGS = new AtomicReferenceArray<>(HIGHEST - LOWEST + 1);
+
+    private ValuePool() {
+    }
+
+    /**
+     * The shared copy of {@code value} when it is a short string or a small {@code Integer} or
+     * {@code Long}, and {@code value} itself otherwise.
+     */
+    static @Nullable Object intern(final @Nullable Object value) {
+        if (value instanceof String text) {
+            return intern(text);
+        }
+        if (value instanceof Integer number && number >= LOWEST && number <= HIGHEST) {
+            return shared(INTEGERS, number - LOWEST, number);
+        }
+        if (value instanceof Long number && number >= LOWEST && number <= HIGHEST) {
+            return shared(LONGS, (int) (number - LOWEST), number);
+        }
+        return value;
+    }
+
+    /** The copy of {@code text} the pool already has, or {@code text} itself, remembered from now on. */
+    static @NotNull String intern(final @NotNull String text) {
+        if (text.length() > MAX_LENGTH) {
+            return text;
+        }
+        int slot = spread(text.hashCode()) & (SLOTS - 1);
+        WeakReference<String> remembered = STRINGS.get(slot);
+        String known = remembered == null ? null : remembered.get();
+        if (text.equals(known)) {
+            return known;
+        }
+        // Two loads racing for the slot each keep their own copy; either is fine to remember.
+        STRINGS.set(slot, new WeakReference<>(text));
+        return text;
+    }
+
+    private static <N> @NotNull N shared(final @NotNull AtomicReferenceArray<N> table, final int index,
+                                         final @NotNull N number) {
+        N known = table.get(index);
+        if (known != null) {
+            return known;
+        }
+        table.compareAndSet(index, null, number);
+        return table.get(index);
+    }
+
+    /** As {@code HashMap} does, so strings that differ only in their last characters do not all share a slot. */
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
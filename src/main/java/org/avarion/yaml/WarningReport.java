@@ -0,0 +1,59 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The warnings of one load, gathered per key and kind until it is over.
+ *
+ * <p>An occurrence is only what it is about — no message is put together for it, and a suggestion
+ * is only looked for once per problem, when the load is done. Ten thousand misspellings in one
+ * list cost ten thousand counts, not ten thousand log lines.
+ */
+final class WarningReport {
+
+    /** One time a problem came up, before anything is made of it. */
+    record Occurrence(@NotNull YamlWarning.Kind kind, @NotNull String path, @Nullable Object value,
+                      @Nullable Object detail, @Nullable Supplier<String> suggestion) {
+
+        /** This occurrence on its own, {@code count} times over. */
+        @NotNull YamlWarning toWarning(final int count) {
+            return new YamlWarning(kind, path, value == null ? null : String.valueOf(value),
+                                   detail == null ? null : String.valueOf(detail),
+                                   suggestion == null ? null : suggestion.get(), count);
+        }
+    }
+
+    private record Problem(@NotNull YamlWarning.Kind kind, @NotNull String path) {
+    }
+
+    /** The first occurrence of each problem, and how many there were, in the order they first came up. */
+    private final Map<Problem, Occurrence> first = new LinkedHashMap<>();
+    private final Map<Problem, int[]> counts = new LinkedHashMap<>();
+
+    void add(final @NotNull Occurrence occurrence) {
+        Problem problem = new Problem(occurrence.kind(), occurrence.path());
+        int[] count = counts.get(problem);
+        if (count == null) {
+            first.put(problem, occurrence);
+            counts.put(problem, new int[]{1});
+        } else {
+            count[0]++;
+        }
+    }
+
+    /** One warning per problem, in the order they first came up. */
+    @NotNull List<YamlWarning> summarize() {
+        List<YamlWarning> warnings = new ArrayList<>(first.size());
+        for (Map.Entry<Problem, Occurrence> problem : first.entrySet()) {
+            warnings.add(problem.getValue().toWarning(counts.get(problem.getKey())[0]));
+        }
+        return warnings;
+    }
+}
@@ -0,0 +1,38 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The parsers not in use right now, for the next load or save to borrow.
+ *
+ * <p>A SnakeYAML instance keeps its parsing state in itself, so two loads on different threads
+ * cannot share one; and building one for every load costs more than many small loads do. Keeping
+ * one per thread would settle both, but would also leave one behind on every thread that ever
+ * loaded a file — the server's main thread, its scheduler's — each holding on to this library's
+ * classes, and through them to the class loader of the plugin that shaded it in, long after that
+ * plugin was unloaded. So they are kept here instead, with the library's classes, and only as many
+ * as there are processors: a burst of loads on more threads than that builds a few extra parsers,
+ * which are left to the garbage collector once they are handed back.
+ */
+final class WrapperPool {
+
+    private static final BlockingQueue<YamlWrapper> IDLE =
+            new ArrayBlockingQueue<>(Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    private WrapperPool() {
+    }
+
+    /** A parser for this thread alone, until it is {@link #release released}. */
+    static @NotNull YamlWrapper borrow() {
+        YamlWrapper yaml = IDLE.poll();
+        return yaml != null ? yaml : YamlWrapperFactory.create();
+    }
+
+    /** Hands {@code yaml} back; nothing may use it after this. */
+    static void release(final @NotNull YamlWrapper yaml) {
+        IDLE.offer(yaml);
+    }
+}
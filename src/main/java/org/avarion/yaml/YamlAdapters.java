@@ -0,0 +1,194 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * How a type that is written as a single line of text is read from it and written back.
+ *
+ * <p>A class with a public constructor taking a {@code String} needs nothing here: it is read
+ * with that constructor and written with {@code toString()}. This is for the types that have no
+ * such constructor — {@link Duration} and {@link Instant} parse, {@link Path} and {@link Pattern}
+ * are made by factories — and for a class whose {@code toString()} is not something its
+ * constructor would take back.
+ *
+ * <pre>{@code
+ * YamlAdapters.register(Color.class, Color::decode,
+ *                       color -> String.format("#%06x", color.getRGB() & 0xFFFFFF));
+ * }</pre>
+ *
+ * <p>Built in: {@link Duration} ({@code PT30S}), {@link Instant} ({@code 2024-05-01T12:00:00Z}),
+ * {@link Path}, {@link BigDecimal}, {@link Pattern} and {@link URI}. Registering one of them again
+ * replaces it.
+ *
+ * <p>A value is written as the string its adapter makes of it, quoted when YAML would otherwise
+ * read it as something else. That is what keeps a {@code BigDecimal} exact: written as a bare
+ * {@code 2.50} it would be read back as the double {@code 2.5}.
+ */
+public final class YamlAdapters {
+
+    /**
+     * Bumped by every registration, so a class whose adapter was looked up through its
+     * supertypes looks again after one is registered.
+     */
+    private static volatile int generation;
+
+    private static final ClassValue<Slot> SLOTS = new ClassValue<>() {
+        @Override
+        protected Slot computeValue(final @NotNull Class<?> type) {
+            return new Slot();
+        }
+    };
+
+    /** The String constructor of each class, when it has a public one. */
+    private static final ClassValue<Optional<MethodHandle>> STRING_CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(final @NotNull Class<?> type) {
+            try {
+                return Optional.of(MethodHandles.lookup().unreflectConstructor(type.getConstructor(String.class))
+                                                .asType(MethodType.methodType(Object.class, String.class)));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    /** The adapters that come with the library; a registered one for the same class goes first. */
+    private static final Map<Class<?>, Adapter<?>> BUILT_IN = new ConcurrentHashMap<>();
+
+    static {
+        builtIn(Duration.class, Duration::parse, Duration::toString);
+        builtIn(Instant.class, Instant::parse, Instant::toString);
+        builtIn(Path.class, Path::of, Path::toString);
+        builtIn(BigDecimal.class, BigDecimal::new, BigDecimal::toString);
+        builtIn(Pattern.class, Pattern::compile, Pattern::pattern);
+        builtIn(URI.class, URI::create, URI::toString);
+    }
+
+    private YamlAdapters() {
+    }
+
+    /**
+     * Reads {@code type} with {@code decoder} and writes it with {@code encoder}, from now on.
+     *
+     * <p>A decoder that throws fails the load, naming the type and the text it was given. It is
+     * only used for a field, element or map entry declared as exactly {@code type}; the encoder
+     * is used for any value of {@code type} or a subclass of it.
+     *
+     * @throws IllegalArgumentException If {@code type} is one the library already reads in a way
+     *                                  of its own: a primitive, a boxed primitive, a {@code String},
+     *                                  an enum, a record, a collection or a map.
+     */
+    public static synchronized <T> void register(final @NotNull Class<T> type, final @NotNull Function<String, ? extends T> decoder,
+                                    final @NotNull Function<? super T, String> encoder) {
+        if (type.isPrimitive() || type == String.class || type == Boolean.class || type == Character.class
+            || (Number.class.isAssignableFrom(type) && type.getPackageName().equals("java.lang"))
+            || type.isEnum() || type.isRecord() || Collection.class.isAssignableFrom(type)
+            || Map.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException(type.getSimpleName() + " is read and written without an adapter");
+        }
+        SLOTS.get(type).own = new Adapter<>(type, decoder, encoder);
+        generation++;
+    }
+
+    private static <T> void builtIn(Class<T> type, Function<String, ? extends T> decoder,
+                                    Function<? super T, String> encoder) {
+        BUILT_IN.put(type, new Adapter<>(type, decoder, encoder));
+    }
+
+    // ==================== Looking adapters up ====================
+
+    /** One class's adapters: its own, and the one its values are written with. */
+    private static final class Slot {
+        volatile @Nullable Adapter<?> own;
+
+        volatile int resolvedAt = -1;
+        volatile @Nullable Adapter<?> resolved;
+    }
+
+    /** The adapter that reads a value declared as {@code type}, if there is one. */
+    static @Nullable Adapter<?> forType(final @NotNull Class<?> type) {
+        Adapter<?> own = SLOTS.get(type).own;
+        return own != null ? own : BUILT_IN.get(type);
+    }
+
+    /**
+     * The adapter that writes a value of {@code type}: its own, or that of the nearest class or
+     * interface above it that has one.
+     */
+    static @Nullable Adapter<?> forValue(final @NotNull Class<?> type) {
+        Slot slot = SLOTS.get(type);
+        int current = generation;
+        if (slot.resolvedAt != current) {
+            slot.resolved = nearest(type);
+            slot.resolvedAt = current;
+        }
+        return slot.resolved;
+    }
+
+    private static @Nullable Adapter<?> nearest(final @Nullable Class<?> type) {
+        if (type == null) {
+            return null;
+        }
+        Adapter<?> adapter = forType(type);
+        if (adapter != null) {
+            return adapter;
+        }
+        for (Class<?> implemented : type.getInterfaces()) {
+            adapter = nearest(implemented);
+            if (adapter != null) {
+                return adapter;
+            }
+        }
+        return nearest(type.getSuperclass());
+    }
+
+    /**
+     * The public constructor of {@code type} that takes a {@code String}, ready to call, or
+     * {@code null} when it has none: the adapter of every class that did not register one.
+     */
+    static @Nullable MethodHandle stringConstructorOf(final @NotNull Class<?> type) {
+        return STRING_CONSTRUCTORS.get(type).orElse(null);
+    }
+
+    /** A registered pair of functions. */
+    static final class Adapter<T> {
+        private final Class<T> type;
+        private final Function<String, ? extends T> decoder;
+        private final Function<? super T, String> encoder;
+
+        private Adapter(Class<T> type, Function<String, ? extends T> decoder, Function<? super T, String> encoder) {
+            this.type = type;
+            this.decoder = decoder;
+            this.encoder = encoder;
+        }
+
+        @Nullable T decode(final @NotNull String text) throws IOException {
+            try {
+                return decoder.apply(text);
+            } catch (RuntimeException e) {
+                throw new IOException("Cannot read " + type.getSimpleName() + " from '" + text + "': " + e.getMessage(), e);
+            }
+        }
+
+        @Nullable String encode(final @NotNull Object value) {
+            return encoder.apply(type.cast(value));
+        }
+    }
+}
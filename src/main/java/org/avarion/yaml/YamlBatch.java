@@ -0,0 +1,243 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Loads or saves a whole folder of files bound to the same class at once: one file per player,
+ * per island, per region.
+ *
+ * <p>Loading ten thousand of those one after the other leaves every core but one idle, and the
+ * first file that does not parse ends the loop along with everything after it. Here the files
+ * are spread over a pool of worker threads, and a file that fails is set aside with the reason
+ * it failed while the rest carry on. What a class looks like — its fields, keys and comments —
+ * is worked out once and shared by every file, not once per file.
+ *
+ * <pre>{@code
+ * YamlBatch.Result<PlayerData> result = YamlBatch.loadAll(playersFolder, PlayerData::new);
+ * result.failures().forEach((path, error) -> getLogger().warning(path + ": " + error.getMessage()));
+ * getLogger().info(result.summary());
+ * }</pre>
+ *
+ * <p>A warning raised while a file loads is logged with the name of that file in front of it,
+ * since out of ten thousand files it is otherwise anybody's guess which one it is about.
+ */
+public final class YamlBatch {
+
+    private YamlBatch() {
+    }
+
+    /**
+     * What a batch did, file by file.
+     *
+     * @param succeeded every file that was loaded or saved, with the object it was loaded into or
+     *                  saved from, in file name order
+     * @param failures  every file that was not, with the reason why, in file name order
+     * @param elapsed   how long the whole batch took
+     * @param <T>       what each file gave: the configuration object, for a load or a save
+     */
+    public record Result<T>(@NotNull Map<Path, T> succeeded, @NotNull Map<Path, Exception> failures,
+                            @NotNull Duration elapsed) {
+
+        /** Every file the batch looked at, whether it succeeded or not. */
+        public int total() {
+            return succeeded.size() + failures.size();
+        }
+
+        /** How many files the batch got through per second, failures included. */
+        public double filesPerSecond() {
+            double seconds = elapsed.toNanos() / 1e9;
+            return seconds == 0 ? 0 : total() / seconds;
+        }
+
+        /** One line for a log: how many files, how fast, and how many failed. */
+        public @NotNull String summary() {
+            return String.format("%d of %d files in %d ms (%.0f files/s); %d failed",
+                                 succeeded.size(), total(), elapsed.toMillis(), filesPerSecond(), failures.size());
+        }
+    }
+
+    // ==================== Loading ====================
+
+    /**
+     * Loads every {@code .yml} and {@code .yaml} file directly inside {@code folder} into a fresh
+     * object from {@code factory}, using as many workers as there are processors.
+     *
+     * @see #loadAll(Path, Supplier, int)
+     */
+    public static <T extends YamlFileInterface> @NotNull Result<T> loadAll(final @NotNull Path folder,
+                                                                           final @NotNull Supplier<T> factory)
+            throws IOException {
+        return loadAll(folder, factory, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Loads every {@code .yml} and {@code .yaml} file directly inside {@code folder} into a fresh
+     * object from {@code factory}.
+     *
+     * <p>Sub-folders are not looked into, and neither are files with any other extension. Each
+     * file is loaded exactly as {@link YamlFileInterface#load(java.io.File)} would load it on its
+     * own, renames and journal included.
+     *
+     * @param parallelism how many files may be loading at the same time
+     * @throws IOException              If {@code folder} cannot be listed. A file that cannot be
+     *                                  loaded is a {@link Result#failures() failure}, not this.
+     * @throws IllegalArgumentException If {@code parallelism} is not positive.
+     */
+    public static <T extends YamlFileInterface> @NotNull Result<T> loadAll(final @NotNull Path folder,
+                                                                           final @NotNull Supplier<T> factory,
+                                                                           final int parallelism)
+            throws IOException {
+        return run(yamlFilesIn(folder), parallelism, (path, warnings) -> {
+            T config = factory.get();
+            config.load(path.toFile(), Set.of(), warnings);
+            return config;
+        });
+    }
+
+    // ==================== Saving ====================
+
+    /**
+     * Saves each object in {@code configs} to the file it is mapped to, using as many workers as
+     * there are processors.
+     *
+     * @see #saveAll(Map, int)
+     */
+    public static <T extends YamlFileInterface> @NotNull Result<T> saveAll(final @NotNull Map<Path, T> configs) {
+        return saveAll(configs, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Saves each object in {@code configs} to the file it is mapped to, as
+     * {@link YamlFileInterface#save(java.io.File)} would.
+     *
+     * <p>Typically the {@link Result#succeeded()} of an earlier {@link #loadAll}, after the
+     * objects in it have been changed.
+     *
+     * @param parallelism how many files may be saving at the same time
+     * @throws IllegalArgumentException If {@code parallelism} is not positive.
+     */
+    public static <T extends YamlFileInterface> @NotNull Result<T> saveAll(final @NotNull Map<Path, T> configs,
+                                                                           final int parallelism) {
+        List<Path> files = new ArrayList<>(configs.keySet());
+        Collections.sort(files);
+        return run(files, parallelism, (path, warnings) -> {
+            T config = configs.get(path);
+            config.save(path.toFile());
+            return config;
+        });
+    }
+
+    // ==================== Running a batch ====================
+
+    /** One file's share of a batch, with where to send the warnings about that file. */
+    @FunctionalInterface
+    interface Task<T> {
+        @NotNull T apply(@NotNull Path path, @NotNull Consumer<String> warnings) throws IOException;
+    }
+
+    /** The files a batch over {@code folder} takes, in name order so results come out the same every time. */
+    static @NotNull List<Path> yamlFilesIn(final @NotNull Path folder) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*.{yml,yaml}")) {
+            for (Path path : stream) {
+                if (Files.isRegularFile(path)) {
+                    files.add(path);
+                }
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /** Run {@code task} over every one of {@code files} on a pool of {@code parallelism} workers. */
+    @SuppressWarnings("unchecked")
+    static <T> @NotNull Result<T> run(final @NotNull List<Path> files, final int parallelism,
+                                      final @NotNull Task<T> task) {
+        long start = System.nanoTime();
+        Object[] results = new Object[files.size()];
+        Exception[] errors = new Exception[files.size()];
+
+        // A pool of its own, so a batch neither waits behind nor starves whatever else shares the
+        // common pool, and so its size is the caller's to choose.
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new Slice<>(files, task, results, errors, 0, files.size()));
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<Path, T> succeeded = new LinkedHashMap<>();
+        Map<Path, Exception> failures = new LinkedHashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            if (errors[i] == null) {
+                succeeded.put(files.get(i), (T) results[i]);
+            } else {
+                failures.put(files.get(i), errors[i]);
+            }
+        }
+        return new Result<>(Collections.unmodifiableMap(succeeded), Collections.unmodifiableMap(failures),
+                            Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * A run of files, halved until each half is a single file. Split that fine so that a few
+     * unusually large files cannot leave one worker busy while the others have run out of work.
+     */
+    private static final class Slice<T> extends RecursiveAction {
+        private final List<Path> files;
+        private final Task<T> task;
+        private final Object[] results;
+        private final Exception[] errors;
+        private final int from;
+        private final int to;
+
+        Slice(List<Path> files, Task<T> task, Object[] results, Exception[] errors, int from, int to) {
+            this.files = files;
+            this.task = task;
+            this.results = results;
+            this.errors = errors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Slice<>(files, task, results, errors, from, middle),
+                          new Slice<>(files, task, results, errors, middle, to));
+                return;
+            }
+            if (from < to) {
+                runOne(from);
+            }
+        }
+
+        private void runOne(final int index) {
+            Path path = files.get(index);
+            try {
+                results[index] = task.apply(path, message -> TypeConverter.LOG.warning(path.getFileName() + ": " + message));
+            } catch (IOException | RuntimeException e) {
+                // A file that does not parse is as likely as one that cannot be read, and SnakeYAML
+                // says so with a runtime exception. Either way it is this file's problem, not the batch's.
+                errors[index] = e;
+            }
+        }
+    }
+}
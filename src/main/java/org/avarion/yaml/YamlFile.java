@@ -33,4 +33,57 @@ public @interface YamlFile {
      * An explicit {@code @YamlKey("...")} is never converted.
      */
     @NotNull Naming naming() default Naming.SNAKE_CASE;
+
+    /**
+     * The version of this file's layout; {@code 0}, the default, for a file that does not keep one.
+     *
+     * <p>A versioned file is saved with its version under {@link #versionKey()}. Loading a file
+     * that says it is older runs every step registered with {@link YamlMigrations} above its
+     * version, oldest first, before any field reads it. A file that is already at this version
+     * is not migrated at all.
+     */
+    int version() default 0;
+
+    /** The key a versioned file keeps its {@link #version()} under. */
+    @NotNull String versionKey() default "config-version";
+
+    /**
+     * Whether the collections and maps a load puts in fields declared as {@code List},
+     * {@code Collection}, {@code Set}, {@code SortedSet}, {@code NavigableSet}, {@code Map},
+     * {@code SortedMap} or {@code NavigableMap} are left unmodifiable.
+     *
+     * <p>For a config that is only ever read: nothing can change what was loaded behind the
+     * file's back. Changing such a field means assigning it a new collection. A field declared as
+     * a class ({@code ArrayList}, {@code TreeMap}, ...) or as a {@code Queue} keeps the mutable
+     * collection it asks for.
+     *
+     * <p>Only lists take less heap for it: each is a compact array-backed list instead of an
+     * {@code ArrayList}. A set or map keeps the one it was read into, to keep the file's order,
+     * and is wrapped in a read-only view, which costs a small object more per set or map rather
+     * than saving any. Only an empty one is smaller, being the same one everywhere.
+     */
+    boolean immutableCollections() default false;
+
+    /**
+     * Whether the short strings and small numbers a load reads are shared with every other file
+     * of any class that sets this too.
+     *
+     * <p>For data that is kept in memory many times over — a file per player, per island, per
+     * region — where the same world names, ranks and amounts come back in thousands of files. Each
+     * is then held once rather than once per file. The strings are pooled weakly and the pool is
+     * bounded, so it neither keeps values alive nor grows with the number of files. Together with
+     * {@link #immutableCollections()} every empty list, set or map read is the same one, too.
+     */
+    boolean intern() default false;
+
+    /**
+     * How many elements a collection or map needs before its elements are converted on several
+     * threads at once; {@code 0}, the default, to always convert them one by one.
+     *
+     * <p>For a file with one enormous block, such as a map of every player's statistics, that
+     * would otherwise hold up startup on a single core. Order, warnings and errors come out exactly
+     * as they do one by one. A custom type, adapter or record constructor that the elements are
+     * read into is then called from several threads, and must not mind.
+     */
+    int parallelThreshold() default 0;
 }
@@ -9,9 +9,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.reflect.*;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.function.Consumer;
 
@@ -22,11 +22,22 @@ import java.util.function.Consumer;
 @SuppressWarnings("unchecked")
 public abstract class YamlFileInterface {
     static final Object UNKNOWN = new Object();
-    private static final YamlWrapper yaml = YamlWrapperFactory.create();
 
     /** Old key → the key now holding its value, for the last load. Never null. */
     private @NotNull Map<String, String> renames = Map.of();
 
+    /** The version the last load found in the file; 0 when it had none. */
+    private int fileVersion;
+
+    /** What the last load or save cost; null before the first. */
+    private @Nullable YamlStats lastStats;
+
+    /** What the last load worked around, one entry per problem. Never null. */
+    private @NotNull List<YamlWarning> lastWarnings = List.of();
+
+    /** What the last load read, for the next load of the same file to compare against; null when there is none. */
+    private @Nullable LoadSnapshot lastLoad;
+
     // ==================== Load Methods ====================
 
     /**
@@ -73,42 +84,172 @@ public abstract class YamlFileInterface {
      */
     public <T extends YamlFileInterface> T load(final @NotNull File file, final @NotNull Set<String> ignoredKeys)
             throws IOException {
-        renames = Map.of();
+        return load(file, ignoredKeys, TypeConverter.LOG::warning);
+    }
+
+    /**
+     * As {@link #load(File, Set)}, with every warning the load gives going to {@code warnings} —
+     * from whichever thread it is given on.
+     */
+    <T extends YamlFileInterface> T load(final @NotNull File file, final @NotNull Set<String> ignoredKeys,
+                                         final @NotNull Consumer<String> warnings) throws IOException {
+        LoadSnapshot previous = lastLoad;
+        lastLoad = null;
 
         if (!file.exists()) {
+            renames = Map.of();
+            fileVersion = 0;
+            lastWarnings = List.of();
             save(file);
             return (T) this;
         }
 
+        Class<?> clazz = this.getClass();
+        YamlLoadEvent event = new YamlLoadEvent(clazz, file);
         String content;
         try (FileInputStream inputStream = new FileInputStream(file)) {
-            content = new String(inputStream.readAllBytes());
+            byte[] bytes = inputStream.readAllBytes();
+            event.bytes = bytes.length;
+            content = new String(bytes);
         }
+        event.readTime = event.lap();
 
-        Map<String, Object> parsed = (Map<String, Object>) yaml.load(content);
-        Map<String, Object> data = parsed == null ? new LinkedHashMap<>() : parsed;
-
-        Class<?> clazz = this.getClass();
-        YamlFile yamlFileAnnotation = clazz.getAnnotation(YamlFile.class);
-        boolean isLenientByDefault = yamlFileAnnotation == null || yamlFileAnnotation.lenient() != Leniency.STRICT;
-        Naming naming = namingOf(yamlFileAnnotation);
-
-        // Before any field looks at the file, so a setting that has moved is read from where it
-        // lives now and written back there — a migration rather than a value quietly lost to the
-        // write-back.
-        renames = Collections.unmodifiableMap(KeyRenames.applyTo(data, clazz, naming));
-        KeyRenames.drop(data, ignoredKeys);
+        Schema schema = Schema.of(clazz);
+        LoadContext context = LoadContext.of(schema, warnings);
+        File journal = Journal.of(file);
+        Map<String, LoadSnapshot.Block> blocks = LoadSnapshot.split(content);
 
+        YamlWrapper yaml = WrapperPool.borrow();
         try {
-            for (Field field : yamlKeyFields(clazz)) {
-                readYamlKeyField(data, field, isLenientByDefault, naming);
+            if (previous != null && blocks != null && previous.isOf(file, ignoredKeys) && !journal.exists()) {
+                Object[] bound = reload(previous, content, blocks, ignoredKeys, schema, context, yaml);
+                if (bound != null) {
+                    // Only a load that migrated nothing keeps a snapshot, and this one moved nothing
+                    // either: say so, rather than what some earlier load did.
+                    renames = Map.of();
+                    fileVersion = schema.version;
+                    lastLoad = new LoadSnapshot(file, ignoredKeys, LoadSnapshot.hashesOf(blocks), bound);
+                    // Parsing and binding the changed blocks go hand in hand, so it is all bind time.
+                    event.bindTime = event.lap();
+                    event.partial = true;
+                    event.fields = boundCount(bound);
+                    event.succeeded = true;
+                    return (T) this;
+                }
             }
+
+            renames = Map.of();
+            Map<String, Object> parsed = (Map<String, Object>) yaml.load(content);
+            Map<String, Object> data = parsed == null ? new LinkedHashMap<>() : parsed;
+            event.parseTime = event.lap();
+            boolean canSnapshot = blocks != null && LoadSnapshot.agrees(blocks, data.keySet()) && !journal.exists();
+
+            // Before any field looks at the file, so a setting that has moved is read from where it
+            // lives now and written back there — a migration rather than a value quietly lost to the
+            // write-back.
+            Map<String, String> moved = new LinkedHashMap<>();
+            fileVersion = YamlMigrations.bringUpToDate(data, clazz, schema, moved, context);
+            renames = Collections.unmodifiableMap(moved);
+
+            // After the renames, because a record is written with the keys of today; before the
+            // ignores, because an ignored key must not be supplied by the journal either.
+            if (journal.exists()) {
+                Journal.replay(yaml, data, journal, context);
+            }
+            KeyRenames.drop(data, ignoredKeys);
+            event.migrateTime = event.lap();
+
+            Object[] bound = new Object[schema.size()];
+            for (int i = 0; i < schema.size(); i++) {
+                bound[i] = readYamlKeyField(data, schema, i, context);
+            }
+            // A file that had to be migrated was bound as something other than what it says. A reload
+            // of its edited blocks would bind them as they say, without the steps and moves, so only
+            // a file already at the keys of today is reloaded in part.
+            boolean migrated = fileVersion != schema.version || !renames.isEmpty();
+            if (canSnapshot && !migrated) {
+                lastLoad = new LoadSnapshot(file, ignoredKeys, LoadSnapshot.hashesOf(blocks), bound);
+            }
+            event.bindTime = event.lap();
+            event.fields = boundCount(bound);
+            event.succeeded = true;
         } catch (IllegalAccessException | IllegalArgumentException | NullPointerException | FinalAttribute e) {
             throw new IOException(e);
+        } finally {
+            WrapperPool.release(yaml);
+            // Also when the load fails: what it worked around before that is still worth knowing.
+            lastWarnings = context.finish();
+            event.warnings = lastWarnings.size();
+            event.converted = context.converted.sum();
+            event.renames = renames.size();
+            lastStats = event.finish();
+            YamlStats.publish(this, lastStats);
         }
         return (T) this;
     }
 
+    /**
+     * Load again only the top-level blocks that changed since {@code previous}, giving every other
+     * field back what {@code previous} gave it. Nothing at all is done, and {@code null} returned,
+     * when a changed block is one that a full load would treat as more than the value of its own
+     * fields: a key no field claims, which may be a leftover or a setting still to be moved, or one
+     * a declared move reads from. {@code previous} is only kept by a load that migrated nothing,
+     * so there are no steps for the changed blocks to miss.
+     *
+     * <p>A field whose block did not change is handed back the very object it was handed last
+     * time only when nothing can have changed that object since: a string, a boxed number, an enum
+     * constant, or an unmodifiable collection, map or record of those. Any other value is read again
+     * from its block, unchanged or not, so what a program did to it in place is undone just as a
+     * full load would undo it.
+     *
+     * @return what each field was given, as {@link LoadSnapshot} keeps it
+     */
+    private Object @Nullable [] reload(final @NotNull LoadSnapshot previous, final @NotNull String content,
+                                      final @NotNull Map<String, LoadSnapshot.Block> blocks,
+                                      final @NotNull Set<String> ignoredKeys, final @NotNull Schema schema,
+                                      final @NotNull LoadContext context, final @NotNull YamlWrapper yaml)
+            throws IllegalAccessException, FinalAttribute, IOException {
+        Set<String> changed = previous.changedSince(blocks);
+        if (!schema.claimedRoots.containsAll(changed) || !Collections.disjoint(changed, schema.renames.roots())) {
+            return null;
+        }
+
+        // A value the program may have changed in place is converted again from its block too, so a
+        // load still gives every field what the file says.
+        Set<String> reread = new LinkedHashSet<>(changed);
+        for (int i = 0; i < schema.size(); i++) {
+            Object was = previous.boundAt(i);
+            if (was != UNKNOWN && !LoadSnapshot.unchangeable(was)) {
+                reread.add(schema.root(i));
+            }
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (String key : reread) {
+            LoadSnapshot.Block block = blocks.get(key);
+            if (block != null) {
+                Object parsed = yaml.load(content.substring(block.start(), block.end()));
+                if (!(parsed instanceof Map<?, ?> map) || !map.containsKey(key) || map.size() != 1) {
+                    return null;
+                }
+                data.put(key, map.get(key));
+            }
+        }
+        KeyRenames.drop(data, ignoredKeys);
+
+        Object[] bound = new Object[schema.size()];
+        for (int i = 0; i < schema.size(); i++) {
+            bound[i] = previous.boundAt(i);
+            if (reread.contains(schema.root(i))) {
+                bound[i] = readYamlKeyField(data, schema, i, context);
+            }
+            else if (bound[i] != UNKNOWN) {
+                schema.fields.get(i).set(this, bound[i]);
+            }
+        }
+        return bound;
+    }
+
     /**
      * The YAML keys this class's fields claim, in the order the fields declare them.
      *
@@ -120,10 +261,10 @@ public abstract class YamlFileInterface {
      * @see #load(File, Set)
      */
     public @NotNull List<String> declaredKeys() {
-        Naming naming = namingOf(this.getClass().getAnnotation(YamlFile.class));
-        List<String> keys = new ArrayList<>();
-        for (Field field : yamlKeyFields(this.getClass())) {
-            keys.add(keyOf(field, field.getAnnotation(YamlKey.class), naming));
+        Schema schema = Schema.of(this.getClass());
+        List<String> keys = new ArrayList<>(schema.size());
+        for (int i = 0; i < schema.size(); i++) {
+            keys.add(schema.key(i));
         }
         return keys;
     }
@@ -146,6 +287,54 @@ public abstract class YamlFileInterface {
         return renames;
     }
 
+    /**
+     * What the last load worked around rather than failed on: one entry per problem, in the order
+     * they first came up, each with how often it did.
+     *
+     * <p>Each of them has also been logged, once — a list of five thousand misspelled materials is
+     * one line in the log, not five thousand. This is the same list for a plugin to act on itself,
+     * such as a command that tells an operator what to fix.
+     *
+     * <p>Empty before any load, after one that found nothing wrong, and after one that created the
+     * file. What a {@link Lazy} field warns about when it is first asked for is logged then, and is
+     * not part of this list.
+     */
+    public @NotNull List<YamlWarning> warnings() {
+        return lastWarnings;
+    }
+
+    /**
+     * What the last load or save of this object cost: bytes, the time of each phase, and how
+     * much it converted. {@code null} before the first.
+     *
+     * <p>Replaced by every load and save, including a load that fails. To collect them from every
+     * config as they happen, see {@link YamlStats#addListener}.
+     */
+    public @Nullable YamlStats lastStats() {
+        return lastStats;
+    }
+
+    /**
+     * An estimate of the heap this object holds on to, per top-level key it declares.
+     *
+     * <p>To find which class, of many loaded at once, holds the most, see
+     * {@link YamlFootprint#aggregate}.
+     */
+    public @NotNull YamlFootprint memoryFootprint() {
+        return Footprint.measure(List.of(this)).get(0);
+    }
+
+    /**
+     * The version the file last loaded said it was written in, before any migration: 0 for a file
+     * that did not say, or for a class without a {@link YamlFile#version()}.
+     *
+     * <p>Lower than the class's version when the load just migrated the file, higher when the file
+     * comes from a newer release. Either way, a {@link #save} writes the class's version.
+     */
+    public int fileVersion() {
+        return fileVersion;
+    }
+
     /**
      * Loads the YAML content from the specified file path into this object.
      *
@@ -187,51 +376,7 @@ public abstract class YamlFileInterface {
      * }</pre>
      */
     public <T extends YamlFileInterface> T load(final @NotNull Object plugin) throws IOException {
-        Consumer<String> prev = TypeConverter.pushSink(discoverPluginSink(plugin));
-        try {
-            return load(getYamlFile(plugin));
-        } finally {
-            TypeConverter.pushSink(prev);
-        }
-    }
-
-    /**
-     * Reflectively duck-type a warning sink onto whatever {@code plugin.getLogger()} returns:
-     * try {@code warn(String)}, {@code warning(String)}, {@code warn(String, Object[])},
-     * {@code warning(String, Object[])} in that order. Falls back to {@link TypeConverter#LOG}'s
-     * {@code warning(String)} when nothing matches, so the caller never has to null-check.
-     */
-    private static @NotNull Consumer<String> discoverPluginSink(@NotNull Object plugin) {
-        final Object logger;
-        try {
-            logger = plugin.getClass().getMethod("getLogger").invoke(plugin);
-        } catch (ReflectiveOperationException ignored) {
-            return TypeConverter.LOG::warning;
-        }
-        if (logger == null) return TypeConverter.LOG::warning;
-
-        Class<?> cls = logger.getClass();
-        for (String name : new String[] { "warn", "warning" }) {
-            try {
-                Method method = cls.getMethod(name, String.class);
-                return msg -> invokeQuietly(method, logger, msg);
-            } catch (NoSuchMethodException ignored) { /* try next */ }
-        }
-        for (String name : new String[] { "warn", "warning" }) {
-            try {
-                Method method = cls.getMethod(name, String.class, Object[].class);
-                return msg -> invokeQuietly(method, logger, msg, new Object[0]);
-            } catch (NoSuchMethodException ignored) { /* try next */ }
-        }
-        return TypeConverter.LOG::warning;
-    }
-
-    private static void invokeQuietly(@NotNull Method method, @NotNull Object target, Object... args) {
-        try {
-            method.invoke(target, args);
-        } catch (ReflectiveOperationException ignored) {
-            // Plugin's logger threw — drop the warning rather than blow up the load.
-        }
+        return load(getYamlFile(plugin), Set.of(), PluginReflection.of(plugin).sink(plugin));
     }
 
     // ==================== Save Methods ====================
@@ -251,11 +396,101 @@ public abstract class YamlFileInterface {
         final File newFile = file.getAbsoluteFile();
         newFile.getParentFile().mkdirs();
 
-        try (FileWriter writer = new FileWriter(newFile)) {
-            writer.write(buildYamlContents());
+        YamlSaveEvent event = new YamlSaveEvent(this.getClass(), newFile);
+        byte[] contents;
+        try {
+            contents = buildYamlContents().getBytes();
         } catch (IllegalAccessException | YamlException e) {
             throw new IOException(e.getMessage());
         }
+        event.renderTime = event.lap();
+
+        Files.write(newFile.toPath(), contents);
+        // Everything the journal said is in the file now; replaying it over a newer file would
+        // put older values back.
+        Files.deleteIfExists(Journal.of(newFile).toPath());
+
+        event.writeTime = event.lap();
+        event.bytes = contents.length;
+        event.fields = Schema.of(this.getClass()).size();
+        lastStats = event.finish();
+        YamlStats.publish(this, lastStats);
+    }
+
+    /**
+     * Saves the current object's content into an existing file, rewriting only the entries whose
+     * values changed and leaving every other byte of it as it was.
+     *
+     * <p>{@link #save(File)} renders the whole file from the fields, which is right for a file
+     * this library owns and wrong for one an operator has annotated by hand: their comments,
+     * blank lines and quoting go the way of everything no field knows about. This keeps them.
+     * A value that still fits on its line is replaced where it stands, so even a comment after
+     * it on the same line survives; a value that does not, such as a list that grew, has its
+     * entry rendered again at the same indentation.
+     *
+     * <p>A value counts as changed when it reads back differently, not when it would be spelled
+     * differently: {@code 'on'} in the file stays {@code 'on'} for as long as the field holds
+     * the same string. Only the entries that differ change, so updating one number in a large
+     * file changes a handful of bytes. The result is written beside the file and moved over it in
+     * one step, so a crash part-way leaves the file as it was.
+     *
+     * <p>Falls back to {@link #save(File)} whenever patching would have to guess: the file does
+     * not exist yet, is missing a key a field now claims, or lays an entry out in a way that
+     * cannot be rewritten on its own, such as inside a flow-style block.
+     *
+     * @param file The File object representing the YAML file to update.
+     * @throws IOException If there's an error reading or writing the file.
+     * @see #save(File)
+     */
+    public void savePatched(final @NotNull File file) throws IOException {
+        final File newFile = file.getAbsoluteFile();
+        if (!newFile.exists()) {
+            save(newFile);
+            return;
+        }
+
+        YamlSaveEvent event = new YamlSaveEvent(this.getClass(), newFile);
+        byte[] before = Files.readAllBytes(newFile.toPath());
+        Schema schema = Schema.of(this.getClass());
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (schema.version > 0) {
+            values.put(schema.versionKey, schema.version);
+        }
+        try {
+            for (int i = 0; i < schema.size(); i++) {
+                Field field = schema.fields.get(i);
+                if (Modifier.isFinal(field.getModifiers())) {
+                    throw new FinalAttribute(field.getName());
+                }
+                values.put(schema.key(i), field.get(this));
+            }
+        } catch (IllegalAccessException | YamlException e) {
+            throw new IOException(e.getMessage());
+        }
+
+        String patched;
+        YamlWrapper yaml = WrapperPool.borrow();
+        try {
+            patched = YamlPatcher.patch(yaml, new YamlWriter(yaml, schema.naming), new String(before), values);
+        } finally {
+            WrapperPool.release(yaml);
+        }
+        if (patched == null) {
+            save(newFile);
+            return;
+        }
+        byte[] after = patched.getBytes();
+        event.renderTime = event.lap();
+
+        YamlPatcher.write(newFile, before, after);
+        Files.deleteIfExists(Journal.of(newFile).toPath());
+
+        event.writeTime = event.lap();
+        event.bytes = after.length;
+        event.fields = schema.size();
+        event.patched = true;
+        lastStats = event.finish();
+        YamlStats.publish(this, lastStats);
     }
 
     /**
@@ -298,6 +533,172 @@ public abstract class YamlFileInterface {
         save(getYamlFile(plugin));
     }
 
+    // ==================== Journal ====================
+
+    /**
+     * Records the current values of {@code keys} in the change journal beside {@code file},
+     * instead of saving the whole file.
+     *
+     * <p>For data that changes far more often than it is read back — a leaderboard, claims,
+     * cooldowns — a full {@link #save(File)} per change re-renders every key to move one. A
+     * journal record holds only the keys named here, so what a change costs to write is what
+     * those keys hold, not what the file is.
+     *
+     * <p>Each key is written whole, with everything under it. That suits a setting or a small
+     * block; for one entry of a large map or collection it writes the whole map again, and the
+     * journal soon outgrows the file. {@link #journalEntries} records just the entries that changed.
+     *
+     * <p>{@link #load(File)} replays the journal over the file, newest record last, so a load
+     * sees exactly what a save would have written. Once the journal outgrows the file it
+     * belongs to, this method compacts it: a full save, which writes every value into the file
+     * and deletes the journal. Any {@code save} does the same, so calling one yourself — on
+     * shutdown, say — is always safe.
+     *
+     * <pre>{@code
+     * settings.season = 7;
+     * settings.journal(file, "season.number");
+     * }</pre>
+     *
+     * <p>Names a key the way its field declares it — see {@link #declaredKeys()}. When
+     * {@code file} does not exist yet, there is nothing for a journal to amend, so it is saved in
+     * full instead.
+     *
+     * @param keys the keys whose values changed since the last save or journal record
+     * @throws IOException              If there's an error writing the journal or, when compacting, the file.
+     * @throws IllegalArgumentException If a key is not one this class declares.
+     */
+    public void journal(final @NotNull File file, final @NotNull String... keys) throws IOException {
+        if (!file.exists()) {
+            save(file);
+            return;
+        }
+
+        Schema schema = Schema.of(this.getClass());
+
+        // The keys are written as they are, dots and all, rather than nested: a record has to
+        // say which key it replaces, and a block nested under another would read as a change to
+        // just the keys it happens to mention.
+        Map<Object, Object> record = new LinkedHashMap<>();
+        for (String key : keys) {
+            record.put(key, new NestedMap.NestedNode(journaledValue(schema, key), null));
+        }
+        if (record.isEmpty()) {
+            return;
+        }
+
+        String text;
+        YamlWrapper yaml = WrapperPool.borrow();
+        try {
+            text = new YamlWriter(yaml, schema.naming).write(record);
+        } finally {
+            WrapperPool.release(yaml);
+        }
+        appendToJournal(file, text);
+    }
+
+    /**
+     * Records single entries of the map or collection under {@code key} in the change journal
+     * beside {@code file}: for each of {@code entries}, what it is now.
+     *
+     * <p>For a map, an entry is one of its keys: its current value is recorded, or its removal
+     * when the map no longer has it. For a collection, an entry is an element: recorded as added
+     * while the collection holds it, as removed once it does not. Either way a record costs the
+     * entries named, however large the map or collection is, which is what a leaderboard that
+     * changes one player at a time wants:
+     *
+     * <pre>{@code
+     * scores.points.merge(player, 1, Integer::sum);
+     * scores.journalEntries(file, "points", player);
+     * }</pre>
+     *
+     * <p>Only a field declared as a {@link Map} or a {@link Set} has entries that say all there is
+     * to say about them. An element recorded as added to a list could not say where, nor how many
+     * times the list holds it, and the list replayed would quietly differ from the one recorded; a
+     * list is recorded whole, with {@link #journal}.
+     *
+     * <p>Otherwise as {@link #journal}: replayed by {@link #load(File)}, compacted by a full save
+     * once the journal outgrows the file, and a full save instead when {@code file} does not
+     * exist yet.
+     *
+     * @param key     the key of a map or collection field, as {@link #declaredKeys()} names it
+     * @param entries the map keys or elements that changed since the last save or journal record
+     * @throws IOException              If there's an error writing the journal or, when compacting, the file.
+     * @throws IllegalArgumentException If {@code key} is not one this class declares, or its field
+     *                                  is not declared as a map or a set.
+     */
+    public void journalEntries(final @NotNull File file, final @NotNull String key, final @NotNull Object... entries)
+            throws IOException {
+        Schema schema = Schema.of(this.getClass());
+        Field field = journaledField(schema, key);
+        if (!Map.class.isAssignableFrom(field.getType()) && !Set.class.isAssignableFrom(field.getType())) {
+            throw new IllegalArgumentException("'" + key + "' of " + this.getClass().getSimpleName()
+                                               + " is not declared as a map or a set; record it whole with journal()");
+        }
+        if (!file.exists()) {
+            save(file);
+            return;
+        }
+
+        Object value = journaledValue(field);
+        List<Map<Object, Object>> changes = new ArrayList<>(entries.length);
+        if (value instanceof Map<?, ?> map) {
+            for (Object entry : entries) {
+                changes.add(map.containsKey(entry) ? Journal.put(key, entry, map.get(entry)) : Journal.remove(key, entry));
+            }
+        }
+        else if (value instanceof Set<?> set) {
+            for (Object entry : entries) {
+                changes.add(set.contains(entry) ? Journal.add(key, entry) : Journal.remove(key, entry));
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        String text;
+        YamlWrapper yaml = WrapperPool.borrow();
+        try {
+            text = new YamlWriter(yaml, schema.naming).writeList(changes);
+        } finally {
+            WrapperPool.release(yaml);
+        }
+        appendToJournal(file, text);
+    }
+
+    /** What the field declaring {@code key} holds now, for a journal record. */
+    private @Nullable Object journaledValue(final @NotNull Schema schema, final @NotNull String key) throws IOException {
+        return journaledValue(journaledField(schema, key));
+    }
+
+    private @Nullable Object journaledValue(final @NotNull Field field) throws IOException {
+        try {
+            return field.get(this);
+        }
+        catch (IllegalAccessException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /** The field declaring {@code key}, for a journal record. */
+    private @NotNull Field journaledField(final @NotNull Schema schema, final @NotNull String key) {
+        for (int i = 0; i < schema.size(); i++) {
+            if (schema.key(i).equals(key)) {
+                return schema.fields.get(i);
+            }
+        }
+        throw new IllegalArgumentException("'" + key + "' is not a key of " + this.getClass().getSimpleName()
+                                           + "; it declares " + declaredKeys());
+    }
+
+    /** Append {@code record} to the journal of {@code file}, and compact it when that is due. */
+    private void appendToJournal(final @NotNull File file, final @NotNull String record) throws IOException {
+        File journal = Journal.of(file);
+        Journal.append(journal, record);
+        if (Journal.isDue(file, journal)) {
+            save(file);
+        }
+    }
+
     // ==================== Field Processing ====================
 
     /**
@@ -321,31 +722,46 @@ public abstract class YamlFileInterface {
         return fields;
     }
 
-    private void readYamlKeyField(
-            Map<String, Object> data, @NotNull Field field, boolean isLenientByDefault, @NotNull Naming naming)
+    /** How many fields a load gave a value, out of what {@link #readYamlKeyField} returned for each. */
+    private static int boundCount(final Object @NotNull [] bound) {
+        int count = 0;
+        for (Object value : bound) {
+            if (value != UNKNOWN) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads one field from {@code data}.
+     *
+     * @return what the field was given, or {@link #UNKNOWN} when it was left as it was
+     */
+    private @Nullable Object readYamlKeyField(Map<String, Object> data, @NotNull Schema schema, int index,
+                                              @NotNull LoadContext context)
             throws FinalAttribute, IllegalAccessException, IOException {
+        Field field = schema.fields.get(index);
         if (Modifier.isFinal(field.getModifiers())) {
             throw new FinalAttribute(field.getName());
         }
 
-        YamlKey annotation = field.getAnnotation(YamlKey.class);
-        String key = keyOf(field, annotation, naming);
-        boolean isLenient = isLenient(annotation.lenient(), isLenientByDefault);
-
-        Object value = getNestedValue(data, key.split("\\."));
+        String key = schema.key(index);
+        Object value = getNestedValue(data, schema.path(index));
         if (value != UNKNOWN) {
-            field.setAccessible(true);
             // Read before the conversion, because the conversion may need it: a
             // record block the file only half fills in takes the rest from what
             // the field already holds.
             Object current = field.get(this);
-            Object converted = convert(key, field, value, naming, isLenient, current);
+            Object converted = convert(key, field, value, new TypeConverter(context, schema.isLenient(index), key), current);
             if (converted == TypeConverter.LENIENT_ENUM_SKIP) {
                 // Lenient mode: bad enum value at top level — leave field at its default
-                return;
+                return UNKNOWN;
             }
             field.set(this, converted);
+            return converted;
         }
+        return UNKNOWN;
     }
 
     /**
@@ -360,11 +776,11 @@ public abstract class YamlFileInterface {
      *                the file does not mention falls back to
      */
     private static Object convert(
-            @NotNull String key, @NotNull Field field, @NotNull Object value, @NotNull Naming naming, boolean isLenient,
+            @NotNull String key, @NotNull Field field, @NotNull Object value, @NotNull TypeConverter converter,
             @Nullable Object current)
             throws IOException {
         try {
-            return new TypeConverter(naming, isLenient).getConvertedValue(field, field.getType(), value, current);
+            return converter.getConvertedValue(field, field.getType(), value, current);
         }
         catch (IOException e) {
             throw new IOException(key + ": " + e.getMessage(), e);
@@ -374,40 +790,18 @@ public abstract class YamlFileInterface {
     // ==================== YAML Building ====================
 
     private @NotNull String buildYamlContents() throws IllegalAccessException, FinalAttribute, DuplicateKey, IOException {
-
-        StringBuilder result = new StringBuilder();
-
-        // Get YAML file header if present
-        Class<?> clazz = this.getClass();
-        YamlFile yamlFileAnnotation = clazz.getAnnotation(YamlFile.class);
-        if (yamlFileAnnotation != null && !yamlFileAnnotation.header().trim().isEmpty()) {
-            appendHeaderComment(result, yamlFileAnnotation.header());
-            result.append("\n");
-        }
-
         // The same walk loading uses, so reading and writing cannot disagree about which
         // fields take part. Reading further than writing would be worse than either alone: an
         // inherited key would be loaded from the file and then left out of what replaces it,
         // so a load-then-save cycle would delete the setting along with whatever the operator
         // had put in it.
-        Naming naming = namingOf(yamlFileAnnotation);
-        NestedMap nestedMap = new NestedMap();
-        for (Field field : yamlKeyFields(clazz)) {
-            if (Modifier.isFinal(field.getModifiers())) {
-                throw new FinalAttribute(field.getName());
-            }
-
-            field.setAccessible(true);
-            Object value = field.get(this);
-            YamlComment comment = field.getAnnotation(YamlComment.class);
-
-            nestedMap.put(keyOf(field, field.getAnnotation(YamlKey.class), naming), comment == null ? null : comment.value(), value);
+        Schema schema = Schema.of(this.getClass());
+        YamlWrapper yaml = WrapperPool.borrow();
+        try {
+            return schema.template().fill(this, schema, new YamlWriter(yaml, schema.naming));
+        } finally {
+            WrapperPool.release(yaml);
         }
-
-        // Convert the nested map to YAML using YamlWriter
-        result.append(new YamlWriter(yaml, naming).write(nestedMap.getMap()));
-
-        return result.toString();
     }
 
     /**
@@ -420,44 +814,35 @@ public abstract class YamlFileInterface {
     }
 
     /** The naming strategy of a config class, falling back to the annotation's own default. */
-    private static @NotNull Naming namingOf(final @Nullable YamlFile annotation) {
+    static @NotNull Naming namingOf(final @Nullable YamlFile annotation) {
         return annotation == null ? Naming.SNAKE_CASE : annotation.naming();
     }
 
-    private void appendHeaderComment(StringBuilder result, String header) {
-        for (String line : header.split("\\r?\\n")) {
-            result.append("# ").append(line.stripTrailing()).append("\n");
-        }
-    }
-
     // ==================== Nested Value Navigation ====================
 
-    private static @Nullable Object getNestedValue(final @NotNull Map<String, Object> map, final @NotNull String[] keys) {
-        return getNestedValue(map, new ArrayList<>(Arrays.asList(keys)));
-    }
-
-    private static @Nullable Object getNestedValue(final @NotNull Map<String, Object> map, final @NotNull List<String> keys) {
-        final String key = keys.remove(0);
+    static @Nullable Object getNestedValue(final @NotNull Map<String, Object> map, final @NotNull String[] keys) {
+        Map<String, Object> current = map;
+        for (int i = 0; ; i++) {
+            if (!current.containsKey(keys[i])) {
+                // Unknown inside the map
+                return UNKNOWN;
+            }
 
-        if (!map.containsKey(key)) {
-            // Unknown inside the map
-            return UNKNOWN;
-        }
+            Object tmp = current.get(keys[i]);
 
-        Object tmp = map.get(key);
+            if (i == keys.length - 1) {
+                // Final element
+                return tmp;
+            }
 
-        if (keys.isEmpty()) {
-            // Final element
-            return tmp;
-        }
+            if (!(tmp instanceof Map)) {
+                // If it's not a map, and we still have deeper to dig --> No clue what that is?!
+                return UNKNOWN;
+            }
 
-        if (!(tmp instanceof Map)) {
-            // If it's not a map, and we still have deeper to dig --> No clue what that is?!
-            return UNKNOWN;
+            // Go deeper...
+            current = (Map<String, Object>) tmp;
         }
-
-        // Go deeper...
-        return getNestedValue((Map<String, Object>) tmp, keys);
     }
 
     // ==================== Plugin Utilities ====================
@@ -473,7 +858,7 @@ public abstract class YamlFileInterface {
             }
 
             // Use reflection to get the getDataFolder method from the plugin
-            Method dataFolderMethod = getDataFolderMethod(plugin);
+            Method dataFolderMethod = PluginReflection.of(plugin).dataFolder();
             Class<?> returnType = dataFolderMethod.getReturnType();
             if (!File.class.isAssignableFrom(returnType)) {
                 throw new IOException("getDataFolder method does not return a File object, but returns: " + returnType.getName() + " instead");
@@ -493,31 +878,10 @@ public abstract class YamlFileInterface {
         }
     }
 
-    private static @NotNull Method getDataFolderMethod(@NotNull Object plugin) throws IOException, NoSuchMethodException {
-        Method getDataFolderMethod = null;
-        Class<?> currentClass = plugin.getClass();
-        while (currentClass != null && getDataFolderMethod == null) {
-            try {
-                getDataFolderMethod = currentClass.getDeclaredMethod("getDataFolder");
-                if (!Modifier.isPublic(getDataFolderMethod.getModifiers())) {
-                    throw new IOException("getDataFolder() method must be public");
-                }
-            } catch (NoSuchMethodException e) {
-                currentClass = currentClass.getSuperclass();
-            }
-        }
-
-        if (getDataFolderMethod == null) {
-            throw new NoSuchMethodException("getDataFolder() method not found in class hierarchy");
-        }
-
-        return getDataFolderMethod;
-    }
-
     // ==================== Utility Methods ====================
 
     @Contract(pure = true)
-    private static boolean isLenient(@NotNull Leniency leniency, boolean isLenientByDefault) {
+    static boolean isLenient(@NotNull Leniency leniency, boolean isLenientByDefault) {
         switch (leniency) {
             case LENIENT:
                 return true;
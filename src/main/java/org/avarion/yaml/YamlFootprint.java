@@ -0,0 +1,74 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An estimate of the heap a config holds on to, per top-level key; or, from {@link #aggregate},
+ * that of every instance of a class together.
+ *
+ * <p>A server with tens of thousands of player files loaded finds out it is short of memory, not
+ * which of its config classes is to blame, nor which key of it. A heap dump says so in the end,
+ * but takes one. This says it from a running server:
+ *
+ * <pre>{@code
+ * for (YamlFootprint footprint : YamlFootprint.aggregate(playerData.values())) {
+ *     logger.info(footprint.configClass().getSimpleName() + ": " + footprint.totalBytes() / 1024 + " KiB in "
+ *                 + footprint.instances() + " files, mostly " + footprint.largestKey());
+ * }
+ * }</pre>
+ *
+ * <p>Each key counts its fields' values and everything they hold — strings, boxes, records,
+ * collections and maps, and what a {@link Lazy} field has yet to convert — sized the way a 64-bit
+ * JVM with compressed references lays them out. Enum constants, cached boxes and the public
+ * constants of a value's class are shared with the rest of the server, and count nothing. A value
+ * held in two places is counted once, under the first that reaches it: within a config, and within
+ * an aggregate across configs, so values {@link YamlFile#intern()} shares count once there.
+ *
+ * <p>An estimate, not a measurement: a list's array or a map's table may have more room than it
+ * needs, and an object of a type this does not know is counted without what it refers to. Take it
+ * while nothing is loading the configs, as it reads their fields.
+ *
+ * @param configClass the class measured
+ * @param instances   how many of its instances were measured
+ * @param keyBytes    the bytes held under each top-level key the class declares, in declaration order
+ * @param otherBytes  the bytes held outside them: the objects themselves, fields without a
+ *                    {@link YamlKey}, and what the library keeps between loads
+ */
+public record YamlFootprint(@NotNull Class<?> configClass, int instances, @NotNull Map<String, Long> keyBytes,
+                            long otherBytes) {
+
+    /** The bytes held altogether. */
+    public long totalBytes() {
+        long total = otherBytes;
+        for (long bytes : keyBytes.values()) {
+            total += bytes;
+        }
+        return total;
+    }
+
+    /** The top-level key holding the most; {@code null} for a class without keys. */
+    public @Nullable String largestKey() {
+        String largest = null;
+        long most = -1;
+        for (Map.Entry<String, Long> entry : keyBytes.entrySet()) {
+            if (entry.getValue() > most) {
+                largest = entry.getKey();
+                most = entry.getValue();
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * One footprint per class among {@code configs}, each adding up all its instances there, the
+     * class holding the most first.
+     */
+    public static @NotNull List<YamlFootprint> aggregate(final @NotNull Collection<? extends YamlFileInterface> configs) {
+        return Footprint.measure(configs);
+    }
+}
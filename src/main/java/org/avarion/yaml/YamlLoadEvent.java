@@ -0,0 +1,112 @@
+package org.avarion.yaml;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+
+/**
+ * One {@link YamlFileInterface#load(File)}, for Flight Recorder: how long it took, and which of
+ * its phases took it.
+ *
+ * <p>A reload that stalls a server tick can be parsing, moving keys, converting values or
+ * waiting on the disk, and a profile of the whole server does not say which. Recorded as
+ * {@code org.avarion.yaml.Load}, with the time of each phase alongside the load's own, so a
+ * recording answers that with the tooling a server is profiled with anyway.
+ *
+ * <p>The same times make up the load's {@link YamlStats}, which are kept whether or not anything
+ * is recording; committing an event nobody records costs nothing more.
+ */
+@Name("org.avarion.yaml.Load")
+@Label("YAML Load")
+@Category({"Avarion", "YAML"})
+@Description("A configuration loaded from a file")
+@StackTrace(false)
+final class YamlLoadEvent extends Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Config Class")
+    Class<?> configClass;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytes;
+
+    @Label("Read Time")
+    @Description("Reading the file from disk")
+    @Timespan
+    long readTime;
+
+    @Label("Parse Time")
+    @Description("Parsing the text into maps and lists")
+    @Timespan
+    long parseTime;
+
+    @Label("Migrate Time")
+    @Description("Migration steps, moved keys and the change journal")
+    @Timespan
+    long migrateTime;
+
+    @Label("Bind Time")
+    @Description("Converting values and setting fields")
+    @Timespan
+    long bindTime;
+
+    @Label("Partial")
+    @Description("Whether only the blocks that changed since the last load were read again")
+    boolean partial;
+
+    @Label("Fields Bound")
+    int fields;
+
+    @Label("Values Converted")
+    @Description("Every value, map key and element converted")
+    long converted;
+
+    @Label("Renames Applied")
+    @Description("Moved keys carried across to where they live now")
+    int renames;
+
+    @Label("Warnings")
+    @Description("Distinct problems the load worked around")
+    int warnings;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    private final transient @NotNull File source;
+    private transient long mark;
+
+    YamlLoadEvent(final @NotNull Class<?> configClass, final @NotNull File file) {
+        this.configClass = configClass;
+        this.file = file.getPath();
+        this.source = file;
+        begin();
+        mark = System.nanoTime();
+    }
+
+    /** The time since the last lap, or since the load began. */
+    long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - mark;
+        mark = now;
+        return elapsed;
+    }
+
+    /** Records the load, when a recording asks for it, and says what it cost. */
+    @NotNull YamlStats finish() {
+        commit();
+        return new YamlStats(configClass, source, partial ? YamlStats.Operation.RELOAD : YamlStats.Operation.LOAD,
+                             bytes, 0, readTime, parseTime, migrateTime, bindTime, 0, 0,
+                             fields, converted, renames, warnings, succeeded);
+    }
+}
@@ -0,0 +1,197 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * The steps that bring a versioned file up to date, one per version.
+ *
+ * <p>{@link YamlRename} and {@link YamlKey#previously()} describe where a key used to be, and
+ * nothing else: they are looked for in every file on every load, for as long as they are
+ * declared, and cannot say what to do with a value that kept its key but changed its meaning. A
+ * versioned file says which layout it was written in, so only the steps it has not had yet are
+ * run — each exactly once, in order — and a file written by the current release skips migration
+ * entirely.
+ *
+ * <pre>{@code
+ * @YamlFile(version = 3)
+ * public class Settings extends YamlFileInterface { ... }
+ *
+ * static {
+ *     YamlMigrations.register(Settings.class, 2, step -> step
+ *             .move("mysql", "database.mysql"));
+ *     YamlMigrations.register(Settings.class, 3, step -> step
+ *             .transform("spawn.radius", radius -> ((Number) radius).intValue() * 2)
+ *             .move("spawn.radius", "spawn.diameter"));
+ * }
+ * }</pre>
+ *
+ * <p>A file without a version is taken to be at version 0, from before versions were kept, and
+ * is given every step. Steps are registered per class; a version no step is registered for
+ * changes nothing about the file but its number.
+ *
+ * @see YamlFile#version()
+ */
+public final class YamlMigrations {
+
+    /**
+     * Per class, the step that reaches each version. Kept with the class, so a plugin that is
+     * unloaded takes its steps along instead of leaving them here.
+     */
+    private static final ClassValue<NavigableMap<Integer, Step>> STEPS = new ClassValue<>() {
+        @Override
+        protected NavigableMap<Integer, Step> computeValue(final @NotNull Class<?> type) {
+            return new ConcurrentSkipListMap<>();
+        }
+    };
+
+    private YamlMigrations() {
+    }
+
+    /**
+     * Registers what it takes to bring a file of {@code type} from {@code version - 1} to
+     * {@code version}.
+     *
+     * @param version the version this step reaches; the first step reaches 1
+     * @param step    fills in the step's operations, which run in the order they are given
+     * @throws IllegalArgumentException If {@code version} is not positive, or already has a step.
+     */
+    public static void register(final @NotNull Class<? extends YamlFileInterface> type, final int version,
+                                final @NotNull Consumer<Step> step) {
+        if (version <= 0) {
+            throw new IllegalArgumentException("A migration step reaches version 1 or later, not " + version);
+        }
+        Step operations = new Step();
+        step.accept(operations);
+        if (STEPS.get(type).putIfAbsent(version, operations) != null) {
+            throw new IllegalArgumentException(type.getSimpleName() + " already has a step to version " + version);
+        }
+    }
+
+    /**
+     * The operations that bring a file up one version: moves of a key to another, and changes to
+     * the value under a key, in the order they were given.
+     *
+     * <p>Both work on the file as it was read, before any field sees it, so a value is what the
+     * YAML parser made of it — a {@code String}, a number, a {@code Map}, a {@code List} — not
+     * what the field will turn it into.
+     */
+    public static final class Step {
+        private final List<Consumer<Context>> operations = new ArrayList<>();
+
+        Step() {
+        }
+
+        /**
+         * Moves whatever is under {@code from} to {@code to}, exactly as a {@link YamlRename} would,
+         * including what happens when the file has both.
+         */
+        public @NotNull Step move(final @NotNull String from, final @NotNull String to) {
+            operations.add(context -> KeyRenames.move(context.data, from, to, context.moved, context.load));
+            return this;
+        }
+
+        /**
+         * Replaces the value under {@code key} with what {@code change} makes of it. A key the file
+         * does not have, or leaves empty, is not passed in. Returning {@code null} takes the key out.
+         */
+        public @NotNull Step transform(final @NotNull String key, final @NotNull UnaryOperator<Object> change) {
+            String[] path = key.trim().split("\\.");
+            operations.add(context -> {
+                Object value = YamlFileInterface.getNestedValue(context.data, path);
+                if (value != null && value != YamlFileInterface.UNKNOWN) {
+                    KeyRenames.replace(context.data, path, change.apply(value));
+                }
+            });
+            return this;
+        }
+    }
+
+    /** What the operations of a step work on, and the load they are part of. */
+    private record Context(@NotNull Map<String, Object> data, @NotNull Map<String, String> moved,
+                           @NotNull LoadContext load) {
+    }
+
+    // ==================== Running the steps ====================
+
+    /**
+     * The version {@code data} says it is at: 0 when it does not say, or says something that is
+     * not a version.
+     */
+    static int versionOf(final @NotNull Map<String, Object> data, final @NotNull Schema schema,
+                         final @NotNull LoadContext context) {
+        Object stored = YamlFileInterface.getNestedValue(data, schema.versionPath);
+        if (stored == YamlFileInterface.UNKNOWN || stored == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(stored.toString().trim());
+        } catch (NumberFormatException e) {
+            context.warn(YamlWarning.Kind.BAD_VERSION, schema.versionKey, stored, null, null);
+            return 0;
+        }
+    }
+
+    /**
+     * Bring {@code data} to the keys of today, in place: the steps it has not had, oldest first,
+     * then the moves {@code schema} declares. A versioned file that is already at the version of
+     * the class has had them all, and is not looked at; one from a newer release is left alone too,
+     * since nothing here knows what that release changed.
+     *
+     * @param moved where each key that moved is recorded, old path to new
+     * @return the version {@code data} says it is at; 0 for a class that keeps no versions
+     * @throws IOException If a step fails.
+     */
+    static int bringUpToDate(final @NotNull Map<String, Object> data, final @NotNull Class<?> type,
+                             final @NotNull Schema schema, final @NotNull Map<String, String> moved,
+                             final @NotNull LoadContext context)
+            throws IOException {
+        if (schema.version == 0) {
+            moved.putAll(schema.renames.applyTo(data, context));
+            return 0;
+        }
+
+        int from = versionOf(data, schema, context);
+        if (from == schema.version) {
+            return from;
+        }
+        if (from > schema.version) {
+            context.warn(YamlWarning.Kind.NEWER_VERSION, schema.versionKey, from, schema.version, null);
+            return from;
+        }
+
+        upgrade(data, type, from, schema.version, moved, context);
+        moved.putAll(schema.renames.applyTo(data, context));
+        return from;
+    }
+
+    /**
+     * Run every step of {@code type} above {@code from} up to and including {@code to}, oldest
+     * first, over {@code data} in place.
+     *
+     * @param moved where each key that moved is recorded, old path to new
+     * @throws IOException If a step fails; the message names the version it was reaching.
+     */
+    static void upgrade(final @NotNull Map<String, Object> data, final @NotNull Class<?> type, final int from,
+                        final int to, final @NotNull Map<String, String> moved, final @NotNull LoadContext load)
+            throws IOException {
+        Context context = new Context(data, moved, load);
+        for (Map.Entry<Integer, Step> step : STEPS.get(type).subMap(from, false, to, true).entrySet()) {
+            try {
+                for (Consumer<Context> operation : step.getValue().operations) {
+                    operation.accept(context);
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Migrating to version " + step.getKey() + " failed: " + e.getMessage(), e);
+            }
+        }
+    }
+}
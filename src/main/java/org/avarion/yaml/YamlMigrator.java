@@ -0,0 +1,298 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Constructor;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Moves every file in a folder to the keys its class declares today, in one go, instead of one
+ * file at a time as they happen to be loaded.
+ *
+ * <p>{@link YamlRename} and {@link YamlKey#previously()} migrate a file when it is loaded and
+ * then saved. For a config file that is the first start after an upgrade. For a folder of player
+ * files it is whenever each player next shows up, so files of players who stopped showing up
+ * years ago carry the old keys forever, and every declaration has to stay in the class for their
+ * sake. Running this once after an upgrade moves them all; the declarations can then be dropped
+ * on the schedule of the code rather than of the players.
+ *
+ * <p>A file that needs a move has it made on the file as parsed, the way a load would make it
+ * before any field sees the file, and is written back from that — not from the fields. So a key
+ * no field claims is kept, and a value the class cannot read is kept as it was written instead of
+ * being dropped or bent to fit, for a person to put right. What is lost is the file's layout: its
+ * comments, quotes and blank lines. It is written through a temporary file beside it that then
+ * replaces it in one step: a crash halfway leaves the old file or the new one, never half of
+ * each. A file that needs nothing is not written at all.
+ *
+ * <p>Also runs from the command line, with the plugin and this library on the class path:
+ *
+ * <pre>{@code
+ * java -cp MyPlugin.jar org.avarion.yaml.YamlMigrator com.example.PlayerData plugins/MyPlugin/players [threads]
+ * }</pre>
+ */
+public final class YamlMigrator {
+
+    private YamlMigrator() {
+    }
+
+    /**
+     * What a migration did, file by file.
+     *
+     * @param migrated  every file that was moved to the current keys, with what moved where as
+     *                  {@link YamlFileInterface#renamesApplied()} reports it; a versioned file that
+     *                  was behind is here even when none of its steps moved a key
+     * @param unchanged every file that already used the current keys, and was left alone
+     * @param failures  every file that could not be migrated, with the reason why; each is still
+     *                  as it was
+     * @param elapsed   how long the whole migration took
+     */
+    public record Summary(@NotNull Map<Path, Map<String, String>> migrated, @NotNull List<Path> unchanged,
+                          @NotNull Map<Path, Exception> failures, @NotNull Duration elapsed) {
+
+        /** One line for a log: how many files were migrated, left alone and failed. */
+        public @NotNull String summary() {
+            return String.format("%d migrated, %d already up to date, %d failed, in %d ms",
+                                 migrated.size(), unchanged.size(), failures.size(), elapsed.toMillis());
+        }
+    }
+
+    /**
+     * Migrates every {@code .yml} and {@code .yaml} file directly inside {@code folder}, using as
+     * many workers as there are processors.
+     *
+     * @see #migrate(Path, Supplier, int)
+     */
+    public static @NotNull Summary migrate(final @NotNull Path folder,
+                                           final @NotNull Supplier<? extends YamlFileInterface> factory)
+            throws IOException {
+        return migrate(folder, factory, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Migrates every {@code .yml} and {@code .yaml} file directly inside {@code folder}: each one
+     * with a key some declaration on the class {@code factory} builds has moved is written back
+     * under the keys of today.
+     *
+     * <p>The warnings a load gives about each move are logged as {@link YamlBatch} logs them, with
+     * the file's name in front.
+     *
+     * @param parallelism how many files may be migrating at the same time
+     * @throws IOException              If {@code folder} cannot be listed. A file that cannot be
+     *                                  migrated is a {@link Summary#failures() failure}, not this.
+     * @throws IllegalArgumentException If {@code parallelism} is not positive.
+     */
+    public static @NotNull Summary migrate(final @NotNull Path folder,
+                                           final @NotNull Supplier<? extends YamlFileInterface> factory,
+                                           final int parallelism)
+            throws IOException {
+        Class<? extends YamlFileInterface> type = factory.get().getClass();
+        YamlBatch.Result<Optional<Map<String, String>>> result = YamlBatch.run(
+                YamlBatch.yamlFilesIn(folder), parallelism, (path, warnings) -> migrateOne(path, type, warnings));
+
+        Map<Path, Map<String, String>> migrated = new LinkedHashMap<>();
+        List<Path> unchanged = new ArrayList<>();
+        for (Map.Entry<Path, Optional<Map<String, String>>> file : result.succeeded().entrySet()) {
+            if (file.getValue().isPresent()) {
+                migrated.put(file.getKey(), file.getValue().get());
+            } else {
+                unchanged.add(file.getKey());
+            }
+        }
+        return new Summary(Collections.unmodifiableMap(migrated), Collections.unmodifiableList(unchanged),
+                           result.failures(), result.elapsed());
+    }
+
+    /**
+     * Moves {@code file} to the keys of today as a load would, but on the file as it was parsed
+     * rather than on the fields: what no field claims, and what a lenient load would have dropped
+     * or bent to fit a field, is carried over as it was written.
+     *
+     * @return what moved where; nothing when the file was left as it was
+     */
+    @SuppressWarnings("unchecked")
+    private static @NotNull Optional<Map<String, String>> migrateOne(final @NotNull Path file,
+                                                           final @NotNull Class<? extends YamlFileInterface> type,
+                                                           final @NotNull Consumer<String> warnings)
+            throws IOException {
+        Schema schema = Schema.of(type);
+        LoadContext context = LoadContext.of(schema, warnings);
+        String content = new String(Files.readAllBytes(file));
+        Map<String, String> moved = new LinkedHashMap<>();
+        String migrated;
+        YamlWrapper yaml = WrapperPool.borrow();
+        try {
+            Object parsed = yaml.load(content);
+            if (parsed != null && !(parsed instanceof Map)) {
+                throw new IOException("The file holds no keys, but " + parsed.getClass().getSimpleName());
+            }
+            Map<String, Object> data = parsed == null ? new LinkedHashMap<>() : (Map<String, Object>) parsed;
+
+            int version = YamlMigrations.bringUpToDate(data, type, schema, moved, context);
+            // A versioned file behind the class is rewritten even when its steps moved nothing, so its
+            // version is brought up and the next load skips them.
+            if (moved.isEmpty() && version >= schema.version) {
+                return Optional.empty();
+            }
+
+            dropEmptied(data, moved.keySet());
+
+            // After the moves, because a record is written with the keys of today; the journal is
+            // folded into what is written, as a save would have.
+            File journal = Journal.of(file.toFile());
+            if (journal.exists()) {
+                Journal.replay(yaml, data, journal, context);
+            }
+            if (schema.version > 0) {
+                data = atVersion(data, schema);
+            }
+            migrated = new YamlWriter(yaml, schema.naming).write((Map<Object, Object>) (Map<?, ?>) data);
+        } finally {
+            WrapperPool.release(yaml);
+            context.finish();
+        }
+
+        Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, migrated.getBytes());
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        Files.deleteIfExists(Journal.of(file.toFile()).toPath());
+        return Optional.of(Collections.unmodifiableMap(moved));
+    }
+
+    /**
+     * Takes out every block above {@code from} that a move left empty, deepest first. Nobody wrote
+     * them empty, and a save from the fields would not have written them at all.
+     */
+    @SuppressWarnings("unchecked")
+    private static void dropEmptied(final @NotNull Map<String, Object> data, final @NotNull Set<String> from) {
+        for (String path : from) {
+            String[] parts = path.trim().split("\\.");
+            for (int depth = parts.length - 1; depth > 0; depth--) {
+                Object block = YamlFileInterface.getNestedValue(data, Arrays.copyOf(parts, depth));
+                if (!(block instanceof Map<?, ?> map) || !map.isEmpty()) {
+                    break;
+                }
+                Object parent = depth == 1 ? data : YamlFileInterface.getNestedValue(data, Arrays.copyOf(parts, depth - 1));
+                ((Map<String, Object>) parent).remove(parts[depth - 1]);
+            }
+        }
+    }
+
+    /**
+     * {@code data} saying it is at the version of the class. A file that did not say yet gets the
+     * key first, where a save writes it.
+     */
+    private static @NotNull Map<String, Object> atVersion(final @NotNull Map<String, Object> data,
+                                                          final @NotNull Schema schema)
+            throws IOException {
+        if (schema.versionPath.length == 1 && !data.containsKey(schema.versionKey)) {
+            Map<String, Object> versioned = new LinkedHashMap<>();
+            versioned.put(schema.versionKey, schema.version);
+            versioned.putAll(data);
+            return versioned;
+        }
+        if (!KeyRenames.putAt(data, schema.versionPath, schema.version)) {
+            throw new IOException("'" + schema.versionKey + "' holds a value where the version has to go");
+        }
+        return data;
+    }
+
+    // ==================== Command line ====================
+
+    /**
+     * {@code YamlMigrator <config class> <folder> [threads]}: migrate the folder and print what
+     * was done. Exits with 1 when a file failed, 2 when the arguments are wrong.
+     */
+    public static void main(final String @NotNull [] args) {
+        int status = run(args, System.out, System.err);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /** {@link #main}, minus the exit, so what it prints can be checked. */
+    static int run(final String @NotNull [] args, final @NotNull PrintStream out, final @NotNull PrintStream err) {
+        if (args.length < 2 || args.length > 3) {
+            err.println("Usage: YamlMigrator <config class> <folder> [threads]");
+            return 2;
+        }
+
+        Supplier<? extends YamlFileInterface> factory;
+        int parallelism;
+        try {
+            factory = factoryOf(args[0]);
+            parallelism = args.length == 3 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            return 2;
+        }
+
+        Summary summary;
+        try {
+            summary = migrate(Paths.get(args[1]), factory, parallelism);
+        } catch (IOException | IllegalArgumentException e) {
+            err.println("Cannot migrate " + args[1] + ": " + e);
+            return 2;
+        }
+
+        for (Map.Entry<Path, Map<String, String>> file : summary.migrated().entrySet()) {
+            out.println(file.getKey().getFileName() + ": " + file.getValue());
+        }
+        for (Map.Entry<Path, Exception> file : summary.failures().entrySet()) {
+            err.println(file.getKey().getFileName() + ": " + file.getValue().getMessage());
+        }
+        out.println(summary.summary());
+        return summary.failures().isEmpty() ? 0 : 1;
+    }
+
+    /** Something that builds a fresh {@code className} for every file, or why it cannot. */
+    private static @NotNull Supplier<? extends YamlFileInterface> factoryOf(final @NotNull String className) {
+        Constructor<? extends YamlFileInterface> constructor;
+        try {
+            Class<?> type = Class.forName(className, true, Thread.currentThread().getContextClassLoader());
+            if (!YamlFileInterface.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException(className + " does not extend " + YamlFileInterface.class.getSimpleName());
+            }
+            constructor = type.asSubclass(YamlFileInterface.class).getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("No class " + className + " on the class path", e);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(className + " has no constructor without arguments", e);
+        }
+
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create " + className + ": " + e.getMessage(), e);
+            }
+        };
+    }
+}
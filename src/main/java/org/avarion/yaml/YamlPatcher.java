@@ -0,0 +1,152 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.YamlWrapper.Span;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Brings an existing file up to date by rewriting only the entries whose values changed.
+ *
+ * <p>A full save renders the file from the fields, which is also what throws away everything an
+ * operator wrote that no field knows about: their comments, their blank lines, the quotes they
+ * chose. Patching keeps every byte it has no reason to touch. A value that fits on the line it
+ * replaces is swapped in place, so even a comment after it on the same line survives; anything
+ * else has its entry, key line through last nested value, rendered again at the same indentation.
+ *
+ * <p>Which entries changed is decided by value, not by text: the rendered value and the file's
+ * value are both read back through the parser and compared. {@code 'hello'} and {@code hello} are
+ * the same setting, and the operator who quoted it keeps their quotes.
+ *
+ * @see YamlFileInterface#savePatched(java.io.File)
+ */
+final class YamlPatcher {
+
+    private YamlPatcher() {
+    }
+
+    /** One replacement: {@code text} in place of what lies between {@code start} and {@code end}. */
+    private record Edit(int start, int end, @NotNull String text) {
+    }
+
+    /**
+     * {@code content} with every entry of {@code values} that differs from it rewritten, or
+     * {@code null} when that cannot be done without guessing — a key the file does not have
+     * yet, an entry that does not start its own line — and the caller has to save in full.
+     *
+     * @param values each field's key, in declaration order, mapped to what the field holds
+     */
+    @SuppressWarnings("unchecked")
+    static @Nullable String patch(final @NotNull YamlWrapper yaml, final @NotNull YamlWriter writer,
+                                  final @NotNull String content, final @NotNull Map<String, Object> values)
+            throws IOException {
+        // The parser counts code points, a String counts chars. Until a character outside the
+        // basic plane turns up the two agree, and after one they do not.
+        if (content.codePointCount(0, content.length()) != content.length()) {
+            return null;
+        }
+
+        Object parsed = yaml.load(content);
+        Map<String, Span> spans = parsed instanceof Map ? yaml.spans(content) : null;
+        if (spans == null) {
+            return null;
+        }
+
+        List<Edit> edits = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            String key = entry.getKey();
+            Object current = YamlFileInterface.getNestedValue((Map<String, Object>) parsed, key.split("\\."));
+            Span span = spans.get(key);
+            if (current == YamlFileInterface.UNKNOWN || span == null) {
+                return null;
+            }
+
+            int lineStart = content.lastIndexOf('\n', span.keyStart() - 1) + 1;
+            String indent = content.substring(lineStart, span.keyStart());
+            if (!indent.isBlank()) {
+                return null;
+            }
+
+            String leaf = key.substring(key.lastIndexOf('.') + 1);
+            String rendered = writer.writeEntry(leaf, entry.getValue(), indent);
+            Object renderedValue = ((Map<String, Object>) yaml.load(rendered)).get(leaf);
+            if (Objects.equals(renderedValue, current)) {
+                continue;
+            }
+
+            edits.add(editFor(content, span, lineStart, indent + leaf + ": ", rendered));
+        }
+
+        // Back to front, so an edit never moves the offsets of the ones still to be made.
+        edits.sort(Comparator.comparingInt(Edit::start).reversed());
+        StringBuilder result = new StringBuilder(content);
+        for (Edit edit : edits) {
+            result.replace(edit.start(), edit.end(), edit.text());
+        }
+        return result.toString();
+    }
+
+    /**
+     * In place when a one-line value replaces a one-line value, keeping whatever follows it on the
+     * line; the whole entry otherwise.
+     */
+    private static @NotNull Edit editFor(final @NotNull String content, final @NotNull Span span, final int lineStart,
+                                         final @NotNull String prefix, final @NotNull String rendered) {
+        String old = content.substring(span.valueStart(), span.valueEnd());
+        boolean oneLine = rendered.startsWith(prefix) && rendered.indexOf('\n') == rendered.length() - 1;
+        if (oneLine && !old.isEmpty() && old.indexOf('\n') < 0) {
+            return new Edit(span.valueStart(), span.valueEnd(), rendered.substring(prefix.length(), rendered.length() - 1));
+        }
+        return new Edit(lineStart, lineEndFrom(content, span.valueEnd()), rendered);
+    }
+
+    /** Just past the end of the line {@code index} is on; {@code index} itself when it starts one. */
+    private static int lineEndFrom(final @NotNull String content, final int index) {
+        if (index > 0 && content.charAt(index - 1) == '\n') {
+            return index;
+        }
+        int newline = content.indexOf('\n', index);
+        return newline < 0 ? content.length() : newline + 1;
+    }
+
+    /**
+     * Make {@code file}, which holds {@code before}, hold {@code after}.
+     *
+     * <p>The patched text goes to a temporary file beside it first, which is then moved over it
+     * in one step: a crash or a full disk part-way leaves the file as it was, never half old and
+     * half new. The hand-edited files patching exists for are the last ones to risk that on. What
+     * changes is still only the entries that differ; a file they do not differ from is not
+     * written at all.
+     */
+    static void write(final @NotNull File file, final byte @NotNull [] before, final byte @NotNull [] after)
+            throws IOException {
+        if (Arrays.equals(before, after)) {
+            return;
+        }
+
+        Path target = file.toPath().toAbsolutePath();
+        Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, after);
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.avarion.yaml;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+
+/**
+ * One {@link YamlFileInterface#save(File)} or {@link YamlFileInterface#savePatched(File)}, for
+ * Flight Recorder, as {@code org.avarion.yaml.Save}: the time spent turning the fields into text,
+ * and the time spent getting it onto the disk. See {@link YamlLoadEvent}.
+ */
+@Name("org.avarion.yaml.Save")
+@Label("YAML Save")
+@Category({"Avarion", "YAML"})
+@Description("A configuration saved to a file")
+@StackTrace(false)
+final class YamlSaveEvent extends Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Config Class")
+    Class<?> configClass;
+
+    @Label("Bytes Written")
+    @DataAmount
+    long bytes;
+
+    @Label("Render Time")
+    @Description("Turning the fields into text")
+    @Timespan
+    long renderTime;
+
+    @Label("Write Time")
+    @Description("Writing the text to disk")
+    @Timespan
+    long writeTime;
+
+    @Label("Patched")
+    @Description("Whether only the entries that changed were rewritten, by savePatched")
+    boolean patched;
+
+    @Label("Fields")
+    int fields;
+
+    private final transient @NotNull File source;
+    private transient long mark;
+
+    YamlSaveEvent(final @NotNull Class<?> configClass, final @NotNull File file) {
+        this.configClass = configClass;
+        this.file = file.getPath();
+        this.source = file;
+        begin();
+        mark = System.nanoTime();
+    }
+
+    /** As {@link YamlLoadEvent#lap()}. */
+    long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - mark;
+        mark = now;
+        return elapsed;
+    }
+
+    /** As {@link YamlLoadEvent#finish()}. */
+    @NotNull YamlStats finish() {
+        commit();
+        return new YamlStats(configClass, source, patched ? YamlStats.Operation.SAVE_PATCHED : YamlStats.Operation.SAVE,
+                             0, bytes, 0, 0, 0, 0, renderTime, writeTime, fields, 0, 0, 0, true);
+    }
+}
@@ -0,0 +1,103 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+
+/**
+ * What one load or save cost: the bytes it moved, the time each of its phases took, and how much
+ * it converted.
+ *
+ * <p>{@link YamlFileInterface#lastStats()} has it for the last load or save of a config. Every
+ * one is also handed to the listeners added here, on the thread that did the work, which is how a
+ * plugin with thousands of data files gets their cost onto a dashboard:
+ *
+ * <pre>{@code
+ * YamlStats.addListener((config, stats) -> {
+ *     metrics.timer("config." + stats.operation()).record(stats.totalNanos(), TimeUnit.NANOSECONDS);
+ *     metrics.counter("config.bytes").increment(stats.bytesRead() + stats.bytesWritten());
+ * });
+ * }</pre>
+ *
+ * <p>A load is reported whether it succeeds or fails, so a failing file shows up as one; a save
+ * only once it is written. Times that do not apply to an operation are 0: a save reads and parses
+ * nothing.
+ *
+ * @param configClass     the class loaded or saved
+ * @param file            the file it was loaded from or saved to
+ * @param operation       what was done
+ * @param bytesRead       the size of the file as read
+ * @param bytesWritten    the bytes written to the file
+ * @param readNanos       reading the file from disk
+ * @param parseNanos      parsing the text; for a {@link Operation#RELOAD}, part of {@code bindNanos}
+ * @param migrateNanos    migration steps, moved keys and the change journal
+ * @param bindNanos       converting values and setting fields
+ * @param renderNanos     turning the fields into text
+ * @param writeNanos      writing the text to disk
+ * @param fieldsBound     the fields a load gave a value, or the fields a save wrote
+ * @param valuesConverted every value, map key and element a load converted
+ * @param renamesApplied  the moved keys a load carried across, as {@link YamlFileInterface#renamesApplied()}
+ * @param warnings        the distinct problems a load worked around, as {@link YamlFileInterface#warnings()}
+ * @param succeeded       whether the operation completed; only a load is reported when it did not
+ */
+public record YamlStats(@NotNull Class<?> configClass, @NotNull File file, @NotNull Operation operation,
+                        long bytesRead, long bytesWritten,
+                        long readNanos, long parseNanos, long migrateNanos, long bindNanos,
+                        long renderNanos, long writeNanos,
+                        int fieldsBound, long valuesConverted, int renamesApplied, int warnings,
+                        boolean succeeded) {
+
+    /** What a {@link YamlStats} is about. */
+    public enum Operation {
+        /** A load that read the whole file. */
+        LOAD,
+        /** A load that only read the blocks that changed since the last load of the same file. */
+        RELOAD,
+        /** {@link YamlFileInterface#save(File)}, which writes the whole file. */
+        SAVE,
+        /** {@link YamlFileInterface#savePatched(File)}, which rewrites only what changed. */
+        SAVE_PATCHED,
+    }
+
+    /** Told about every load and save, on the thread that did it. */
+    @FunctionalInterface
+    public interface Listener {
+        void onStats(@NotNull YamlFileInterface config, @NotNull YamlStats stats);
+    }
+
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /** The time all phases took together. */
+    public long totalNanos() {
+        return readNanos + parseNanos + migrateNanos + bindNanos + renderNanos + writeNanos;
+    }
+
+    /**
+     * Tells {@code listener} about every load and save from now on, until it is removed.
+     *
+     * <p>It is called on the thread that did the work, right after it, so it should be quick; one
+     * that throws is logged and does not affect the load or save, or the other listeners.
+     */
+    public static void addListener(final @NotNull Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /** Stops telling {@code listener}; returns whether it was being told. */
+    public static boolean removeListener(final @NotNull Listener listener) {
+        return LISTENERS.remove(listener);
+    }
+
+    /** Hands {@code stats} to every listener. */
+    static void publish(final @NotNull YamlFileInterface config, final @NotNull YamlStats stats) {
+        for (Listener listener : LISTENERS) {
+            try {
+                listener.onStats(config, stats);
+            } catch (RuntimeException e) {
+                TypeConverter.LOG.log(Level.WARNING, "A YamlStats listener failed", e);
+            }
+        }
+    }
+}
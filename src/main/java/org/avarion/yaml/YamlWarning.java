@@ -0,0 +1,81 @@
+package org.avarion.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * One problem a load worked around, however many times it came up.
+ *
+ * <p>A lenient file with five thousand misspelled materials in one list is one problem, not five
+ * thousand: it is reported once, with {@link #count()} saying how often it happened, and the
+ * values of its first occurrence. The log gets one line per warning, and
+ * {@link YamlFileInterface#warnings()} hands the list over after the load for a plugin to act on
+ * — a command that lists what is wrong with the config, say.
+ *
+ * @param kind       what went wrong
+ * @param path       the key it went wrong under: the field's key for a value, the old key for a move
+ * @param value      what the file said, the first time it came up
+ * @param detail     what {@link Kind} needs besides {@code value} to say what happened; see there
+ * @param suggestion what was probably meant, when there is a good guess
+ * @param count      how many times it came up under {@code path}
+ */
+public record YamlWarning(@NotNull Kind kind, @NotNull String path, @Nullable String value, @Nullable String detail,
+                          @Nullable String suggestion, int count) {
+
+    /** The problems a load works around rather than fails on. */
+    public enum Kind {
+        /** A value that names no constant of an enum, left out. {@code detail}: the enum's class. */
+        UNKNOWN_ENUM,
+        /** A double that a float cannot hold exactly. {@code detail}: the float it became. */
+        LOSSY_FLOAT,
+        /** A fraction dropped to read a whole number. {@code detail}: the type, and what it became. */
+        DROPPED_FRACTION,
+        /** A string cut to its first character. */
+        TRUNCATED_CHARACTER,
+        /** A moved key whose value was carried to its new key. {@code detail}: the new key. */
+        KEY_MOVED,
+        /** A moved key set under its old and its new key both; the old one is dropped. {@code detail}: the new key. */
+        KEY_CONFLICT,
+        /** A moved key whose new key cannot be made. {@code detail}: the new key. */
+        MOVE_BLOCKED,
+        /** A version that is not a whole number. */
+        BAD_VERSION,
+        /** A file from a newer release, not migrated. {@code detail}: the version of this release. */
+        NEWER_VERSION,
+        /** A journal that ends in a record that cannot be read, which is left out. */
+        JOURNAL_TRUNCATED,
+    }
+
+    /**
+     * What the log says about it: the words of its first occurrence, what was probably meant, and
+     * how many more there were.
+     */
+    public @NotNull String message() {
+        String first = switch (kind) {
+            case UNKNOWN_ENUM -> "Lenient mode: skipping unknown " + detail + " value '" + value + "'";
+            case LOSSY_FLOAT -> "Lenient mode: lossy conversion of double " + value + " to float " + detail;
+            case DROPPED_FRACTION -> "Lenient mode: dropping the fraction of '" + value + "' to read it as " + detail;
+            case TRUNCATED_CHARACTER -> "Lenient mode: truncating String '" + value + "' (length "
+                                        + (value == null ? 0 : value.length()) + ") to first character";
+            case KEY_MOVED -> "'" + path + "' is now '" + detail + "'; your value has been carried across.";
+            case KEY_CONFLICT -> "'" + path + "' is now '" + detail + "', and this file sets both. Using '" + detail
+                                 + "'; the value under '" + path + "' is ignored and will not be kept.";
+            case MOVE_BLOCKED -> "'" + path + "' should have moved to '" + detail + "', but '" + detail
+                                 + "' cannot be created: something on the way to it is a value rather than a section."
+                                 + " Fix that and the move will happen.";
+            case BAD_VERSION -> "'" + path + "' should be a whole number, not '" + value
+                                + "'. Treating this file as unversioned: every migration step is applied to it.";
+            case NEWER_VERSION -> "This file is at version " + value + ", written by a newer release than this one ("
+                                  + detail + "). Nothing in it is migrated.";
+            case JOURNAL_TRUNCATED -> "'" + path + "' ends in a record that cannot be read, and it is left out."
+                                      + " The changes before it are kept; the next save will drop it.";
+        };
+        if (suggestion != null) {
+            first += ". Did you mean " + suggestion + "?";
+        }
+        if (count == 1) {
+            return first;
+        }
+        return first + " (" + (count - 1) + " more like it" + (path.isEmpty() ? "" : " under '" + path + "'") + ")";
+    }
+}
@@ -2,8 +2,27 @@ package org.avarion.yaml;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
+
 public interface YamlWrapper {
     String dump(@Nullable Object data);
 
     Object load(String content);
+
+    /** Every document in {@code content}, in order, parsed one at a time as the caller iterates. */
+    Iterable<Object> loadAll(String content);
+
+    /**
+     * Where every key of {@code content} sits, by dotted path from the root, for as deep as the
+     * document nests in block style. {@code null} when the document is not a mapping at all.
+     */
+    @Nullable Map<String, Span> spans(String content);
+
+    /**
+     * One entry's place in a document, as character offsets: where its key starts, and where its
+     * value starts and ends. For a value written as an indented block the end is that of the last
+     * value inside it, so the comments and blank lines that follow belong to whatever comes next.
+     */
+    record Span(int keyStart, int valueStart, int valueEnd) {
+    }
 }
\ No newline at end of file
@@ -9,9 +9,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.*;
+import java.math.BigInteger;
 import java.util.*;
-import java.util.regex.Matcher;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Pattern;
 
 /**
@@ -25,6 +28,23 @@ class YamlWriter {
     /** Cached at class load: the Bukkit Keyed interface if it's on the classpath, otherwise null. */
     private static final @Nullable Class<?> KEYED_INTERFACE = loadOptional("org.bukkit.Keyed");
 
+    /** {@code key()} of a Keyed value's class, and {@code value()} of the key it returns. */
+    private static final ClassValue<Accessor> KEY_ACCESSORS = Accessor.named("key");
+    private static final ClassValue<Accessor> VALUE_ACCESSORS = Accessor.named("value");
+
+    /**
+     * How a scalar of each class is written. Whether a value is Keyed, an enum, a number or
+     * something only SnakeYAML knows how to write depends on its class alone, so that is decided
+     * once per class instead of once per value: a list of ten thousand numbers is ten thousand
+     * {@code toString()}s, not ten thousand trips through the emitter.
+     */
+    private static final ClassValue<Format> FORMATS = new ClassValue<>() {
+        @Override
+        protected Format computeValue(final @NotNull Class<?> type) {
+            return Format.of(type);
+        }
+    };
+
     private final YamlWrapper yamlWrapper;
 
     /** How keys derived from a record component's name are spelled. */
@@ -49,14 +69,44 @@ class YamlWriter {
         if (keyedClass == null || !keyedClass.isInstance(value)) {
             return null;
         }
-        try {
-            Method getKeyMethod = value.getClass().getMethod("key");
-            Object namespacedKey = getKeyMethod.invoke(value);
-            Method getKeyStringMethod = namespacedKey.getClass().getMethod("value");
-            String key = (String) getKeyStringMethod.invoke(namespacedKey);
-            return key.toUpperCase(Locale.ENGLISH).replace('.', '_');
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-            throw new IOException("Failed to get key from Keyed object", e);
+        return formatKeyed(value);
+    }
+
+    private static @NotNull String formatKeyed(@NotNull Object value) throws IOException {
+        Object namespacedKey = KEY_ACCESSORS.get(value.getClass()).invoke(value);
+        String key = (String) VALUE_ACCESSORS.get(namespacedKey.getClass()).invoke(namespacedKey);
+        return key.toUpperCase(Locale.ENGLISH).replace('.', '_');
+    }
+
+    /**
+     * A public no-argument method of one class, looked up once. A class without it keeps the
+     * reason, so every value of that class fails the way the first one did.
+     */
+    private record Accessor(@Nullable MethodHandle handle, @Nullable ReflectiveOperationException error) {
+        static @NotNull ClassValue<Accessor> named(final @NotNull String name) {
+            return new ClassValue<>() {
+                @Override
+                protected Accessor computeValue(final @NotNull Class<?> type) {
+                    try {
+                        return new Accessor(MethodHandles.lookup().unreflect(type.getMethod(name)), null);
+                    } catch (NoSuchMethodException | IllegalAccessException e) {
+                        return new Accessor(null, e);
+                    }
+                }
+            };
+        }
+
+        Object invoke(final @NotNull Object target) throws IOException {
+            if (handle == null) {
+                throw new IOException("Failed to get key from Keyed object", error);
+            }
+            try {
+                return handle.invoke(target);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IOException("Failed to get key from Keyed object", e);
+            }
         }
     }
 
@@ -69,11 +119,44 @@ class YamlWriter {
         return result.toString();
     }
 
+    /** A list as a document of its own: each item at the left margin, as {@link #write} would nest it there. */
+    String writeList(@NotNull List<?> items) throws IOException {
+        StringBuilder result = new StringBuilder();
+        for (Object item : items) {
+            result.append("- ");
+            writeValue(result, item, "", "  ", false);
+        }
+        return result.toString();
+    }
+
+    /**
+     * One entry on its own, {@code key} at {@code indent} and its value nested below it exactly as
+     * {@link #write} would nest it there.
+     */
+    String writeEntry(@NotNull Object key, @Nullable Object value, @NotNull String indent) throws IOException {
+        StringBuilder result = new StringBuilder();
+        writeMap(result, Collections.singletonMap(key, value), indent, indent, true);
+        return result.toString();
+    }
+
+    /**
+     * The value of an entry whose key, {@code ":\n"} included, already ends {@code yaml}: what
+     * {@link #write} puts after that key, with {@code indent} being the key's own indent plus two.
+     */
+    void writeValueBelow(@NotNull StringBuilder yaml, @Nullable Object value, @NotNull String indent) throws IOException {
+        writeValue(yaml, value, indent, indent, true);
+    }
+
     /**
      * SINGLE DISPATCHER: Decides what type to write (Map, Collection, or scalar)
      * This is the ONLY place where we check the type of a value.
      */
     private void writeValue(StringBuilder yaml, Object value, String firstIndent, String indent, boolean withComments) throws IOException {
+        // A block no one asked for is written as it was read
+        if (value instanceof Lazy<?> lazy) {
+            value = lazy.forWriting();
+        }
+
         // Handle Records: convert to Map for YAML representation
         if (value != null && value.getClass().isRecord()) {
             value = recordToMap(value);
@@ -85,6 +168,9 @@ class YamlWriter {
         else if (value instanceof Collection) {
             writeCollection(yaml, (Collection<?>) value, indent);
         }
+        else if (value != null && value.getClass().isArray()) {
+            writeCollection(yaml, arrayAsList(value), indent);
+        }
         else {
             writeScalar(yaml, value);
         }
@@ -190,6 +276,24 @@ class YamlWriter {
         return result;
     }
 
+    /** An array of any component type, seen as the list it is written as. */
+    private static @NotNull List<?> arrayAsList(final @NotNull Object array) {
+        if (array instanceof Object[] objects) {
+            return Arrays.asList(objects);
+        }
+        return new AbstractList<>() {
+            @Override
+            public Object get(int index) {
+                return Array.get(array, index);
+            }
+
+            @Override
+            public int size() {
+                return Array.getLength(array);
+            }
+        };
+    }
+
     /**
      * Primitive building block: Normalize a collection to a sorted list
      * Converts Sets to Lists, sorting if elements are Comparable
@@ -211,46 +315,135 @@ class YamlWriter {
         if (value==null) {
             return "null";
         }
+        YamlAdapters.Adapter<?> adapter = YamlAdapters.forValue(value.getClass());
+        if (adapter != null) {
+            return yamlWrapper.dump(adapter.encode(value)).trim();
+        }
+        return FORMATS.get(value.getClass()).format(this, value);
+    }
+
+    /**
+     * How the scalars of one class are written. Each comes out exactly as dumping it through
+     * SnakeYAML and tidying the result would have it; the ones that skip the dump are those whose
+     * output can be told in advance.
+     */
+    @FunctionalInterface
+    private interface Format {
+        String format(@NotNull YamlWriter writer, @NotNull Object value) throws IOException;
 
-        String keyed = tryFormatAsKeyed(KEYED_INTERFACE, value);
-        if (keyed != null) {
-            return keyed;
+        static @NotNull Format of(final @NotNull Class<?> type) {
+            if (KEYED_INTERFACE != null && KEYED_INTERFACE.isAssignableFrom(type)) {
+                return (writer, value) -> formatKeyed(value);
+            }
+            if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+                || type == BigInteger.class || type == Boolean.class) {
+                return (writer, value) -> value.toString();
+            }
+            if (type == Double.class || type == Float.class) {
+                return YamlWriter::formatDecimal;
+            }
+            if (type == String.class || type == Character.class) {
+                return (writer, value) -> writer.yamlWrapper.dump(value).trim();
+            }
+            if (Enum.class.isAssignableFrom(type)) {
+                return new EnumFormat(type);
+            }
+            if (type == UUID.class) {
+                return (writer, value) -> withoutTag(writer.yamlWrapper.dump(value).trim());
+            }
+            return new ObjectFormat(type);
         }
+    }
 
-        String yamlContent = yamlWrapper.dump(value).trim();
+    /**
+     * A decimal number as SnakeYAML writes it, when that is its {@code toString()}: a plain
+     * {@code 1.5}. Anything else — an exponent, infinity — is written
+     * with a tag or a spelling of its own, which is the dump's business.
+     */
+    private static @NotNull String formatDecimal(@NotNull YamlWriter writer, @NotNull Object value) {
+        String text = value.toString();
+        if (text.indexOf('.') >= 0 && text.indexOf('E') < 0) {
+            return text;
+        }
+        return writer.yamlWrapper.dump(value).trim();
+    }
+
+    /**
+     * The constants of an enum, each written the first time it is seen: there are only so many,
+     * and one is written the same way every time.
+     */
+    private static final class EnumFormat implements Format {
+        private final AtomicReferenceArray<String> written;
 
-        if (value instanceof Enum || value instanceof UUID) {
-            // Remove the type tag: !!org.avarion.yaml.Material 'A' --> 'A'
-            return yamlContent.replaceAll("^!!\\S+\\s+", "");
+        EnumFormat(final @NotNull Class<?> type) {
+            Class<?> declaring = type.isEnum() ? type : type.getSuperclass();
+            written = new AtomicReferenceArray<>(declaring.getEnumConstants().length);
         }
 
-        // Check for generic toString() pattern and try to find static field name
-        Matcher matcher = GENERIC_TOSTRING_PATTERN.matcher(yamlContent);
-        if (matcher.matches()) {
-            Optional<String> originalName = getStaticFieldName(value);
-            if (originalName.isPresent()) {
-                return originalName.get();
+        @Override
+        public String format(@NotNull YamlWriter writer, @NotNull Object value) {
+            int ordinal = ((Enum<?>) value).ordinal();
+            String text = written.get(ordinal);
+            if (text == null) {
+                // Remove the type tag: !!org.avarion.yaml.Material 'A' --> 'A'
+                text = withoutTag(writer.yamlWrapper.dump(value).trim());
+                written.set(ordinal, text);
             }
+            return text;
         }
-
-        return yamlContent;
     }
 
     /**
-     * Helper: Find the name of a public static field that holds this value.
-     * Caller (formatValue) already guarantees {@code value} is non-null.
+     * Anything else, dumped. A class that does not override {@code toString()} dumps as its
+     * identity hash, which nobody can read back; when the value sits in one of its class's public
+     * static fields, the name of that field is written instead.
      */
-    private static Optional<String> getStaticFieldName(@NotNull Object value) {
-        for (Field field : value.getClass().getDeclaredFields()) {
+    private static final class ObjectFormat implements Format {
+        private final Field @NotNull [] constants;
+
+        ObjectFormat(final @NotNull Class<?> type) {
             // canAccess(null) returns false in exactly the same scenarios get(null) would
             // throw IllegalAccessException, preserving the original "skip the field" semantics.
-            if (Modifier.isStatic(field.getModifiers())
-                    && field.canAccess(null)
-                    && readStatic(field) == value) {
-                return Optional.of(field.getName());
+            constants = Arrays.stream(type.getDeclaredFields())
+                              .filter(field -> Modifier.isStatic(field.getModifiers()) && field.canAccess(null))
+                              .toArray(Field[]::new);
+        }
+
+        @Override
+        public String format(@NotNull YamlWriter writer, @NotNull Object value) {
+            String yamlContent = writer.yamlWrapper.dump(value).trim();
+            if (constants.length > 0 && GENERIC_TOSTRING_PATTERN.matcher(yamlContent).matches()) {
+                for (Field field : constants) {
+                    if (readStatic(field) == value) {
+                        return field.getName();
+                    }
+                }
             }
+            return yamlContent;
+        }
+    }
+
+    /** {@code dumped} without a leading type tag, as {@code ^!!\S+\s+} would strip it. */
+    private static @NotNull String withoutTag(@NotNull String dumped) {
+        if (!dumped.startsWith("!!")) {
+            return dumped;
+        }
+        int end = 2;
+        while (end < dumped.length() && !isSpace(dumped.charAt(end))) {
+            end++;
         }
-        return Optional.empty();
+        if (end == 2 || end == dumped.length()) {
+            return dumped;
+        }
+        while (end < dumped.length() && isSpace(dumped.charAt(end))) {
+            end++;
+        }
+        return dumped.substring(end);
+    }
+
+    /** What {@code \s} matches. */
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
     /** Read a static field whose accessibility was already confirmed via {@link Field#canAccess}.
@@ -263,9 +456,10 @@ class YamlWriter {
     }
 
     /**
-     * Primitive building block: Append a comment with proper indentation
+     * Primitive building block: Append a comment with proper indentation. Also what
+     * {@link SaveTemplate} lays its comments out with, so a full save and a templated one agree.
      */
-    private void appendComment(StringBuilder yaml, @Nullable String comment, String indent) {
+    static void appendComment(StringBuilder yaml, @Nullable String comment, String indent) {
         if (comment==null || comment.isEmpty()) {
             return;
         }
@@ -0,0 +1,160 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.Address;
+import org.avarion.yaml.testClasses.HappyFlow;
+import org.avarion.yaml.testClasses.ParallelClass;
+import org.avarion.yaml.testClasses.RecordMapClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * How much a load, a save and one converted element allocate, held under a budget.
+ *
+ * <p>A server pauses for what the collector has to clean up, so bytes allocated on a hot path
+ * are a cost even when the time taken is not. Each budget is about twice what the path allocated
+ * when it was set: enough room for a JVM to count differently, and little enough that a change
+ * which starts boxing, copying or concatenating per element fails here rather than in production.
+ * Lowering a budget after a path gets cheaper is how it stays that way.
+ *
+ * <p>Measured with {@code com.sun.management.ThreadMXBean}, on the thread doing the work, after
+ * the path has warmed up, taking the least of a few runs. Skipped on a JVM that cannot count.
+ */
+class AllocationBudgetTests extends TestCommon {
+
+    private static final int WARMUP = 30;
+    private static final int RUNS = 5;
+    private static final int ELEMENTS = 10_000;
+
+    // What each path allocated when its budget was set, with SnakeYAML 2, is in its comment. A load
+    // also pays for parsing, which differs between SnakeYAML releases, so it is given more room.
+
+    /** A nine-field file with a header and comments: 56 kB. */
+    private static final long BUDGET_SMALL_LOAD = 150_000;
+    /** The same file, written: 20 kB. */
+    private static final long BUDGET_SMALL_SAVE = 40_000;
+    /** Two maps of two records each, one record nested in another: 105 kB. */
+    private static final long BUDGET_RECORD_LOAD = 250_000;
+    /**
+     * An {@code Integer} that is already an {@code Integer}: 4 bytes, the list's slot for it. One
+     * boxed again costs 16 more, which is the point of this one.
+     */
+    private static final long BUDGET_PER_INTEGER = 16;
+    /** A three-component record read from a map: 2.4 kB. */
+    private static final long BUDGET_PER_RECORD = 5_000;
+    /** A three-component record written under its key: 9.9 kB. */
+    private static final long BUDGET_PER_WRITTEN_RECORD = 20_000;
+
+    @FunctionalInterface
+    private interface Work {
+        void run() throws IOException;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+            && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    /** The fewest bytes {@code work} allocated on this thread in any one of a few warmed-up runs. */
+    private static long allocatedBy(final Work work) throws IOException {
+        com.sun.management.ThreadMXBean bean = threads();
+        for (int i = 0; i < WARMUP; i++) {
+            work.run();
+        }
+        long least = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long before = bean.getCurrentThreadAllocatedBytes();
+            work.run();
+            least = Math.min(least, bean.getCurrentThreadAllocatedBytes() - before);
+        }
+        return least;
+    }
+
+    @BeforeEach
+    void requireAllocationCounting() {
+        assumeTrue(threads() != null, "this JVM does not count allocated bytes per thread");
+    }
+
+    @Test
+    void loadingASmallFile() throws IOException {
+        new HappyFlow().save(target);
+
+        long bytes = allocatedBy(() -> new HappyFlow().load(target));
+
+        assertThat(bytes).isLessThan(BUDGET_SMALL_LOAD);
+    }
+
+    @Test
+    void savingASmallFile() throws IOException {
+        HappyFlow config = new HappyFlow();
+
+        long bytes = allocatedBy(() -> config.save(target));
+
+        assertThat(bytes).isLessThan(BUDGET_SMALL_SAVE);
+    }
+
+    @Test
+    void loadingRecords() throws IOException {
+        new RecordMapClass().save(target);
+
+        long bytes = allocatedBy(() -> new RecordMapClass().load(target));
+
+        assertThat(bytes).isLessThan(BUDGET_RECORD_LOAD);
+    }
+
+    @Test
+    void convertingAnElementOfALargeList() throws IOException, NoSuchFieldException {
+        TypeConverter converter = new TypeConverter(Naming.SNAKE_CASE, false);
+        Type type = ParallelClass.Sequential.class.getField("strict").getGenericType();
+        List<Object> raw = new ArrayList<>();
+        for (int i = 0; i < ELEMENTS; i++) {
+            raw.add(i);
+        }
+
+        long bytes = allocatedBy(() -> converter.convertWithType(type, raw));
+
+        assertThat(bytes / ELEMENTS).isLessThan(BUDGET_PER_INTEGER);
+    }
+
+    @Test
+    void convertingARecordOfALargeMap() throws IOException, NoSuchFieldException {
+        TypeConverter converter = new TypeConverter(Naming.SNAKE_CASE, false);
+        Type type = ParallelClass.Sequential.class.getField("stats").getGenericType();
+        Map<Object, Object> raw = new LinkedHashMap<>();
+        for (int i = 0; i < ELEMENTS; i++) {
+            raw.put("p" + i, Map.of("street", "s" + i, "city", "c", "zip_code", i));
+        }
+
+        long bytes = allocatedBy(() -> converter.convertWithType(type, raw));
+
+        assertThat(bytes / ELEMENTS).isLessThan(BUDGET_PER_RECORD);
+    }
+
+    @Test
+    void writingARecordOfALargeMap() throws IOException {
+        YamlWriter writer = new YamlWriter(YamlWrapperFactory.create(), Naming.SNAKE_CASE);
+        Map<Object, Object> stats = new LinkedHashMap<>();
+        for (int i = 0; i < ELEMENTS; i++) {
+            stats.put("p" + i, new Address("s" + i, "c", i));
+        }
+        Map<Object, Object> root = Map.of("stats", stats);
+
+        long bytes = allocatedBy(() -> writer.write(root));
+
+        assertThat(bytes / ELEMENTS).isLessThan(BUDGET_PER_WRITTEN_RECORD);
+    }
+}
@@ -0,0 +1,139 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.Address;
+import org.avarion.yaml.testClasses.ArrayClass;
+import org.avarion.yaml.testClasses.Material;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Array fields and record components: written as lists, read back into arrays, primitive ones
+ * without a boxed element per number.
+ */
+class ArrayTests extends TestCommon {
+
+    @Test
+    void arraysAreWrittenAsLists() throws IOException {
+        new ArrayClass().save(target);
+
+        assertThat(readFile()).isEqualTo("""
+                heightmap:
+                  - 64
+                  - 65
+                  - 63
+                cooldowns:
+                  - 1700000000000
+                weights:
+                  - 0.5
+                  - 1.25
+                mask:
+                  - 1
+                  - 0
+                  - -1
+                flags:
+                  - true
+                  - false
+                worlds:
+                  - world
+                  - world_nether
+                materials:
+                  - 'A'
+                addresses:
+                  - street: Main St
+                    city: Springfield
+                    zip_code: 12345
+                layout:
+                  name: hotbar
+                  slots:
+                    - 0
+                    - 1
+                    - 2
+                groups:
+                  - - a
+                    - b
+                  - []
+                empty: []
+                """);
+    }
+
+    @Test
+    void andReadBackIntoArrays() throws IOException {
+        writeYaml("""
+                heightmap: [70, 71, 72, 73]
+                cooldowns: [5, 12345678901]
+                weights: [1, 2.5]
+                mask: [127, -128]
+                flags: [yes, false]
+                worlds: [lobby]
+                materials: [b, A]
+                addresses:
+                  - street: High St
+                    city: Shelbyville
+                    zip_code: 54321
+                layout:
+                  name: inventory
+                  slots: [9, 10]
+                groups:
+                  - [x]
+                empty: []
+                """);
+
+        ArrayClass loaded = new ArrayClass().load(target);
+
+        assertThat(loaded.heightmap).containsExactly(70, 71, 72, 73);
+        assertThat(loaded.cooldowns).containsExactly(5L, 12345678901L);
+        assertThat(loaded.weights).containsExactly(1.0, 2.5);
+        assertThat(loaded.mask).containsExactly((byte) 127, (byte) -128);
+        assertThat(loaded.flags).containsExactly(true, false);
+        assertThat(loaded.worlds).containsExactly("lobby");
+        assertThat(loaded.materials).containsExactly(Material.B, Material.A);
+        assertThat(loaded.addresses).containsExactly(new Address("High St", "Shelbyville", 54321));
+        assertThat(loaded.layout.name()).isEqualTo("inventory");
+        assertThat(loaded.layout.slots()).containsExactly(9, 10);
+        assertThat(loaded.groups).hasSize(1);
+        assertThat(loaded.groups[0]).containsExactly("x");
+        assertThat(loaded.empty).isEmpty();
+    }
+
+    @Test
+    void aMissingNumberInAPrimitiveArrayIsAnError() throws IOException {
+        writeYaml("heightmap: [1, null, 3]\n");
+
+        assertThatThrownBy(() -> new ArrayClass().load(target))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("heightmap: Cannot assign null to primitive type int");
+    }
+
+    @Test
+    void anUnknownEnumIsLeftOutLeniently() throws IOException {
+        writeYaml("materials: [A, NOT_A_MATERIAL, B]\n");
+
+        ArrayClass loaded = new ArrayClass().load(target);
+
+        assertThat(loaded.materials).containsExactly(Material.A, Material.B);
+        assertThat(logs).hasSize(1);
+    }
+
+    @Test
+    void aSingleValueBecomesAnArrayOfOneLeniently() throws IOException {
+        writeYaml("heightmap: 80\nworlds: lobby\n");
+
+        ArrayClass loaded = new ArrayClass().load(target);
+
+        assertThat(loaded.heightmap).containsExactly(80);
+        assertThat(loaded.worlds).containsExactly("lobby");
+    }
+
+    @Test
+    void aQuotedNumberFitsAPrimitiveArray() throws IOException {
+        writeYaml("cooldowns: [1, '2']\n");
+
+        ArrayClass loaded = new ArrayClass().load(target);
+
+        assertThat(loaded.cooldowns).containsExactly(1L, 2L);
+    }
+}
@@ -0,0 +1,113 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.CollectionTargetClass;
+import org.avarion.yaml.testClasses.Material;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A field declared as an {@code EnumSet}, a {@code TreeMap}, a {@code ConcurrentMap}, ... is
+ * loaded into one, rather than into a list or a linked map it cannot hold.
+ */
+class CollectionTargetTests extends TestCommon {
+
+    @Test
+    void eachFieldGetsTheKindItDeclares() throws IOException {
+        writeYaml("""
+                enabled: [c, A]
+                prices:
+                  C: 3
+                  A: 1
+                names: [pear, apple]
+                ranks: [3, 1, 2]
+                levels:
+                  10: ten
+                  2: two
+                aliases:
+                  tp: teleport
+                  gm: gamemode
+                online:
+                  steve: 3
+                history: [first, second]
+                tags: [x, y]
+                """);
+
+        CollectionTargetClass loaded = new CollectionTargetClass().load(target);
+
+        assertThat(loaded.enabled).isInstanceOf(EnumSet.class).containsExactly(Material.A, Material.C);
+        assertThat(loaded.prices).isInstanceOf(EnumMap.class);
+        assertThat(loaded.prices.keySet()).containsExactly(Material.A, Material.C);
+        assertThat(loaded.names).isInstanceOf(TreeSet.class).containsExactly("apple", "pear");
+        assertThat(loaded.ranks).containsExactly(1, 2, 3);
+        assertThat(loaded.levels.keySet()).containsExactly(2, 10);
+        assertThat(loaded.aliases).isInstanceOf(TreeMap.class);
+        assertThat(loaded.aliases.firstKey()).isEqualTo("gm");
+        assertThat(loaded.online).isInstanceOf(ConcurrentHashMap.class).containsEntry("steve", 3);
+        assertThat(loaded.history).containsExactly("first", "second");
+        assertThat(loaded.tags).isInstanceOf(ArrayList.class).containsExactly("x", "y");
+    }
+
+    @Test
+    void andAreSavedLikeAnyOtherCollection() throws IOException {
+        CollectionTargetClass config = new CollectionTargetClass();
+        config.ranks.addAll(List.of(5, 4));
+        config.save(target);
+
+        CollectionTargetClass loaded = new CollectionTargetClass().load(target);
+
+        assertThat(loaded.enabled).containsExactly(Material.A);
+        assertThat(loaded.prices).containsExactly(Map.entry(Material.B, 10));
+        assertThat(loaded.names).containsExactly("a", "b");
+        assertThat(loaded.ranks).containsExactly(4, 5);
+    }
+
+    @Test
+    void anUnknownEnumIsLeftOutOfAnEnumSetLeniently() throws IOException {
+        writeYaml("enabled: [A, NOT_A_MATERIAL]\n");
+
+        CollectionTargetClass loaded = new CollectionTargetClass().load(target);
+
+        assertThat(loaded.enabled).containsExactly(Material.A);
+        assertThat(logs).hasSize(1);
+    }
+
+    @Test
+    void aNullInASortedSetIsAnError() throws IOException {
+        writeYaml("names: [a, null]\n");
+
+        assertThatThrownBy(() -> new CollectionTargetClass().load(target))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("SortedSet cannot hold null");
+    }
+
+    @Test
+    void aNullValueInAConcurrentMapIsAnError() throws IOException {
+        writeYaml("online:\n  steve: null\n");
+
+        assertThatThrownBy(() -> new CollectionTargetClass().load(target))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("ConcurrentMap cannot hold null");
+    }
+
+    @Test
+    void theFactoryFollowsTheDeclaredType() throws IOException {
+        assertThat(TypeConverter.createCollectionInstance(Collection.class)).isInstanceOf(ArrayList.class);
+        assertThat(TypeConverter.createCollectionInstance(HashSet.class)).isInstanceOf(LinkedHashSet.class);
+        assertThat(TypeConverter.createCollectionInstance(Deque.class)).isInstanceOf(ArrayDeque.class);
+        assertThat(TypeConverter.createCollectionInstance(NavigableSet.class)).isInstanceOf(TreeSet.class);
+        assertThat(TypeConverter.createCollectionInstance(EnumSet.class, Material.class, 0)).isInstanceOf(EnumSet.class);
+
+        assertThatThrownBy(() -> TypeConverter.createCollectionInstance(EnumSet.class, String.class, 0))
+                .isInstanceOf(IOException.class)
+                .hasMessage("EnumSet needs an enum type to hold, not String");
+        assertThatThrownBy(() -> TypeConverter.createCollectionInstance(Stack.class))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unsupported collection type: Stack");
+    }
+}
@@ -0,0 +1,115 @@
+package org.avarion.yaml;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.avarion.yaml.testClasses.HappyFlow;
+import org.avarion.yaml.testClasses.ListMaterial;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link YamlLoadEvent} and {@link YamlSaveEvent}: a load and a save show up in a Flight Recorder
+ * recording, with what they read and wrote and how long each phase took.
+ */
+class FlightRecorderTests extends TestCommon {
+
+    @FunctionalInterface
+    private interface Work {
+        void run() throws IOException;
+    }
+
+    private static List<RecordedEvent> recorded(final String eventName, final Work work) throws IOException {
+        Path dump = Files.createTempFile("yaml", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(java.time.Duration.ZERO);
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @Test
+    void aLoadIsRecordedWithItsPhases() throws IOException {
+        writeYaml("materials:\n  - A\n  - NOPE\n  - B\nenum: C\n");
+
+        List<RecordedEvent> events = recorded("org.avarion.yaml.Load", () -> new ListMaterial().load(target));
+
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getString("file")).isEqualTo(target.getPath());
+        assertThat(event.getClass("configClass").getName()).isEqualTo(ListMaterial.class.getName());
+        assertThat(event.getLong("bytes")).isEqualTo(Files.size(target.toPath()));
+        assertThat(event.getInt("fields")).isEqualTo(2);
+        assertThat(event.getInt("warnings")).isEqualTo(1);
+        assertThat(event.getBoolean("partial")).isFalse();
+        assertThat(event.getBoolean("succeeded")).isTrue();
+        assertThat(event.getDuration("parseTime").toNanos()).isPositive();
+        assertThat(event.getDuration("bindTime").toNanos()).isPositive();
+    }
+
+    @Test
+    void aReloadOfChangedBlocksIsMarkedPartial() throws IOException {
+        writeYaml("materials:\n  - A\nenum: C\n");
+        ListMaterial config = new ListMaterial().load(target);
+        writeYaml("materials:\n  - B\nenum: C\n");
+
+        List<RecordedEvent> events = recorded("org.avarion.yaml.Load", () -> config.load(target));
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getBoolean("partial")).isTrue();
+        assertThat(events.get(0).getInt("fields")).isEqualTo(2);
+    }
+
+    @Test
+    void aFailedLoadIsRecordedAsSuch() throws IOException {
+        writeYaml("age: not a number\n");
+
+        List<RecordedEvent> events = recorded("org.avarion.yaml.Load", () -> {
+            try {
+                new HappyFlow().load(target);
+            } catch (IOException expected) {
+                // The load failing is what is being recorded.
+            }
+        });
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getBoolean("succeeded")).isFalse();
+    }
+
+    @Test
+    void aSaveIsRecordedWithWhatItWrote() throws IOException {
+        List<RecordedEvent> events = recorded("org.avarion.yaml.Save", () -> new HappyFlow().save(target));
+
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getString("file")).isEqualTo(target.getAbsolutePath());
+        assertThat(event.getLong("bytes")).isEqualTo(Files.size(target.toPath()));
+        assertThat(event.getInt("fields")).isEqualTo(9);
+        assertThat(event.getBoolean("patched")).isFalse();
+        assertThat(event.getDuration("renderTime").toNanos()).isPositive();
+    }
+
+    @Test
+    void aPatchedSaveIsMarkedPatched() throws IOException {
+        HappyFlow config = new HappyFlow();
+        config.save(target);
+        config.age = 31;
+
+        List<RecordedEvent> events = recorded("org.avarion.yaml.Save", () -> config.savePatched(target));
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getBoolean("patched")).isTrue();
+        assertThat(events.get(0).getLong("bytes")).isEqualTo(Files.size(target.toPath()));
+    }
+}
@@ -0,0 +1,100 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.ImmutableCollectionsClass;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link YamlFile#immutableCollections()}: a load leaves the plain collections and maps it fills
+ * unmodifiable, in the order the file has them.
+ */
+class ImmutableCollectionsTests extends TestCommon {
+
+    @Test
+    void plainCollectionsCannotBeChanged() throws IOException {
+        writeYaml("""
+                worlds: [lobby, survival]
+                ranks: [vip, admin, guest]
+                limits:
+                  homes: [1, 3]
+                  warps: [2]
+                names: [pear, apple]
+                history: [first]
+                """);
+
+        ImmutableCollectionsClass loaded = new ImmutableCollectionsClass().load(target);
+
+        assertThat(loaded.worlds).containsExactly("lobby", "survival");
+        assertThat(loaded.ranks).containsExactly("vip", "admin", "guest");
+        assertThat(loaded.limits.keySet()).containsExactly("homes", "warps");
+        assertThat(loaded.names).containsExactly("apple", "pear");
+
+        assertThatThrownBy(() -> loaded.worlds.add("nether")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> loaded.ranks.remove("vip")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> loaded.limits.put("kits", List.of())).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> loaded.limits.get("homes").set(0, 5)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> loaded.names.add("fig")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void aFieldDeclaredAsAClassKeepsItsClass() throws IOException {
+        writeYaml("history: [first]\n");
+
+        ImmutableCollectionsClass loaded = new ImmutableCollectionsClass().load(target);
+        loaded.history.add("second");
+
+        assertThat(loaded.history).isInstanceOf(ArrayList.class).containsExactly("first", "second");
+    }
+
+    @Test
+    void aListWithANullIsStillRead() throws IOException {
+        writeYaml("worlds: [lobby, null]\n");
+
+        ImmutableCollectionsClass loaded = new ImmutableCollectionsClass().load(target);
+
+        assertThat(loaded.worlds).isEqualTo(Arrays.asList("lobby", null));
+        assertThatThrownBy(() -> loaded.worlds.add("nether")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> loaded.worlds.set(1, "nether")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void aListTakesNoMoreThanItsElements() throws IOException {
+        writeYaml("worlds: [lobby, survival, nether, end, creative]\n");
+
+        ImmutableCollectionsClass loaded = new ImmutableCollectionsClass().load(target);
+
+        assertThat(loaded.worlds).isEqualTo(List.of("lobby", "survival", "nether", "end", "creative"));
+        assertThat(loaded.worlds.getClass()).isEqualTo(List.of("a", "b", "c").getClass());
+        assertThatThrownBy(() -> loaded.worlds.set(0, "hub")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void andSavesTheSameAsAMutableOne() throws IOException {
+        writeYaml("""
+                worlds:
+                  - lobby
+                ranks:
+                  - vip
+                limits:
+                  homes:
+                    - 1
+                names:
+                  - apple
+                history:
+                  - first
+                """);
+
+        ImmutableCollectionsClass loaded = new ImmutableCollectionsClass().load(target);
+        String written = readFile();
+        loaded.save(target);
+
+        assertThat(readFile()).isEqualTo(written);
+    }
+}
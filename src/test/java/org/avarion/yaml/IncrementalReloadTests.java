@@ -0,0 +1,201 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.DataFileClass;
+import org.avarion.yaml.testClasses.ImmutableCollectionsClass;
+import org.avarion.yaml.testClasses.SimpleMapClass;
+import org.avarion.yaml.testClasses.VersionedClass;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loading a file again after an edit to part of it.
+ *
+ * <p>Only the top-level blocks whose text changed are read again; every other field gets back
+ * the very object the last load gave it, when nothing can have changed that object since. Whether that happened is visible from the outside as
+ * identity: a block that was read again produces a new map, one that was not hands back the old.
+ * What must never be visible is the result itself — it has to be what a full load would give.
+ */
+class IncrementalReloadTests extends TestCommon {
+
+    private static final String DATA = """
+            # Player data, written by the plugin.
+            players:
+              alice: 10
+              bob: 20
+            regions:
+              spawn: 0,64,0
+            meta:
+              version: 3
+              owner: alice
+            """;
+
+    @Test
+    void anUnchangedBlockIsNotReadAgain() throws IOException {
+        writeYaml(DATA);
+        DataFileClass data = new DataFileClass().load(target);
+        Object players = data.players;
+        Object regions = data.regions;
+
+        replaceInTarget("spawn: 0,64,0", "spawn: 10,64,10");
+        data.load(target);
+
+        assertThat(data.players).isSameAs(players);
+        assertThat(data.regions).isNotSameAs(regions).containsEntry("spawn", "10,64,10");
+        assertThat(data.version).isEqualTo(3);
+    }
+
+    @Test
+    void aFieldOfAnUnchangedBlockIsStillResetToWhatTheFileSays() throws IOException {
+        writeYaml(DATA);
+        DataFileClass data = new DataFileClass().load(target);
+
+        data.version = 99;
+        data.load(target);
+
+        assertThat(data.version).isEqualTo(3);
+    }
+
+    @Test
+    void aCollectionTheProgramCanChangeIsReadAgainFromAnUnchangedBlock() throws IOException {
+        writeYaml("worlds:\n  - world\nranks:\n  - admin\nhistory:\n  - joined\n");
+        ImmutableCollectionsClass config = new ImmutableCollectionsClass().load(target);
+        Object ranks = config.ranks;
+        config.history.add("left");
+
+        replaceInTarget("- world", "- nether");
+        config.load(target);
+
+        assertThat(config.worlds).isEqualTo(List.of("nether"));
+        assertThat(config.ranks).isSameAs(ranks);
+        assertThat(config.history).as("an ArrayList field stays one a program can change").isEqualTo(List.of("joined"));
+    }
+
+    @Test
+    void aMapChangedInPlaceIsWhatTheFileSaysAfterAReload() throws IOException {
+        new SimpleMapClass().save(target);
+        SimpleMapClass config = new SimpleMapClass().load(target);
+        Map<String, Map<String, Object>> before = new LinkedHashMap<>(config.nestedMap);
+        config.nestedMap.remove("outer1");
+
+        replaceInTarget("score: 95", "score: 96");
+        config.load(target);
+
+        assertThat(config.nestedMap.keySet()).isEqualTo(before.keySet());
+        assertThat(config.nestedMap.get("outer1")).isEqualTo(before.get("outer1"));
+        assertThat(config.nestedIntegerMap.get("player1").get("score")).isEqualTo(96);
+    }
+
+    @Test
+    void aNestedKeyIsReadAgainWithItsBlock() throws IOException {
+        writeYaml(DATA);
+        DataFileClass data = new DataFileClass().load(target);
+        Object players = data.players;
+
+        replaceInTarget("owner: alice", "owner: bob");
+        data.load(target);
+
+        assertThat(data.owner).isEqualTo("bob");
+        assertThat(data.version).isEqualTo(3);
+        assertThat(data.players).isSameAs(players);
+    }
+
+    @Test
+    void aKeyNoFieldClaimsMeansAFullLoad() throws IOException {
+        writeYaml(DATA);
+        DataFileClass data = new DataFileClass().load(target);
+        Object players = data.players;
+
+        replaceInTarget("regions:", "zones:");
+        data.load(target);
+
+        assertThat(data.players).isNotSameAs(players);
+        assertThat(data.regions).as("the old block was moved, as a full load would").containsKey("spawn");
+        assertThat(data.renamesApplied()).containsEntry("zones", "regions");
+    }
+
+    @Test
+    void anEditToAFileThatWasMigratedIsMigratedToo() throws IOException {
+        writeYaml("""
+                config-version: 1
+                database:
+                  mysql:
+                    host: db.example.com
+                spawn:
+                  radius: 7
+                """);
+        VersionedClass config = new VersionedClass().load(target);
+        assertThat(config.diameter).isEqualTo(14);
+
+        replaceInTarget("radius: 7", "radius: 9");
+        config.load(target);
+
+        assertThat(config.diameter).as("step 2 doubled the edited radius, as a full load would").isEqualTo(18);
+        assertThat(config.renamesApplied()).containsOnlyKeys("spawn.radius");
+    }
+
+    @Test
+    void aReloadReportsItsOwnMovesAndVersionNotThoseOfAnEarlierLoad() throws IOException {
+        writeYaml("""
+                config-version: 1
+                spawn:
+                  radius: 7
+                """);
+        VersionedClass config = new VersionedClass().load(target);
+        assertThat(config.renamesApplied()).containsOnlyKeys("spawn.radius");
+        config.save(target);
+        config.load(target);
+
+        replaceInTarget("diameter: 14", "diameter: 20");
+        config.load(target);
+
+        assertThat(config.lastStats().operation()).isEqualTo(YamlStats.Operation.RELOAD);
+        assertThat(config.diameter).isEqualTo(20);
+        assertThat(config.renamesApplied()).isEmpty();
+        assertThat(config.lastStats().renamesApplied()).isEqualTo(0);
+        assertThat(config.fileVersion()).isEqualTo(3);
+    }
+
+    @Test
+    void aDifferentIgnoreSetMeansAFullLoad() throws IOException {
+        writeYaml(DATA);
+        DataFileClass data = new DataFileClass().load(target);
+        Object players = data.players;
+
+        data.load(target, Set.of("meta.owner"));
+
+        assertThat(data.players).isNotSameAs(players);
+    }
+
+    @Test
+    void aDocumentWithAnchorsIsAlwaysLoadedInFull() throws IOException {
+        writeYaml("""
+                players: &everyone
+                  alice: 10
+                regions:
+                  spawn: 0,64,0
+                """);
+        DataFileClass data = new DataFileClass().load(target);
+        Object players = data.players;
+
+        replaceInTarget("spawn: 0,64,0", "spawn: 1,1,1");
+        data.load(target);
+
+        assertThat(data.players).isNotSameAs(players);
+        assertThat(data.regions).containsEntry("spawn", "1,1,1");
+    }
+
+    @Test
+    void theSplitFollowsTopLevelKeysAndNothingElse() {
+        assertThat(LoadSnapshot.split(DATA)).containsOnlyKeys("players", "regions", "meta");
+        assertThat(LoadSnapshot.split("- a\n- b\n")).as("not a mapping").isNull();
+        assertThat(LoadSnapshot.split("a: 1\na: 2\n")).as("a key twice").isNull();
+        assertThat(LoadSnapshot.split("'quoted key': 1\n")).isNull();
+    }
+}
@@ -0,0 +1,63 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.InternedClass;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link YamlFile#intern()}: the same value read from different files is held once.
+ */
+class InternTests extends TestCommon {
+
+    private static final String PLAYER = """
+            world: world_nether
+            coins: 1500
+            homes:
+              base: 2048
+            kits: []
+            friends: {}
+            """;
+
+    @Test
+    void twoFilesShareTheValuesTheyHaveInCommon() throws IOException {
+        writeYaml(PLAYER);
+        InternedClass first = new InternedClass().load(target);
+        InternedClass second = new InternedClass().load(target);
+
+        assertThat(second.world).isEqualTo("world_nether").isSameAs(first.world);
+        assertThat(second.coins).isEqualTo(1500).isSameAs(first.coins);
+        String key = second.homes.keySet().iterator().next();
+        assertThat(key).isSameAs(first.homes.keySet().iterator().next());
+        assertThat(second.homes.get(key)).isEqualTo(2048L).isSameAs(first.homes.get(key));
+    }
+
+    @Test
+    void emptyCollectionsAreOneAndTheSame() throws IOException {
+        writeYaml(PLAYER);
+        InternedClass first = new InternedClass().load(target);
+        InternedClass second = new InternedClass().load(target);
+
+        assertThat(second.kits).isEmpty();
+        assertThat(second.kits).isSameAs(first.kits);
+        assertThat(second.friends).isSameAs(first.friends);
+    }
+
+    @Test
+    void longStringsAndLargeNumbersAreLeftAlone() {
+        String text = "x".repeat(ValuePool.MAX_LENGTH + 1);
+        assertThat(ValuePool.intern(new String(text))).isNotSameAs(ValuePool.intern(new String(text)));
+
+        Object big = 1_000_000;
+        assertThat(ValuePool.intern(big)).isSameAs(big);
+    }
+
+    @Test
+    void theSameStringComesBackFromThePool() {
+        String first = ValuePool.intern(new String("survival"));
+
+        assertThat(ValuePool.intern(new String("survival"))).isSameAs(first);
+    }
+}
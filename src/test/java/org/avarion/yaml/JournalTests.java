@@ -0,0 +1,255 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.LeaderboardClass;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The change journal: a few changed keys appended beside the file instead of the whole file
+ * written again.
+ *
+ * <p>What matters is that a load cannot tell the difference. Whatever was journaled has to
+ * come back exactly as a full save would have brought it back, and a full save has to leave
+ * nothing behind that a later load could mistake for something newer.
+ */
+class JournalTests extends TestCommon {
+
+    private File journal() {
+        return Journal.of(target);
+    }
+
+    private LeaderboardClass saved() throws IOException {
+        LeaderboardClass board = new LeaderboardClass();
+        board.points.put("alice", 1);
+        board.save(target);
+        return board;
+    }
+
+    @Test
+    void aJournaledChangeLeavesTheFileAlone() throws IOException {
+        LeaderboardClass board = saved();
+        String before = readFile();
+
+        board.points.put("bob", 2);
+        board.journal(target, "points");
+
+        assertThat(readFile()).isEqualTo(before);
+        assertThat(Files.readString(journal().toPath()))
+                .contains("bob: 2")
+                .as("only the key that was named")
+                .doesNotContain("season");
+    }
+
+    @Test
+    void aLoadReplaysTheJournalOverTheFile() throws IOException {
+        LeaderboardClass board = saved();
+        board.points.put("bob", 2);
+        board.journal(target, "points");
+        board.season = 7;
+        board.journal(target, "season.number");
+
+        LeaderboardClass loaded = new LeaderboardClass().load(target);
+
+        assertThat(loaded.points).containsEntry("alice", 1).containsEntry("bob", 2);
+        assertThat(loaded.season).isEqualTo(7);
+        assertThat(loaded.seasonName).as("untouched keys still come from the file").isEqualTo("spring");
+    }
+
+    @Test
+    void theNewestRecordOfAKeyWins() throws IOException {
+        LeaderboardClass board = saved();
+        board.season = 2;
+        board.journal(target, "season.number");
+        board.season = 3;
+        board.journal(target, "season.number");
+
+        LeaderboardClass loaded = new LeaderboardClass().load(target);
+        assertThat(loaded.season).isEqualTo(3);
+    }
+
+    @Test
+    void aSaveFoldsTheJournalIntoTheFile() throws IOException {
+        LeaderboardClass board = saved();
+        board.points.put("bob", 2);
+        board.journal(target, "points");
+
+        board.save(target);
+
+        assertThat(journal()).doesNotExist();
+        assertThat(readFile()).contains("bob: 2");
+    }
+
+    @Test
+    void aJournalThatOutgrowsItsFileIsCompacted() throws IOException {
+        LeaderboardClass board = saved();
+
+        int i = 0;
+        do {
+            board.points.put("player" + i, i);
+            board.journal(target, "points");
+            i++;
+        } while (journal().exists() && i < 1000);
+
+        assertThat(journal()).doesNotExist();
+        LeaderboardClass loaded = new LeaderboardClass().load(target);
+        assertThat(loaded.points).isEqualTo(board.points);
+    }
+
+    @Test
+    void withoutAFileThereIsNothingToAmend() throws IOException {
+        LeaderboardClass board = new LeaderboardClass();
+        board.points.put("alice", 1);
+
+        board.journal(target, "points");
+
+        assertThat(journal()).doesNotExist();
+        assertThat(readFile()).contains("alice: 1");
+    }
+
+    @Test
+    void aRecordCutShortByACrashIsLeftOutAndSaidOutLoud() throws IOException {
+        LeaderboardClass board = saved();
+        board.season = 4;
+        board.journal(target, "season.number");
+        Files.writeString(journal().toPath(), "---\npoints:\n  zed: [1\n", StandardOpenOption.APPEND);
+
+        LeaderboardClass loaded = new LeaderboardClass().load(target);
+
+        assertThat(loaded.season).isEqualTo(4);
+        assertThat(loaded.points).doesNotContainKey("zed");
+        assertThat(logs).anySatisfy(log -> assertThat(log.getMessage()).contains(journal().getName()));
+    }
+
+    // ===== Single entries =====
+
+    @Test
+    void anEntryRecordHoldsOnlyThatEntry() throws IOException {
+        LeaderboardClass board = saved();
+        for (int i = 0; i < 200; i++) {
+            board.points.put("player" + i, i);
+        }
+        board.save(target);
+
+        board.points.put("bob", 2);
+        board.journalEntries(target, "points", "bob");
+
+        String record = Files.readString(journal().toPath());
+        assertThat(record).contains("bob").doesNotContain("player1");
+        assertThat(record.length()).isLessThan(64);
+    }
+
+    @Test
+    void entriesAreReplayedOneByOne() throws IOException {
+        LeaderboardClass board = saved();
+        board.points.put("bob", 2);
+        board.journalEntries(target, "points", "bob");
+        board.points.remove("alice");
+        board.journalEntries(target, "points", "alice");
+        board.points.merge("bob", 1, Integer::sum);
+        board.journalEntries(target, "points", "bob");
+
+        LeaderboardClass loaded = new LeaderboardClass().load(target);
+
+        assertThat(loaded.points).isEqualTo(Map.of("bob", 3));
+        assertThat(loaded.seasonName).isEqualTo("spring");
+    }
+
+    @Test
+    void elementsOfACollectionAreAddedAndRemoved() throws IOException {
+        LeaderboardClass board = saved();
+        board.claims.add("0,0");
+        board.claims.add("1,0");
+        board.journalEntries(target, "claims", "0,0", "1,0");
+        board.claims.remove("0,0");
+        board.journalEntries(target, "claims", "0,0");
+
+        LeaderboardClass loaded = new LeaderboardClass().load(target);
+
+        assertThat(loaded.claims).isEqualTo(Set.of("1,0"));
+    }
+
+    @Test
+    void entriesAndWholeKeysReplayInTheOrderTheyWereWritten() throws IOException {
+        LeaderboardClass board = saved();
+        board.points.put("bob", 2);
+        board.journalEntries(target, "points", "bob");
+        board.points.clear();
+        board.points.put("carol", 5);
+        board.journal(target, "points");
+        board.points.put("dave", 6);
+        board.journalEntries(target, "points", "dave");
+
+        LeaderboardClass loaded = new LeaderboardClass().load(target);
+
+        assertThat(loaded.points).isEqualTo(Map.of("carol", 5, "dave", 6));
+    }
+
+    @Test
+    void changingEntriesOfALargeMapDoesNotRewriteTheFile() throws IOException {
+        LeaderboardClass board = saved();
+        for (int i = 0; i < 2000; i++) {
+            board.points.put("player" + i, i);
+        }
+        board.save(target);
+        String before = readFile();
+
+        for (int i = 0; i < 100; i++) {
+            board.points.merge("player" + i, 1, Integer::sum);
+            board.journalEntries(target, "points", "player" + i);
+        }
+
+        assertThat(readFile()).as("no compaction while the journal is smaller than the file").isEqualTo(before);
+        assertThat(journal().length()).isLessThan(target.length() / 4);
+        LeaderboardClass loaded = new LeaderboardClass().load(target);
+        assertThat(loaded.points).isEqualTo(board.points);
+    }
+
+    @Test
+    void aKeyWithoutAMapOrCollectionHasNoEntries() throws IOException {
+        LeaderboardClass board = saved();
+
+        assertThatThrownBy(() -> board.journalEntries(target, "season.number", "x"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'season.number'");
+        assertThat(journal()).doesNotExist();
+    }
+
+    @Test
+    void aListHasNoEntriesOfItsOwn() throws IOException {
+        LeaderboardClass board = saved();
+        board.history.add("a");
+        board.history.add("a");
+
+        // A third "a" could not say it was a third one, nor a removal which one went.
+        board.history.add("a");
+        assertThatThrownBy(() -> board.journalEntries(target, "history", "a"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'history'")
+                .hasMessageContaining("journal()");
+        assertThat(journal()).doesNotExist();
+
+        board.journal(target, "history");
+        assertThat(new LeaderboardClass().<LeaderboardClass>load(target).history).isEqualTo(List.of("a", "a", "a"));
+    }
+
+    @Test
+    void aKeyTheClassDoesNotDeclareIsRefused() throws IOException {
+        LeaderboardClass board = saved();
+
+        assertThatThrownBy(() -> board.journal(target, "score"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'score'")
+                .hasMessageContaining("points");
+        assertThat(journal()).doesNotExist();
+    }
+}
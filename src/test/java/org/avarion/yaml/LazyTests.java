@@ -0,0 +1,128 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.Address;
+import org.avarion.yaml.testClasses.LazyClass;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link Lazy} fields: kept as they were read until first asked for, and written back untouched
+ * when they never were.
+ */
+class LazyTests extends TestCommon {
+
+    private static final String FILE = """
+            name: arena
+            addresses:
+              home:
+                street: Main St
+                city: Springfield
+                zip_code: 12345
+            limits:
+              - 5
+              - '7'
+            """;
+
+    @Test
+    void aBlockIsConvertedWhenFirstAskedFor() throws IOException {
+        writeYaml(FILE);
+
+        LazyClass loaded = new LazyClass().load(target);
+
+        assertThat(loaded.name).isEqualTo("arena");
+        assertThat(loaded.addresses.isLoaded()).isFalse();
+        assertThat(loaded.addresses.get()).containsExactly(Map.entry("home", new Address("Main St", "Springfield", 12345)));
+        assertThat(loaded.addresses.isLoaded()).isTrue();
+        assertThat(loaded.limits.get()).containsExactly(5, 7);
+    }
+
+    @Test
+    void aKeyTheFileLacksKeepsItsDefault() throws IOException {
+        writeYaml("name: arena\n");
+
+        LazyClass loaded = new LazyClass().load(target);
+
+        assertThat(loaded.limits.isLoaded()).isTrue();
+        assertThat(loaded.limits.get()).containsExactly(1, 2);
+    }
+
+    @Test
+    void aValueThatCannotBeReadFailsTheGetNotTheLoad() throws IOException {
+        writeYaml("limits: [1, lots]\n");
+
+        LazyClass loaded = new LazyClass().load(target);
+
+        assertThatThrownBy(loaded.limits::get)
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("lots");
+        assertThat(loaded.limits.isLoaded()).isFalse();
+    }
+
+    @Test
+    void aBlockNoOneAskedForIsSavedAsItWasRead() throws IOException {
+        writeYaml(FILE);
+
+        new LazyClass().load(target).save(target);
+
+        assertThat(readFile()).isEqualTo(FILE);
+    }
+
+    @Test
+    void aBlockThatWasAskedForIsSavedFromItsValue() throws IOException {
+        writeYaml(FILE);
+        LazyClass loaded = new LazyClass().load(target);
+        loaded.addresses.get().put("work", new Address("High St", "Shelbyville", 54321));
+        loaded.limits = Lazy.of(List.of(3));
+
+        loaded.save(target);
+
+        assertThat(readFile()).isEqualTo("""
+                name: arena
+                addresses:
+                  home:
+                    street: Main St
+                    city: Springfield
+                    zip_code: 12345
+                  work:
+                    street: High St
+                    city: Shelbyville
+                    zip_code: 54321
+                limits:
+                  - 3
+                """);
+    }
+
+    @Test
+    void manyThreadsAskingConvertItOnce() throws Exception {
+        writeYaml(FILE);
+        LazyClass loaded = new LazyClass().load(target);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Map<String, Address>>> answers = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                answers.add(pool.submit(loaded.addresses::get));
+            }
+            Set<Object> distinct = ConcurrentHashMap.newKeySet();
+            for (Future<Map<String, Address>> answer : answers) {
+                distinct.add(System.identityHashCode(answer.get()));
+            }
+            assertThat(distinct).hasSize(1);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.Address;
+import org.avarion.yaml.testClasses.HappyFlow;
+import org.avarion.yaml.testClasses.ListMaterial;
+import org.avarion.yaml.testClasses.ListYmlInt;
+import org.avarion.yaml.testClasses.RecordMapClass;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link YamlFileInterface#memoryFootprint()} and {@link YamlFootprint#aggregate}: what a config
+ * holds on to, per top-level key, and what a class's instances hold together.
+ *
+ * <p>The sizes are those of a 64-bit JVM with compressed references: a {@code String} of {@code n}
+ * Latin-1 characters is 24 bytes plus an array of {@code 16 + n}, each rounded up to 8, and a field
+ * adds the 4 bytes of its reference.
+ */
+class MemoryFootprintTests extends TestCommon {
+
+    @Test
+    void everyTopLevelKeyIsReportedInDeclarationOrder() {
+        YamlFootprint footprint = new HappyFlow().memoryFootprint();
+
+        assertThat(footprint.configClass()).isEqualTo(HappyFlow.class);
+        assertThat(footprint.instances()).isEqualTo(1);
+        assertThat(new ArrayList<>(footprint.keyBytes().keySet()))
+                .isEqualTo(List.of("name", "age", "isStudent", "weight", "score", "id", "isMale", "address"));
+    }
+
+    @Test
+    void aPrimitiveTakesOnlyItsField() {
+        YamlFootprint footprint = new HappyFlow().memoryFootprint();
+
+        assertThat(footprint.keyBytes().get("age")).isEqualTo(4L);
+        assertThat(footprint.keyBytes().get("id")).isEqualTo(8L);
+        assertThat(footprint.keyBytes().get("isStudent")).isEqualTo(1L);
+    }
+
+    @Test
+    void aStringTakesItsCharacters() {
+        HappyFlow config = new HappyFlow();
+        config.name = "x".repeat(1000);
+
+        // 4 for the field, 24 for the String, 1016 for its bytes.
+        assertThat(config.memoryFootprint().keyBytes().get("name")).isEqualTo(1044L);
+
+        config.name = "€".repeat(10);
+        // Outside Latin-1 a character takes two bytes.
+        assertThat(config.memoryFootprint().keyBytes().get("name")).isEqualTo(4L + 24 + 40);
+    }
+
+    @Test
+    void keysUnderOneTopLevelKeyAreAddedTogether() {
+        YamlFootprint footprint = new HappyFlow().memoryFootprint();
+
+        // "New York" and the street number.
+        assertThat(footprint.keyBytes().get("address")).isEqualTo(4L + 24 + 24 + 4);
+    }
+
+    @Test
+    void enumConstantsAndCachedBoxesAreNotTheConfigs() {
+        ListMaterial materials = new ListMaterial();
+        ListYmlInt small = new ListYmlInt();
+        ListYmlInt large = new ListYmlInt();
+        large.key = Arrays.asList(1000, 2000);
+
+        assertThat(materials.memoryFootprint().keyBytes().get("enum")).isEqualTo(4L);
+        long list = materials.memoryFootprint().keyBytes().get("materials");
+        assertThat(small.memoryFootprint().keyBytes().get("key")).isEqualTo(list);
+        // Two Integers of 16 bytes that only this list holds.
+        assertThat(large.memoryFootprint().keyBytes().get("key")).isEqualTo(list + 32);
+    }
+
+    @Test
+    void mapsAndRecordsCountWhatTheyHold() {
+        RecordMapClass config = new RecordMapClass();
+        long before = config.memoryFootprint().keyBytes().get("addresses");
+
+        config.addresses.put("shop", new Address("1 Market Sq", "Springfield", 12345));
+
+        // The record, its street, its key and its entry; the city is the "Springfield" literal,
+        // already counted, and the zip code is in the record itself.
+        long after = config.memoryFootprint().keyBytes().get("addresses");
+        assertThat(after - before).isEqualTo(24L + 56 + 48 + 40);
+    }
+
+    @Test
+    void theReloadSnapshotHoldsOnToWhatAFieldNoLongerDoes() throws IOException {
+        writeYaml("name: Alice\nage: 12\n");
+        HappyFlow config = new HappyFlow().load(target);
+        long before = config.memoryFootprint().otherBytes();
+
+        config.name = "Bob";
+
+        // "Alice" is still in the snapshot a reload compares against.
+        assertThat(config.memoryFootprint().otherBytes() - before).isEqualTo(48L);
+    }
+
+    @Test
+    void anAggregateIsPerClassLargestFirst() {
+        List<YamlFileInterface> configs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            configs.add(new ListMaterial());
+        }
+        configs.add(new RecordMapClass());
+
+        List<YamlFootprint> footprints = YamlFootprint.aggregate(configs);
+
+        assertThat(footprints).hasSize(2);
+        assertThat(footprints.get(0).configClass()).isEqualTo(RecordMapClass.class);
+        assertThat(footprints.get(0).instances()).isEqualTo(1);
+        assertThat(footprints.get(1).configClass()).isEqualTo(ListMaterial.class);
+        assertThat(footprints.get(1).instances()).isEqualTo(3);
+        assertThat(footprints.get(1).keyBytes().get("materials"))
+                .isEqualTo(3 * configs.get(0).memoryFootprint().keyBytes().get("materials"));
+        assertThat(footprints.get(0).largestKey()).isEqualTo("people");
+    }
+
+    @Test
+    void whatConfigsShareIsCountedOnceInAnAggregate() {
+        HappyFlow first = new HappyFlow();
+        HappyFlow second = new HappyFlow();
+        first.name = "x".repeat(1000);
+        second.name = first.name;
+
+        YamlFootprint together = YamlFootprint.aggregate(List.of(first, second)).get(0);
+
+        assertThat(first.memoryFootprint().keyBytes().get("name")).isEqualTo(1044L);
+        assertThat(second.memoryFootprint().keyBytes().get("name")).isEqualTo(1044L);
+        assertThat(together.keyBytes().get("name")).isEqualTo(1044L + 4);
+    }
+
+    @Test
+    void theSameConfigTwiceIsOneInstance() {
+        HappyFlow config = new HappyFlow();
+
+        YamlFootprint footprint = YamlFootprint.aggregate(List.of(config, config)).get(0);
+
+        assertThat(footprint.instances()).isEqualTo(1);
+        assertThat(footprint.totalBytes()).isEqualTo(config.memoryFootprint().totalBytes());
+    }
+
+    @Test
+    void anEmptyMapHasNoTableYet() {
+        RecordMapClass config = new RecordMapClass();
+        config.addresses = new LinkedHashMap<>();
+        config.people = new LinkedHashMap<>();
+
+        // An empty map has no table yet: just the map and the field.
+        assertThat(config.memoryFootprint().keyBytes().get("addresses"))
+                .isEqualTo(4L + Footprint.shallow(LinkedHashMap.class));
+    }
+}
@@ -0,0 +1,68 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.Address;
+import org.avarion.yaml.testClasses.ParallelClass;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.logging.LogRecord;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link YamlFile#parallelThreshold()}: a large block converted on several threads comes out the
+ * same, with the same warnings in the same order, as one converted element by element.
+ */
+class ParallelConversionTests extends TestCommon {
+
+    private static final int SIZE = 5000;
+
+    private static String bigFile() {
+        StringBuilder yaml = new StringBuilder("materials:\n");
+        for (int i = 0; i < SIZE; i++) {
+            yaml.append("  - ").append(i % 997 == 0 ? "NOT_" + i : "ABC".charAt(i % 3)).append('\n');
+        }
+        yaml.append("stats:\n");
+        for (int i = 0; i < SIZE; i++) {
+            yaml.append("  p").append(i).append(":\n")
+                .append("    street: s").append(i).append('\n')
+                .append("    city: c\n")
+                .append("    zip_code: ").append(i).append('\n');
+        }
+        return yaml.toString();
+    }
+
+    @Test
+    void theResultIsTheSameAsOneByOne() throws IOException {
+        writeYaml(bigFile());
+
+        ParallelClass.Sequential expected = new ParallelClass.Sequential().load(target);
+        List<String> expectedWarnings = logs.stream().map(LogRecord::getMessage).toList();
+        logs.clear();
+        ParallelClass loaded = new ParallelClass().load(target);
+
+        assertThat(loaded.materials).isEqualTo(expected.materials);
+        assertThat(loaded.materials).hasSize(SIZE - 6);
+        assertThat(loaded.stats).containsExactlyEntriesOf(expected.stats);
+        assertThat(loaded.stats.get("p4321")).isEqualTo(new Address("s4321", "c", 4321));
+        assertThat(logs.stream().map(LogRecord::getMessage).toList()).isEqualTo(expectedWarnings);
+        assertThat(loaded.warnings()).isEqualTo(expected.warnings());
+        assertThat(expectedWarnings).hasSize(1);
+        assertThat(expectedWarnings.get(0)).contains("'NOT_0'", "5 more like it");
+    }
+
+    @Test
+    void theFirstBadElementIsTheOneReported() throws IOException {
+        StringBuilder yaml = new StringBuilder("strict:\n");
+        for (int i = 0; i < SIZE; i++) {
+            yaml.append("  - ").append(i == 1234 || i == 4000 ? "bad" + i : String.valueOf(i)).append('\n');
+        }
+        writeYaml(yaml.toString());
+
+        assertThatThrownBy(() -> new ParallelClass().load(target))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("bad1234");
+    }
+}
@@ -0,0 +1,138 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.HandEditedClass;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Saving into a file an operator has annotated by hand.
+ *
+ * <p>A full save renders the file from the fields and so drops everything no field knows about,
+ * comments included. A patched save has to leave every byte it has no reason to change exactly
+ * where it was, and still produce a file that loads back to what the fields hold.
+ */
+class PatchedSaveTests extends TestCommon {
+
+    private static final String HAND_EDITED = """
+            # Our survival server.
+            server:
+                port: 25565   # opened on the firewall
+                motd: 'hello'
+
+            # The worlds we run, in load order.
+            worlds:
+            - world
+
+            # Keep these low.
+            limits: {players: 20}
+            """;
+
+    @Test
+    void aChangedValueIsReplacedWhereItStands() throws IOException {
+        writeYaml(HAND_EDITED);
+        HandEditedClass config = new HandEditedClass().load(target);
+
+        config.port = 8080;
+        config.savePatched(target);
+
+        assertThat(readFile()).isEqualTo(HAND_EDITED.replace("25565", "8080"));
+    }
+
+    @Test
+    void nothingChangedMeansNothingWritten() throws IOException {
+        writeYaml(HAND_EDITED);
+
+        new HandEditedClass().load(target).savePatched(target);
+
+        assertThat(readFile())
+                .as("the quotes around 'hello' are the operator's, and the value is the same")
+                .isEqualTo(HAND_EDITED);
+    }
+
+    @Test
+    void thePatchedFileIsMovedIntoPlaceNotWrittenOverTheOld() throws IOException {
+        writeYaml(HAND_EDITED);
+        Object before = fileKey();
+        assumeTrue(before != null, "the file system does not tell files apart");
+        HandEditedClass config = new HandEditedClass().load(target);
+
+        config.port = 8080;
+        config.savePatched(target);
+
+        assertThat(fileKey()).as("a new file took the old one's place").isNotEqualTo(before);
+        try (Stream<Path> siblings = Files.list(target.toPath().toAbsolutePath().getParent())) {
+            assertThat(siblings.filter(path -> path.toString().endsWith(".tmp")).toList()).isEmpty();
+        }
+    }
+
+    @Test
+    void aFileThatNeedsNoChangeIsNotTouched() throws IOException {
+        writeYaml(HAND_EDITED);
+        Object before = fileKey();
+        assumeTrue(before != null, "the file system does not tell files apart");
+
+        new HandEditedClass().load(target).savePatched(target);
+
+        assertThat(fileKey()).isEqualTo(before);
+    }
+
+    private Object fileKey() throws IOException {
+        return Files.readAttributes(target.toPath(), BasicFileAttributes.class).fileKey();
+    }
+
+    @Test
+    void aValueThatOutgrowsItsLineHasItsEntryRenderedAgain() throws IOException {
+        writeYaml(HAND_EDITED);
+        HandEditedClass config = new HandEditedClass().load(target);
+
+        config.worlds.add("nether");
+        config.limits.put("entities", 500);
+        config.savePatched(target);
+
+        assertThat(readFile())
+                .contains("# The worlds we run, in load order.\nworlds:\n  - world\n  - nether\n")
+                .contains("# Keep these low.\nlimits:\n  players: 20\n  entities: 500\n")
+                .contains("port: 25565   # opened on the firewall");
+        HandEditedClass reloaded = new HandEditedClass().load(target);
+        assertThat(reloaded.worlds).containsExactly("world", "nether");
+        assertThat(reloaded.limits).containsEntry("entities", 500);
+    }
+
+    @Test
+    void aKeyTheFileDoesNotHaveYetMeansAFullSave() throws IOException {
+        writeYaml("server:\n  port: 1\n");
+        HandEditedClass config = new HandEditedClass().load(target);
+
+        config.savePatched(target);
+
+        assertThat(readFile()).contains("motd: hello").contains("worlds:").contains("limits:");
+    }
+
+    @Test
+    void withoutAFileItIsAnOrdinarySave() throws IOException {
+        new HandEditedClass().savePatched(target);
+
+        assertThat(readFile()).contains("port: 25565");
+    }
+
+    @Test
+    void aPatchedSaveAlsoFoldsInTheJournal() throws IOException {
+        writeYaml(HAND_EDITED);
+        HandEditedClass config = new HandEditedClass().load(target);
+        config.port = 1234;
+        config.journal(target, "server.port");
+
+        config.savePatched(target);
+
+        assertThat(Journal.of(target)).doesNotExist();
+        assertThat(readFile()).contains("port: 1234   # opened on the firewall");
+    }
+}
@@ -35,6 +35,12 @@ class PluginLoggerRoutingTest extends TestCommon {
         public List<Material> mats = List.of();
     }
 
+    @YamlFile(fileName = "config.yml", lenient = Leniency.LENIENT)
+    static class LazyEnumListConfig extends YamlFileInterface {
+        @YamlKey("mats")
+        public Lazy<List<Material>> mats = Lazy.of(List.of());
+    }
+
     // ===== Plugin fixtures =====
 
     /** Bukkit/Spigot-style: getLogger() returns a real JUL Logger. */
@@ -164,6 +170,42 @@ class PluginLoggerRoutingTest extends TestCommon {
         assertThat(logs).isEmpty();
     }
 
+    @Test
+    void testTwoPluginsOfOneClassKeepTheirOwnLoggerAndFolder() throws IOException {
+        writeBadEnumYaml();
+        Path otherDir = Files.createDirectories(tempDir.resolve("other"));
+        Files.writeString(otherDir.resolve("config.yml"), "mats:\n  - NOT_THERE_EITHER\n");
+
+        Slf4jStyleLogger first = new Slf4jStyleLogger();
+        Slf4jStyleLogger second = new Slf4jStyleLogger();
+        EnumListConfig fromFirst = new EnumListConfig().load(new Slf4jPlugin(tempDir.toFile(), first));
+        EnumListConfig fromSecond = new EnumListConfig().load(new Slf4jPlugin(otherDir.toFile(), second));
+
+        assertThat(fromFirst.mats).containsExactly(Material.A, Material.B);
+        assertThat(fromSecond.mats).isEmpty();
+        assertThat(first.warnings).hasSize(1);
+        assertThat(first.warnings.get(0)).contains("NOT_A_MATERIAL");
+        assertThat(second.warnings).hasSize(1);
+        assertThat(second.warnings.get(0)).contains("NOT_THERE_EITHER");
+    }
+
+    @Test
+    void testRoutesWarningsGivenOnAnotherThreadToThePlugin() throws Exception {
+        writeBadEnumYaml();
+
+        Slf4jStyleLogger fake = new Slf4jStyleLogger();
+        LazyEnumListConfig loaded = new LazyEnumListConfig().load(new Slf4jPlugin(tempDir.toFile(), fake));
+        assertThat(fake.warnings).isEmpty();
+
+        Thread other = new Thread(loaded.mats::get);
+        other.start();
+        other.join();
+
+        assertThat(fake.warnings).hasSize(1);
+        assertThat(fake.warnings.get(0)).contains("NOT_A_MATERIAL");
+        assertThat(logs).isEmpty();
+    }
+
     @Test
     void testFallsBackToDefaultWhenNoSinkDiscoverable() throws IOException {
         writeBadEnumYaml();
@@ -9,6 +9,7 @@ import org.avarion.yaml.testClasses.RenamedKeyClass;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.LogRecord;
@@ -381,4 +382,41 @@ class RenameTests extends TestCommon {
         assertThat(said()).anySatisfy(line ->
                 assertThat(line).contains("loose").contains("cannot be created"));
     }
+
+    // ===== The compiled plan =====
+
+    @Test
+    void aFileWithNoneOfTheOldKeysIsNotTouched() {
+        // The case nearly every load is: already migrated. Not one declared move may look
+        // further than the top-level keys of the file: asking which ones it has is all it gets.
+        Map<String, Object> data = new LinkedHashMap<>() {
+            @Override
+            public Object get(Object key) {
+                throw new AssertionError("a move looked up '" + key + "'");
+            }
+
+            @Override
+            public Object getOrDefault(Object key, Object defaultValue) {
+                throw new AssertionError("a move looked up '" + key + "'");
+            }
+        };
+        data.put("storm", new LinkedHashMap<>(Map.of("damage-per-second", 2.0)));
+        data.put("game", new LinkedHashMap<>(Map.of("hub-world", "lobby")));
+        Map<String, Object> before = new LinkedHashMap<>(data);
+
+        Map<String, String> applied = Schema.of(RenamedKeyClass.class).renames.applyTo(data, LoadContext.logged(Naming.SNAKE_CASE));
+
+        assertThat(applied).isEmpty();
+        assertThat(new LinkedHashMap<>(data)).isEqualTo(before);
+        assertThat(said()).isEmpty();
+    }
+
+    @Test
+    void theOldKeysOfAClassAreKnownUpFront() {
+        assertThat(Schema.of(RenamedKeyClass.class).renames.roots()).containsExactlyInAnyOrder("zone", "bar");
+        assertThat(Schema.of(MovedSubtreeClass.class).renames.roots()).containsExactly("mysql");
+        assertThat(Schema.of(OddRenameClass.class).renames.roots())
+                .as("declarations that cannot move anything are not in the plan at all")
+                .containsExactly("old");
+    }
 }
@@ -0,0 +1,109 @@
+package org.avarion.yaml;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Saves filled in from a template laid out once per class: only the values may differ from one
+ * save to the next, and the layout around them must be exactly what it always was.
+ */
+class SaveTemplateTests extends TestCommon {
+
+    @YamlFile(header = "Arena settings\nReload with /arena reload  ")
+    static class ArenaConfig extends YamlFileInterface {
+        @YamlComment("Shown on join")
+        @YamlKey("messages.welcome")
+        public String welcome = "Hi";
+
+        @YamlKey("limits.players")
+        public int players = 8;
+
+        @YamlComment("Line one\r\nLine two")
+        @YamlKey("messages.farewell")
+        public String farewell = "Bye";
+
+        @YamlKey("limits.worlds")
+        public List<String> worlds = List.of("arena", "lobby");
+
+        @YamlKey("rewards")
+        public Map<String, Integer> rewards = Map.of("win", 10);
+    }
+
+    static class TwiceClaimedConfig extends YamlFileInterface {
+        @YamlKey("limit")
+        public int first = 1;
+
+        @YamlKey("limit")
+        public int second = 2;
+    }
+
+    static class FinalFieldConfig extends YamlFileInterface {
+        @YamlKey("limit")
+        public final int limit = 1;
+    }
+
+    @Test
+    void theLayoutIsWhatItHasAlwaysBeen() throws IOException {
+        new ArenaConfig().save(target);
+
+        assertThat(readFile()).isEqualTo("""
+                # Arena settings
+                # Reload with /arena reload
+
+                messages:
+                  # Shown on join
+                  welcome: Hi
+                  # Line one
+                  # Line two
+                  farewell: Bye
+                limits:
+                  players: 8
+                  worlds:
+                    - arena
+                    - lobby
+                rewards:
+                  win: 10
+                """);
+    }
+
+    @Test
+    void everySaveWritesTheValuesOfThatMoment() throws IOException {
+        ArenaConfig config = new ArenaConfig();
+        config.save(target);
+
+        config.welcome = "Welcome back";
+        config.worlds = List.of();
+        config.rewards = Map.of("win", 25);
+        config.save(target);
+
+        assertThat(readFile())
+                .contains("  welcome: Welcome back\n")
+                .contains("  worlds: []\n")
+                .contains("  win: 25\n")
+                .contains("  # Shown on join\n");
+    }
+
+    @Test
+    void aKeyClaimedTwiceFailsEverySave() {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> new TwiceClaimedConfig().save(target))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("'limit' is already used before.");
+        }
+    }
+
+    @Test
+    void aFinalFieldFailsEverySave() {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> new FinalFieldConfig().save(target))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("limit");
+        }
+    }
+}
@@ -418,6 +418,109 @@ class TypeConverterDirectTest {
         assertEquals(42.0f, result);
     }
 
+    // ==================== Numbers written as text (through stringToNumber) ====================
+
+    @Test
+    void testQuotedNumberIntoEveryNumericType() throws IOException {
+        assertEquals(8080, strict.getConvertedValue(null, int.class, "8080"));
+        assertEquals(8080, strict.getConvertedValue(null, Integer.class, " 8080 "));
+        assertEquals(-5L, strict.getConvertedValue(null, long.class, "-5"));
+        assertEquals((short) 300, strict.getConvertedValue(null, Short.class, "300"));
+        assertEquals((byte) -128, strict.getConvertedValue(null, byte.class, "-128"));
+        assertEquals(1.25, strict.getConvertedValue(null, double.class, "1.25"));
+        assertEquals(0.5f, strict.getConvertedValue(null, Float.class, "0.5"));
+        assertEquals(new java.math.BigInteger("123456789012345678901234567890"),
+                     strict.getConvertedValue(null, java.math.BigInteger.class, "123456789012345678901234567890"));
+        assertEquals(1000, strict.getConvertedValue(null, int.class, "1e3"));
+    }
+
+    @Test
+    void testQuotedNumberTooLargeForItsTypeIsRejectedInEitherMode() {
+        for (TypeConverter converter : List.of(strict, lenient)) {
+            IOException thrown = assertThrows(IOException.class, () ->
+                    converter.getConvertedValue(null, int.class, "3000000000"));
+            assertEquals("'3000000000' is out of range for int", thrown.getMessage());
+
+            thrown = assertThrows(IOException.class, () ->
+                    converter.getConvertedValue(null, Long.class, "99999999999999999999"));
+            assertEquals("'99999999999999999999' is out of range for Long", thrown.getMessage());
+        }
+    }
+
+    @Test
+    void testQuotedFractionIntoWholeNumberDependsOnLeniency() throws IOException {
+        assertEquals(2, lenient.getConvertedValue(null, int.class, "2.75"));
+
+        IOException thrown = assertThrows(IOException.class, () ->
+                strict.getConvertedValue(null, int.class, "2.75"));
+        assertEquals("Cannot convert '2.75' to int without dropping its fraction", thrown.getMessage());
+    }
+
+    @Test
+    void testQuotedFloatFollowsTheFloatPrecisionRule() {
+        assertThrows(IOException.class, () -> strict.getConvertedValue(null, float.class, "1.234567890123"));
+    }
+
+    @Test
+    void testTextThatIsNotANumberStillNamesTheValue() {
+        IOException thrown = assertThrows(IOException.class, () ->
+                strict.getConvertedValue(null, int.class, "eighty"));
+        assertTrue(thrown.getMessage().startsWith("Cannot read int from 'eighty'"));
+    }
+
+    @Test
+    void testQuotedAndUnquotedNumbersFollowTheSameRules() throws IOException {
+        // What the parser makes of each unquoted, next to the same text quoted.
+        Map<Object, String> written = new LinkedHashMap<>();
+        written.put(2.75, "2.75");
+        written.put(3000000000L, "3000000000");
+        written.put(new java.math.BigInteger("99999999999999999999"), "99999999999999999999");
+        written.put(42.0, "42.0");
+        written.put(-7, "-7");
+
+        for (TypeConverter converter : List.of(strict, lenient)) {
+            for (Class<?> type : List.of(int.class, Long.class, short.class, java.math.BigInteger.class)) {
+                for (Map.Entry<Object, String> number : written.entrySet()) {
+                    Object unquoted = resultOf(converter, type, number.getKey());
+                    Object quoted = resultOf(converter, type, number.getValue());
+                    assertEquals(quoted, unquoted, number.getValue() + " into " + type.getSimpleName());
+                }
+            }
+        }
+    }
+
+    /** What a conversion gives, or the message it fails with. */
+    private static Object resultOf(TypeConverter converter, Class<?> type, Object value) {
+        try {
+            return converter.getConvertedValue(null, type, value);
+        } catch (IOException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Test
+    void testUnquotedFractionIntoWholeNumberDependsOnLeniency() throws IOException {
+        assertEquals(2, lenient.getConvertedValue(null, int.class, 2.75));
+
+        IOException thrown = assertThrows(IOException.class, () ->
+                strict.getConvertedValue(null, int.class, 2.75));
+        assertEquals("Cannot convert '2.75' to int without dropping its fraction", thrown.getMessage());
+    }
+
+    @Test
+    void testUnquotedNumberTooLargeForItsTypeIsRejectedInEitherMode() {
+        for (TypeConverter converter : List.of(strict, lenient)) {
+            IOException thrown = assertThrows(IOException.class, () ->
+                    converter.getConvertedValue(null, int.class, 3000000000L));
+            assertEquals("'3000000000' is out of range for int", thrown.getMessage());
+        }
+    }
+
+    @Test
+    void testNumberIntoBigInteger() throws IOException {
+        assertEquals(java.math.BigInteger.valueOf(42), strict.getConvertedValue(null, java.math.BigInteger.class, 42));
+    }
+
     // ==================== handleMapValue without field (null field) ====================
 
     @Test
@@ -0,0 +1,203 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.VersionedClass;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Versioned files: the steps a file has not had yet, run once and in order, and nothing at all
+ * for a file that is already up to date.
+ */
+class VersionedMigrationTests extends TestCommon {
+
+    @YamlFile(version = 1)
+    static class BrokenStepClass extends YamlFileInterface {
+        static {
+            YamlMigrations.register(BrokenStepClass.class, 1, step -> step
+                    .transform("limit", limit -> ((Number) limit).intValue() + 1));
+        }
+
+        @YamlKey("limit")
+        public int limit = 5;
+    }
+
+    // ===== Which steps run =====
+
+    @Test
+    void aFileWithoutAVersionIsGivenEveryStep() throws IOException {
+        writeYaml("""
+                mysql:
+                  host: db.example.com
+                spawn:
+                  radius: 7
+                greeting: Hello
+                """);
+
+        VersionedClass loaded = new VersionedClass().load(target);
+
+        assertThat(loaded.fileVersion()).isZero();
+        assertThat(loaded.host).isEqualTo("db.example.com");
+        assertThat(loaded.diameter).isEqualTo(14);
+        assertThat(loaded.motd).isEqualTo("Hello");
+        assertThat(loaded.renamesApplied()).containsExactly(
+                Map.entry("mysql", "database.mysql"),
+                Map.entry("spawn.radius", "spawn.diameter"),
+                Map.entry("greeting", "motd"));
+    }
+
+    @Test
+    void aFileHalfwayIsGivenOnlyTheStepsAfterItsVersion() throws IOException {
+        writeYaml("""
+                config-version: 1
+                mysql:
+                  host: left-over
+                database:
+                  mysql:
+                    host: db.example.com
+                spawn:
+                  radius: 7
+                """);
+
+        VersionedClass loaded = new VersionedClass().load(target);
+
+        assertThat(loaded.fileVersion()).isEqualTo(1);
+        assertThat(loaded.host).as("step 1 is not run again").isEqualTo("db.example.com");
+        assertThat(loaded.diameter).isEqualTo(14);
+        assertThat(loaded.renamesApplied()).containsOnlyKeys("spawn.radius");
+    }
+
+    @Test
+    void aFileAtTheCurrentVersionIsNotMigratedAtAll() throws IOException {
+        writeYaml("""
+                config-version: 3
+                spawn:
+                  radius: 7
+                  diameter: 5
+                greeting: Hello
+                """);
+
+        VersionedClass loaded = new VersionedClass().load(target);
+
+        assertThat(loaded.fileVersion()).isEqualTo(3);
+        assertThat(loaded.diameter).isEqualTo(5);
+        assertThat(loaded.motd).as("declared moves are skipped as well").isEqualTo("Welcome");
+        assertThat(loaded.renamesApplied()).isEmpty();
+    }
+
+    @Test
+    void aFileFromANewerReleaseIsLeftAloneWithAWarning() throws IOException {
+        writeYaml("""
+                config-version: 7
+                mysql:
+                  host: db.example.com
+                """);
+
+        VersionedClass loaded = new VersionedClass().load(target);
+
+        assertThat(loaded.fileVersion()).isEqualTo(7);
+        assertThat(loaded.host).isEqualTo("localhost");
+        assertThat(logs).hasSize(1);
+        assertThat(logs.get(0).getMessage()).contains("version 7", "newer release");
+    }
+
+    @Test
+    void aVersionThatIsNotANumberCountsAsNoVersion() throws IOException {
+        writeYaml("""
+                config-version: three
+                spawn:
+                  radius: 7
+                """);
+
+        VersionedClass loaded = new VersionedClass().load(target);
+
+        assertThat(loaded.diameter).isEqualTo(14);
+        assertThat(logs.get(0).getMessage()).contains("'config-version'", "'three'");
+    }
+
+    @Test
+    void aStepThatFailsNamesTheVersionItWasReaching() throws IOException {
+        writeYaml("limit: lots\n");
+
+        assertThatThrownBy(() -> new BrokenStepClass().load(target))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Migrating to version 1 failed");
+    }
+
+    // ===== Saving =====
+
+    @Test
+    void theVersionIsWrittenFirst() throws IOException {
+        new VersionedClass().save(target);
+
+        assertThat(readFile()).startsWith("config-version: 3\n");
+    }
+
+    @Test
+    void aMigratedFileIsSavedAtTheCurrentVersionAndSkipsTheStepsNextTime() throws IOException {
+        writeYaml("""
+                spawn:
+                  radius: 7
+                """);
+        new VersionedClass().load(target).save(target);
+
+        VersionedClass reloaded = new VersionedClass().load(target);
+
+        assertThat(reloaded.fileVersion()).isEqualTo(3);
+        assertThat(reloaded.diameter).as("not doubled a second time").isEqualTo(14);
+        assertThat(reloaded.renamesApplied()).isEmpty();
+    }
+
+    @Test
+    void aPatchedSaveBringsTheVersionUpToo() throws IOException {
+        writeYaml("""
+                config-version: 2
+                database:
+                  mysql:
+                    host: db.example.com  # the primary
+                spawn:
+                  diameter: 14
+                motd: Welcome
+                """);
+        VersionedClass loaded = new VersionedClass().load(target);
+        loaded.savePatched(target);
+
+        assertThat(readFile()).contains("config-version: 3\n", "# the primary");
+    }
+
+    @Test
+    void aVersionedFileBehindTheClassIsRewrittenByTheMigrator(@TempDir Path folder) throws IOException {
+        Path file = folder.resolve("a.yml");
+        Files.writeString(file, "config-version: 2\nspawn:\n  diameter: 14\n");
+
+        YamlMigrator.Summary summary = YamlMigrator.migrate(folder, VersionedClass::new, 1);
+
+        assertThat(summary.migrated()).containsOnlyKeys(file);
+        assertThat(Files.readString(file)).startsWith("config-version: 3\n");
+    }
+
+    // ===== Registering =====
+
+    @Test
+    void aStepReachesVersionOneOrLater() {
+        assertThatThrownBy(() -> YamlMigrations.register(VersionedClass.class, 0, step -> {}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not 0");
+    }
+
+    @Test
+    void aVersionHasOneStep() {
+        new VersionedClass();
+
+        assertThatThrownBy(() -> YamlMigrations.register(VersionedClass.class, 1, step -> {}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("VersionedClass already has a step to version 1");
+    }
+}
@@ -0,0 +1,91 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.ListMaterial;
+import org.avarion.yaml.testClasses.Material;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link YamlFileInterface#warnings()}: each problem a lenient load works around is logged once,
+ * with how often it came up, and handed over after the load.
+ */
+class WarningReportTests extends TestCommon {
+
+    private static final int SIZE = 5000;
+
+    @Test
+    void manyOfTheSameProblemAreOneWarning() throws IOException {
+        StringBuilder yaml = new StringBuilder("materials:\n");
+        for (int i = 0; i < SIZE; i++) {
+            yaml.append("  - b").append(i).append('\n');
+        }
+        writeYaml(yaml.toString());
+
+        ListMaterial loaded = new ListMaterial().load(target);
+
+        assertThat(loaded.materials).isEmpty();
+        assertThat(logs).hasSize(1);
+        assertThat(logs.get(0).getMessage())
+                .contains("skipping unknown " + Material.class.getName() + " value 'b0'")
+                .contains("Did you mean B")
+                .contains("(4999 more like it under 'materials')");
+
+        List<YamlWarning> warnings = loaded.warnings();
+        assertThat(warnings).hasSize(1);
+        YamlWarning warning = warnings.get(0);
+        assertThat(warning.kind()).isEqualTo(YamlWarning.Kind.UNKNOWN_ENUM);
+        assertThat(warning.path()).isEqualTo("materials");
+        assertThat(warning.value()).isEqualTo("b0");
+        assertThat(warning.suggestion()).startsWith("B");
+        assertThat(warning.count()).isEqualTo(SIZE);
+        assertThat(warning.message()).isEqualTo(logs.get(0).getMessage());
+    }
+
+    @Test
+    void eachKeyIsItsOwnWarning() throws IOException {
+        writeYaml("materials:\n  - X\n  - A\n  - Y\nenum: Z\n");
+
+        ListMaterial loaded = new ListMaterial().load(target);
+
+        assertThat(loaded.warnings()).isEqualTo(List.of(
+                new YamlWarning(YamlWarning.Kind.UNKNOWN_ENUM, "materials", "X", Material.class.getName(),
+                                "A, B, C", 2),
+                new YamlWarning(YamlWarning.Kind.UNKNOWN_ENUM, "enum", "Z", Material.class.getName(),
+                                "A, B, C", 1)));
+        assertThat(logs).hasSize(2);
+        assertThat(logs.get(0).getMessage()).contains("'X'", "(1 more like it under 'materials')");
+        assertThat(logs.get(1).getMessage()).contains("'Z'").doesNotContain("more like it");
+    }
+
+    @Test
+    void aCleanLoadHasNoWarnings() throws IOException {
+        writeYaml("materials:\n  - X\n");
+        ListMaterial config = new ListMaterial().load(target);
+        assertThat(config.warnings()).hasSize(1);
+
+        writeYaml("materials:\n  - A\n");
+        config.load(target);
+
+        assertThat(config.warnings()).isEmpty();
+        assertThat(config.materials).isEqualTo(List.of(Material.A));
+    }
+
+    @Test
+    void aMoveIsReportedUnderItsOldKey() throws IOException {
+        writeYaml("zones:\n  - A\n");
+
+        class Moved extends YamlFileInterface {
+            @YamlKey(value = "materials", previously = "zones")
+            public List<Material> materials = List.of();
+        }
+        Moved loaded = new Moved().load(target);
+
+        assertThat(loaded.warnings()).isEqualTo(List.of(
+                new YamlWarning(YamlWarning.Kind.KEY_MOVED, "zones", null, "materials", null, 1)));
+        assertThat(logs.get(0).getMessage()).isEqualTo("'zones' is now 'materials'; your value has been carried across.");
+    }
+}
@@ -0,0 +1,92 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.HappyFlow;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link WrapperPool}: parsers are handed from one load to the next, never two at once to the same
+ * parser, and never more kept than the pool has room for.
+ */
+class WrapperPoolTests extends TestCommon {
+
+    @Test
+    void aReleasedParserIsBorrowedAgain() {
+        YamlWrapper yaml = WrapperPool.borrow();
+        WrapperPool.release(yaml);
+
+        YamlWrapper again = WrapperPool.borrow();
+        try {
+            assertThat(again).isSameAs(yaml);
+        } finally {
+            WrapperPool.release(again);
+        }
+    }
+
+    @Test
+    void parsersBorrowedAtOnceAreDifferent() {
+        List<YamlWrapper> borrowed = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            borrowed.add(WrapperPool.borrow());
+        }
+        Map<YamlWrapper, Boolean> distinct = new IdentityHashMap<>();
+        borrowed.forEach(yaml -> distinct.put(yaml, true));
+
+        assertThat(distinct).hasSize(8);
+        borrowed.forEach(WrapperPool::release);
+    }
+
+    @Test
+    void thePoolKeepsNoMoreThanItHasRoomFor() {
+        int room = Math.max(2, Runtime.getRuntime().availableProcessors());
+        List<YamlWrapper> borrowed = new ArrayList<>();
+        for (int i = 0; i < room + 5; i++) {
+            borrowed.add(WrapperPool.borrow());
+        }
+        borrowed.forEach(WrapperPool::release);
+
+        List<YamlWrapper> again = new ArrayList<>();
+        for (int i = 0; i < room + 5; i++) {
+            again.add(WrapperPool.borrow());
+        }
+        Map<YamlWrapper, Boolean> kept = new IdentityHashMap<>();
+        borrowed.forEach(yaml -> kept.put(yaml, true));
+
+        assertThat(again.stream().filter(kept::containsKey).count()).isEqualTo((long) room);
+        again.forEach(WrapperPool::release);
+    }
+
+    @Test
+    void loadsOnManyThreadsStillReadTheirOwnFiles() throws Exception {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            File file = new File(target.getParentFile(), "pool" + i + ".yml");
+            Files.writeString(file.toPath(), "age: " + i + "\n");
+            files.add(file);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> ages = new ArrayList<>();
+            for (File file : files) {
+                ages.add(pool.submit(() -> new HappyFlow().<HappyFlow>load(file).age));
+            }
+            for (int i = 0; i < ages.size(); i++) {
+                assertThat(ages.get(i).get()).isEqualTo(i);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
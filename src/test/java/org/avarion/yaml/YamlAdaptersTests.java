@@ -0,0 +1,154 @@
+package org.avarion.yaml;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Types read from and written as a single line of text through an adapter, rather than through
+ * a String constructor they do not have.
+ */
+class YamlAdaptersTests extends TestCommon {
+
+    static class BuiltInConfig extends YamlFileInterface {
+        @YamlKey("timeout")
+        public Duration timeout = Duration.ofSeconds(30);
+
+        @YamlKey("since")
+        public Instant since = Instant.parse("2024-05-01T12:00:00Z");
+
+        @YamlKey("backups")
+        public Path backups = Path.of("plugins", "backups");
+
+        @YamlKey("price")
+        public BigDecimal price = new BigDecimal("2.50");
+
+        @YamlKey("name-filter")
+        public Pattern nameFilter = Pattern.compile("[a-z_]{3,16}");
+
+        @YamlKey("homepage")
+        public URI homepage = URI.create("https://example.com/shop");
+
+        @YamlKey("cooldowns")
+        public Map<String, Duration> cooldowns = Map.of("heal", Duration.ofMinutes(5));
+
+        @YamlKey("intervals")
+        public List<Duration> intervals = List.of(Duration.ofMillis(500), Duration.ofHours(1));
+    }
+
+    /** Has no String constructor, and a {@code toString()} nothing could read back. */
+    static final class Coordinates {
+        final int x;
+        final int z;
+
+        private Coordinates(int x, int z) {
+            this.x = x;
+            this.z = z;
+        }
+
+        static Coordinates parse(String text) {
+            String[] parts = text.split(",");
+            return new Coordinates(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+    }
+
+    static {
+        YamlAdapters.register(Coordinates.class, Coordinates::parse, at -> at.x + ", " + at.z);
+    }
+
+    static class CoordinatesConfig extends YamlFileInterface {
+        @YamlKey("spawn")
+        public Coordinates spawn = new Coordinates(10, -4);
+    }
+
+    @Test
+    void theBuiltInsAreWrittenAsText() throws IOException {
+        new BuiltInConfig().save(target);
+
+        assertThat(readFile())
+                .contains("timeout: PT30S\n")
+                .contains("since: '2024-05-01T12:00:00Z'\n")
+                .contains("backups: plugins" + java.io.File.separator + "backups\n")
+                .contains("price: '2.50'\n")
+                .contains("name-filter: '[a-z_]{3,16}'\n")
+                .contains("homepage: https://example.com/shop\n")
+                .contains("  heal: PT5M\n")
+                .contains("  - PT0.5S\n");
+    }
+
+    @Test
+    void andReadBackAsTheyWere() throws IOException {
+        writeYaml("""
+                timeout: PT1M30S
+                since: 2025-01-02T03:04:05Z
+                backups: /srv/backups
+                price: '19.990'
+                name-filter: ^[A-Z]+$
+                homepage: https://example.org/
+                cooldowns:
+                  heal: PT10S
+                intervals:
+                  - PT2S
+                """);
+
+        BuiltInConfig loaded = new BuiltInConfig().load(target);
+
+        assertThat(loaded.timeout).isEqualTo(Duration.ofSeconds(90));
+        assertThat(loaded.since).isEqualTo(Instant.parse("2025-01-02T03:04:05Z"));
+        assertThat(loaded.backups).isEqualTo(Path.of("/srv/backups"));
+        assertThat(loaded.price).isEqualTo(new BigDecimal("19.990"));
+        assertThat(loaded.nameFilter.pattern()).isEqualTo("^[A-Z]+$");
+        assertThat(loaded.homepage).isEqualTo(URI.create("https://example.org/"));
+        assertThat(loaded.cooldowns).isEqualTo(Map.of("heal", Duration.ofSeconds(10)));
+        assertThat(loaded.intervals).containsExactly(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void aBareNumberIsReadIntoABigDecimal() throws IOException {
+        writeYaml("price: 4.25\n");
+
+        BuiltInConfig loaded = new BuiltInConfig().load(target);
+
+        assertThat(loaded.price).isEqualTo(new BigDecimal("4.25"));
+    }
+
+    @Test
+    void aRegisteredAdapterIsUsedBothWays() throws IOException {
+        new CoordinatesConfig().save(target);
+        assertThat(readFile()).isEqualTo("spawn: 10, -4\n");
+
+        writeYaml("spawn: 3,7\n");
+        CoordinatesConfig loaded = new CoordinatesConfig().load(target);
+
+        assertThat(loaded.spawn.x).isEqualTo(3);
+        assertThat(loaded.spawn.z).isEqualTo(7);
+    }
+
+    @Test
+    void textTheDecoderRejectsNamesTheTypeAndTheText() throws IOException {
+        writeYaml("timeout: thirty seconds\n");
+
+        assertThatThrownBy(() -> new BuiltInConfig().load(target))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Cannot read Duration from 'thirty seconds'");
+    }
+
+    @Test
+    void typesWithAWayOfTheirOwnCannotBeRegistered() {
+        for (Class<?> type : List.of(int.class, Integer.class, String.class, Leniency.class, List.class)) {
+            assertThatThrownBy(() -> YamlAdapters.register((Class<Object>) type, text -> text, Object::toString))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
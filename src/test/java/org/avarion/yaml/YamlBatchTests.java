@@ -0,0 +1,114 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.DataFileClass;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.logging.LogRecord;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A folder of files bound to one class, loaded and saved as a batch.
+ *
+ * <p>Each file has to come out exactly as it would have loaded on its own, whatever thread it
+ * happened to land on, and one bad file must cost that file and nothing else.
+ */
+class YamlBatchTests extends TestCommon {
+
+    @TempDir
+    Path folder;
+
+    private void writePlayers(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            Files.writeString(folder.resolve(String.format("player%03d.yml", i)),
+                              "players:\n  score: " + i + "\nmeta:\n  version: " + i + "\n");
+        }
+    }
+
+    @Test
+    void everyFileIsLoadedIntoItsOwnObject() throws IOException {
+        writePlayers(50);
+
+        YamlBatch.Result<DataFileClass> result = YamlBatch.loadAll(folder, DataFileClass::new, 4);
+
+        assertThat(result.failures()).isEmpty();
+        assertThat(result.succeeded()).hasSize(50);
+        assertThat(result.succeeded().get(folder.resolve("player042.yml")).version).isEqualTo(42);
+        assertThat(result.succeeded().get(folder.resolve("player007.yml")).players).containsEntry("score", 7);
+        assertThat(result.succeeded().keySet()).as("in name order").isSorted();
+    }
+
+    @Test
+    void aBrokenFileIsReportedAndTheRestStillLoad() throws IOException {
+        writePlayers(5);
+        Files.writeString(folder.resolve("broken.yml"), "players: [never closed\n");
+        Files.writeString(folder.resolve("wrong.yaml"), "meta:\n  version: lots\n");
+
+        YamlBatch.Result<DataFileClass> result = YamlBatch.loadAll(folder, DataFileClass::new, 2);
+
+        assertThat(result.succeeded()).hasSize(5);
+        assertThat(result.failures()).containsOnlyKeys(folder.resolve("broken.yml"), folder.resolve("wrong.yaml"));
+        assertThat(result.failures().get(folder.resolve("wrong.yaml")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("meta.version");
+        assertThat(result.total()).isEqualTo(7);
+        assertThat(result.summary()).startsWith("5 of 7 files in").endsWith("; 2 failed");
+    }
+
+    @Test
+    void onlyYamlFilesDirectlyInsideTheFolderAreTaken() throws IOException {
+        writePlayers(2);
+        Files.writeString(folder.resolve("readme.txt"), "not a config");
+        Files.createDirectory(folder.resolve("archive.yml"));
+        Files.writeString(Files.createDirectory(folder.resolve("old")).resolve("player999.yml"), "meta:\n  version: 1\n");
+
+        YamlBatch.Result<DataFileClass> result = YamlBatch.loadAll(folder, DataFileClass::new);
+
+        assertThat(result.succeeded()).containsOnlyKeys(folder.resolve("player000.yml"), folder.resolve("player001.yml"));
+        assertThat(result.failures()).isEmpty();
+    }
+
+    @Test
+    void aWarningSaysWhichFileItIsAbout() throws IOException {
+        Files.writeString(folder.resolve("moved.yml"), "zones:\n  spawn: 0,64,0\n");
+
+        YamlBatch.Result<DataFileClass> result = YamlBatch.loadAll(folder, DataFileClass::new, 2);
+
+        assertThat(result.succeeded().get(folder.resolve("moved.yml")).regions).containsEntry("spawn", "0,64,0");
+        assertThat(logs).extracting(LogRecord::getMessage)
+                        .containsExactly("moved.yml: 'zones' is now 'regions'; your value has been carried across.");
+    }
+
+    @Test
+    void whatWasLoadedCanBeSavedBack() throws IOException {
+        writePlayers(20);
+        YamlBatch.Result<DataFileClass> loaded = YamlBatch.loadAll(folder, DataFileClass::new, 4);
+        loaded.succeeded().values().forEach(data -> data.owner = "server");
+
+        YamlBatch.Result<DataFileClass> saved = YamlBatch.saveAll(loaded.succeeded(), 4);
+
+        assertThat(saved.failures()).isEmpty();
+        assertThat(saved.succeeded()).hasSize(20);
+        DataFileClass again = new DataFileClass().load(folder.resolve("player013.yml").toFile());
+        assertThat(again.owner).isEqualTo("server");
+        assertThat(again.version).isEqualTo(13);
+    }
+
+    @Test
+    void aFolderThatIsNotThereIsAnError() {
+        assertThatThrownBy(() -> YamlBatch.loadAll(folder.resolve("missing"), DataFileClass::new))
+                .isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void theParallelismMustBePositive() {
+        assertThatThrownBy(() -> YamlBatch.loadAll(folder, DataFileClass::new, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
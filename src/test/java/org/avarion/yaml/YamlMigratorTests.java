@@ -0,0 +1,159 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.RenamedKeyClass;
+import org.avarion.yaml.testClasses.VersionedClass;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Moving a whole folder of files to today's keys without waiting for each one to be loaded.
+ *
+ * <p>A migrated file has to hold everything the old one did, under the keys a load would have moved
+ * it to, and a file with nothing to move must not be written at all: a migration run over ten thousand files that
+ * rewrote every one of them would be its own kind of incident.
+ */
+class YamlMigratorTests extends TestCommon {
+
+    @TempDir
+    Path folder;
+
+    private Path write(String name, String content) throws IOException {
+        Path file = folder.resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+
+    @Test
+    void aFileWithOldKeysIsMovedToTheNewOnes() throws IOException {
+        Path old = write("old.yml", "zone:\n  damage-per-second: 4.5\nbar:\n  colour: BLUE\n");
+
+        YamlMigrator.Summary summary = YamlMigrator.migrate(folder, RenamedKeyClass::new, 2);
+
+        assertThat(summary.migrated()).containsOnlyKeys(old);
+        assertThat(summary.migrated().get(old))
+                .containsEntry("zone.damage-per-second", "storm.damage-per-second")
+                .containsEntry("bar.colour", "hud.boss-bar.colour");
+        assertThat(Files.readString(old)).doesNotContain("zone:", "\nbar:")
+                                         .contains("damage-per-second: 4.5", "colour: BLUE");
+
+        RenamedKeyClass loaded = new RenamedKeyClass().load(old.toFile());
+        assertThat(loaded.renamesApplied()).as("nothing left to move").isEmpty();
+        assertThat(loaded.damage).isEqualTo(4.5);
+    }
+
+    @Test
+    void whatNoFieldClaimsIsKept() throws IOException {
+        Path old = write("old.yml", "zone:\n  damage-per-second: 4.5\n  owner: Steve\nnotes:\n  - ask about the arena\n");
+
+        YamlMigrator.migrate(folder, RenamedKeyClass::new, 1);
+
+        assertThat(Files.readString(old)).contains("owner: Steve", "notes:", "- ask about the arena");
+    }
+
+    @Test
+    void aValueTheClassCannotReadIsKeptAsWritten() throws IOException {
+        Path old = write("old.yml", "zone:\n  damage-per-second: lots\n");
+
+        YamlMigrator.Summary summary = YamlMigrator.migrate(folder, RenamedKeyClass::new, 1);
+
+        assertThat(summary.migrated()).containsOnlyKeys(old);
+        assertThat(Files.readString(old)).isEqualTo("storm:\n  damage-per-second: lots\n");
+    }
+
+    @Test
+    void aVersionedFileIsGivenItsStepsAndItsVersionFirst() throws IOException {
+        Path old = write("old.yml", "greeting: Hi\nspawn:\n  radius: 7\n");
+
+        YamlMigrator.migrate(folder, VersionedClass::new, 1);
+
+        assertThat(Files.readString(old)).startsWith("config-version: 3\n").contains("diameter: 14", "motd: Hi");
+        VersionedClass loaded = new VersionedClass().load(old.toFile());
+        assertThat(loaded.diameter).isEqualTo(14);
+        assertThat(loaded.renamesApplied()).isEmpty();
+    }
+
+    @Test
+    void theJournalIsFoldedIntoTheMigratedFile() throws IOException {
+        Path old = write("old.yml", "zone:\n  damage-per-second: 4.5\n");
+        Files.writeString(Journal.of(old.toFile()).toPath(), "storm:\n  damage-per-second: 8.0\n");
+
+        YamlMigrator.migrate(folder, RenamedKeyClass::new, 1);
+
+        assertThat(Files.exists(Journal.of(old.toFile()).toPath())).isFalse();
+        assertThat(new RenamedKeyClass().<RenamedKeyClass>load(old.toFile()).damage).isEqualTo(8.0);
+    }
+
+    @Test
+    void aFileAlreadyUpToDateIsNotWritten() throws IOException {
+        String content = "# hand-written\nstorm:\n  damage-per-second: 2.0\n";
+        Path current = write("current.yml", content);
+
+        YamlMigrator.Summary summary = YamlMigrator.migrate(folder, RenamedKeyClass::new);
+
+        assertThat(summary.unchanged()).containsExactly(current);
+        assertThat(summary.migrated()).isEmpty();
+        assertThat(Files.readString(current)).isEqualTo(content);
+    }
+
+    @Test
+    void aBrokenFileIsReportedAndLeftAlone() throws IOException {
+        Path broken = write("broken.yml", "zone: [\n");
+        Path old = write("old.yml", "zone:\n  damage-per-second: 4.5\n");
+
+        YamlMigrator.Summary summary = YamlMigrator.migrate(folder, RenamedKeyClass::new, 2);
+
+        assertThat(summary.failures()).containsOnlyKeys(broken);
+        assertThat(summary.migrated()).containsOnlyKeys(old);
+        assertThat(Files.readString(broken)).isEqualTo("zone: [\n");
+        assertThat(summary.summary()).startsWith("1 migrated, 0 already up to date, 1 failed");
+    }
+
+    @Test
+    void noTemporaryFileIsLeftBehind() throws IOException {
+        write("a.yml", "zone:\n  damage-per-second: 1.5\n");
+        write("b.yml", "bar:\n  colour: GREEN\n");
+
+        YamlMigrator.migrate(folder, RenamedKeyClass::new, 2);
+
+        try (var files = Files.list(folder)) {
+            assertThat(files.map(path -> path.getFileName().toString())).containsExactlyInAnyOrder("a.yml", "b.yml");
+        }
+    }
+
+    @Test
+    void theCommandLinePrintsWhatItDid() throws IOException {
+        write("old.yml", "zone:\n  damage-per-second: 4.5\n");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int status = YamlMigrator.run(new String[] { RenamedKeyClass.class.getName(), folder.toString(), "1" },
+                                      new PrintStream(out), new PrintStream(err));
+
+        assertThat(status).isZero();
+        assertThat(out.toString()).contains("old.yml: {zone.damage-per-second=storm.damage-per-second}")
+                                  .contains("1 migrated, 0 already up to date, 0 failed");
+        assertThat(err.toString()).isEmpty();
+    }
+
+    @Test
+    void theCommandLineRefusesWhatItCannotUse() {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream errors = new PrintStream(err);
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+
+        assertThat(YamlMigrator.run(new String[] { "only-one" }, out, errors)).isEqualTo(2);
+        assertThat(YamlMigrator.run(new String[] { "com.example.Missing", folder.toString() }, out, errors)).isEqualTo(2);
+        assertThat(YamlMigrator.run(new String[] { String.class.getName(), folder.toString() }, out, errors)).isEqualTo(2);
+        assertThat(err.toString()).contains("Usage:")
+                                  .contains("No class com.example.Missing on the class path")
+                                  .contains("java.lang.String does not extend YamlFileInterface");
+    }
+}
@@ -0,0 +1,144 @@
+package org.avarion.yaml;
+
+import org.avarion.yaml.testClasses.HappyFlow;
+import org.avarion.yaml.testClasses.ListMaterial;
+import org.avarion.yaml.testClasses.RenamedKeyClass;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.LogRecord;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link YamlStats}: what a load or save cost is kept on the config, and handed to every listener.
+ */
+class YamlStatsTests extends TestCommon {
+
+    @Test
+    void aLoadSaysWhatItReadAndConverted() throws IOException {
+        writeYaml("materials:\n  - A\n  - NOPE\n  - B\nenum: C\n");
+
+        YamlStats stats = new ListMaterial().load(target).lastStats();
+
+        assertThat(stats.operation()).isEqualTo(YamlStats.Operation.LOAD);
+        assertThat(stats.configClass()).isEqualTo(ListMaterial.class);
+        assertThat(stats.file()).isEqualTo(target);
+        assertThat(stats.bytesRead()).isEqualTo(Files.size(target.toPath()));
+        assertThat(stats.bytesWritten()).isEqualTo(0L);
+        assertThat(stats.fieldsBound()).isEqualTo(2);
+        // The list, its three elements and the enum.
+        assertThat(stats.valuesConverted()).isEqualTo(5L);
+        assertThat(stats.warnings()).isEqualTo(1);
+        assertThat(stats.succeeded()).isTrue();
+        assertThat(stats.parseNanos()).isPositive();
+        assertThat(stats.totalNanos()).isEqualTo(stats.readNanos() + stats.parseNanos()
+                                                 + stats.migrateNanos() + stats.bindNanos());
+    }
+
+    @Test
+    void aLoadCountsTheKeysItMoved() throws IOException {
+        writeYaml("zone:\n  damage-per-second: 6.0\n");
+
+        YamlStats stats = new RenamedKeyClass().load(target).lastStats();
+
+        assertThat(stats.renamesApplied()).isEqualTo(1);
+    }
+
+    @Test
+    void aReloadOfChangedBlocksIsAReload() throws IOException {
+        writeYaml("materials:\n  - A\nenum: C\n");
+        ListMaterial config = new ListMaterial().load(target);
+        writeYaml("materials:\n  - B\nenum: C\n");
+
+        YamlStats stats = config.load(target).lastStats();
+
+        assertThat(stats.operation()).isEqualTo(YamlStats.Operation.RELOAD);
+        assertThat(stats.fieldsBound()).isEqualTo(2);
+        assertThat(stats.parseNanos()).isEqualTo(0L);
+    }
+
+    @Test
+    void aSaveSaysWhatItWrote() throws IOException {
+        HappyFlow config = new HappyFlow();
+        config.save(target);
+
+        YamlStats stats = config.lastStats();
+
+        assertThat(stats.operation()).isEqualTo(YamlStats.Operation.SAVE);
+        assertThat(stats.bytesWritten()).isEqualTo(Files.size(target.toPath()));
+        assertThat(stats.bytesRead()).isEqualTo(0L);
+        assertThat(stats.fieldsBound()).isEqualTo(9);
+        assertThat(stats.renderNanos()).isPositive();
+    }
+
+    @Test
+    void aPatchedSaveIsMarkedPatched() throws IOException {
+        HappyFlow config = new HappyFlow();
+        config.save(target);
+        config.age = 31;
+
+        config.savePatched(target);
+
+        assertThat(config.lastStats().operation()).isEqualTo(YamlStats.Operation.SAVE_PATCHED);
+        assertThat(config.lastStats().bytesWritten()).isEqualTo(Files.size(target.toPath()));
+    }
+
+    @Test
+    void aFailedLoadIsReportedAsSuch() throws IOException {
+        writeYaml("age: not a number\n");
+        HappyFlow config = new HappyFlow();
+
+        assertThatThrownBy(() -> config.load(target)).isInstanceOf(IOException.class);
+
+        assertThat(config.lastStats().succeeded()).isFalse();
+    }
+
+    @Test
+    void listenersHearOfEveryLoadAndSave() throws IOException {
+        List<YamlStats.Operation> heard = new ArrayList<>();
+        List<YamlFileInterface> from = new ArrayList<>();
+        YamlStats.Listener listener = (config, stats) -> {
+            heard.add(stats.operation());
+            from.add(config);
+        };
+        YamlStats.addListener(listener);
+        try {
+            HappyFlow config = new HappyFlow();
+            config.save(target);
+            config.load(target);
+        } finally {
+            assertThat(YamlStats.removeListener(listener)).isTrue();
+        }
+        new HappyFlow().load(target);
+
+        assertThat(heard).isEqualTo(List.of(YamlStats.Operation.SAVE, YamlStats.Operation.LOAD));
+        assertThat(from.get(0)).isSameAs(from.get(1));
+    }
+
+    @Test
+    void aListenerThatThrowsDoesNotFailTheLoad() throws IOException {
+        writeYaml("age: 12\n");
+        List<YamlStats> heard = new ArrayList<>();
+        YamlStats.Listener broken = (config, stats) -> {
+            throw new IllegalStateException("metrics are down");
+        };
+        YamlStats.Listener working = (config, stats) -> heard.add(stats);
+        YamlStats.addListener(broken);
+        YamlStats.addListener(working);
+        try {
+            HappyFlow loaded = new HappyFlow().load(target);
+
+            assertThat(loaded.age).isEqualTo(12);
+            assertThat(heard).hasSize(1);
+            assertThat(logs.stream().map(LogRecord::getMessage).toList()).contains("A YamlStats listener failed");
+        } finally {
+            YamlStats.removeListener(broken);
+            YamlStats.removeListener(working);
+        }
+    }
+}
@@ -173,6 +173,52 @@ class YamlWriterEdgeCaseTests extends TestCommon {
         assertEquals("enum-value: 'VALUE_A'\n", yaml, "Should contain enum value without type tag");
     }
 
+    enum BodiedEnum {
+        PLAIN,
+        WITH_BODY {
+            @Override
+            public String toString() {
+                return "body";
+            }
+        }
+    }
+
+    @Test
+    void testFormatValueWithEnumConstantBody() throws IOException {
+        class BodiedEnumClass extends YamlFileInterface {
+            @YamlKey("values")
+            public List<BodiedEnum> values = List.of(BodiedEnum.WITH_BODY, BodiedEnum.PLAIN, BodiedEnum.WITH_BODY);
+        }
+
+        new BodiedEnumClass().save(target);
+
+        assertEquals("values:\n  - 'WITH_BODY'\n  - 'PLAIN'\n  - 'WITH_BODY'\n", readFile());
+    }
+
+    @Test
+    void testFormatValueWithNumbers() throws IOException {
+        class NumberClass extends YamlFileInterface {
+            @YamlKey("numbers")
+            public List<Object> numbers = List.of(-7, 12L, 1.5, -0.25f, Double.NaN, Double.NEGATIVE_INFINITY,
+                                                  1.0E10, new java.math.BigDecimal("2.50"), true);
+        }
+
+        new NumberClass().save(target);
+
+        assertEquals("""
+                numbers:
+                  - -7
+                  - 12
+                  - 1.5
+                  - -0.25
+                  - .NaN
+                  - -.inf
+                  - 1.0E10
+                  - '2.50'
+                  - true
+                """, readFile());
+    }
+
     @Test
     void testFormatValueWithUUID() throws IOException {
         class UUIDTestClass extends YamlFileInterface {
@@ -0,0 +1,50 @@
+package org.avarion.yaml.testClasses;
+
+import org.avarion.yaml.YamlFile;
+import org.avarion.yaml.YamlFileInterface;
+import org.avarion.yaml.YamlKey;
+
+import java.util.List;
+
+/**
+ * Arrays of primitives, of objects and of records, at the top level and inside a record.
+ */
+@YamlFile
+public class ArrayClass extends YamlFileInterface {
+
+    public record Layout(String name, int[] slots) {
+    }
+
+    @YamlKey("heightmap")
+    public int[] heightmap = {64, 65, 63};
+
+    @YamlKey("cooldowns")
+    public long[] cooldowns = {1_700_000_000_000L};
+
+    @YamlKey("weights")
+    public double[] weights = {0.5, 1.25};
+
+    @YamlKey("mask")
+    public byte[] mask = {1, 0, -1};
+
+    @YamlKey("flags")
+    public boolean[] flags = {true, false};
+
+    @YamlKey("worlds")
+    public String[] worlds = {"world", "world_nether"};
+
+    @YamlKey("materials")
+    public Material[] materials = {Material.A};
+
+    @YamlKey("addresses")
+    public Address[] addresses = {new Address("Main St", "Springfield", 12345)};
+
+    @YamlKey("layout")
+    public Layout layout = new Layout("hotbar", new int[]{0, 1, 2});
+
+    @YamlKey("groups")
+    public List<String>[] groups = new List[]{List.of("a", "b"), List.of()};
+
+    @YamlKey("empty")
+    public int[] empty = {};
+}
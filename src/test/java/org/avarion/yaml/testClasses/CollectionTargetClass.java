@@ -0,0 +1,43 @@
+package org.avarion.yaml.testClasses;
+
+import org.avarion.yaml.YamlFile;
+import org.avarion.yaml.YamlFileInterface;
+import org.avarion.yaml.YamlKey;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Fields declared as a particular kind of collection or map, which a load has to fill with one.
+ */
+@YamlFile
+public class CollectionTargetClass extends YamlFileInterface {
+
+    @YamlKey("enabled")
+    public EnumSet<Material> enabled = EnumSet.of(Material.A);
+
+    @YamlKey("prices")
+    public EnumMap<Material, Integer> prices = new EnumMap<>(Map.of(Material.B, 10));
+
+    @YamlKey("names")
+    public SortedSet<String> names = new TreeSet<>(List.of("b", "a"));
+
+    @YamlKey("ranks")
+    public NavigableSet<Integer> ranks = new TreeSet<>();
+
+    @YamlKey("levels")
+    public TreeMap<Integer, String> levels = new TreeMap<>();
+
+    @YamlKey("aliases")
+    public SortedMap<String, String> aliases = new TreeMap<>();
+
+    @YamlKey("online")
+    public ConcurrentMap<String, Integer> online = new ConcurrentHashMap<>();
+
+    @YamlKey("history")
+    public LinkedList<String> history = new LinkedList<>();
+
+    @YamlKey("tags")
+    public Collection<String> tags = new ArrayList<>();
+}
@@ -0,0 +1,29 @@
+package org.avarion.yaml.testClasses;
+
+import org.avarion.yaml.YamlFile;
+import org.avarion.yaml.YamlFileInterface;
+import org.avarion.yaml.YamlKey;
+import org.avarion.yaml.YamlRename;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A large data file in miniature: a few independent top-level blocks, one of them with a history.
+ * Read-only, as a file only ever reloaded is, so what an unchanged block holds can be handed back.
+ */
+@YamlFile(immutableCollections = true)
+@YamlRename(from = "zones", to = "regions")
+public class DataFileClass extends YamlFileInterface {
+    @YamlKey("players")
+    public Map<String, Integer> players = new LinkedHashMap<>();
+
+    @YamlKey("regions")
+    public Map<String, String> regions = new LinkedHashMap<>();
+
+    @YamlKey("meta.version")
+    public int version = 1;
+
+    @YamlKey("meta.owner")
+    public String owner = "nobody";
+}
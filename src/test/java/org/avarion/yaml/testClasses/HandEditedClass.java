@@ -0,0 +1,26 @@
+package org.avarion.yaml.testClasses;
+
+import org.avarion.yaml.YamlFileInterface;
+import org.avarion.yaml.YamlKey;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings an operator is expected to annotate by hand, one of each shape a patch has to handle.
+ */
+public class HandEditedClass extends YamlFileInterface {
+    @YamlKey("server.port")
+    public int port = 25565;
+
+    @YamlKey("server.motd")
+    public String motd = "hello";
+
+    @YamlKey("worlds")
+    public List<String> worlds = new ArrayList<>(List.of("world"));
+
+    @YamlKey("limits")
+    public Map<String, Integer> limits = new LinkedHashMap<>(Map.of("players", 20));
+}
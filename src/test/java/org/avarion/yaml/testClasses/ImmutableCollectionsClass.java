@@ -0,0 +1,29 @@
+package org.avarion.yaml.testClasses;
+
+import org.avarion.yaml.YamlFile;
+import org.avarion.yaml.YamlFileInterface;
+import org.avarion.yaml.YamlKey;
+
+import java.util.*;
+
+/**
+ * A read-only config: what a load puts in its plain collections and maps cannot be changed.
+ */
+@YamlFile(immutableCollections = true)
+public class ImmutableCollectionsClass extends YamlFileInterface {
+
+    @YamlKey("worlds")
+    public List<String> worlds = new ArrayList<>();
+
+    @YamlKey("ranks")
+    public Set<String> ranks = new LinkedHashSet<>();
+
+    @YamlKey("limits")
+    public Map<String, List<Integer>> limits = new LinkedHashMap<>();
+
+    @YamlKey("names")
+    public SortedSet<String> names = new TreeSet<>();
+
+    @YamlKey("history")
+    public ArrayList<String> history = new ArrayList<>();
+}
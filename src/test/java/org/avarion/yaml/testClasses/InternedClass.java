@@ -0,0 +1,32 @@
+package org.avarion.yaml.testClasses;
+
+import org.avarion.yaml.YamlFile;
+import org.avarion.yaml.YamlFileInterface;
+import org.avarion.yaml.YamlKey;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-player data, of which many copies are loaded at once: its values are shared between them.
+ */
+@YamlFile(intern = true, immutableCollections = true)
+public class InternedClass extends YamlFileInterface {
+
+    @YamlKey("world")
+    public String world = "world";
+
+    @YamlKey("coins")
+    public Integer coins = 0;
+
+    @YamlKey("homes")
+    public Map<String, Long> homes = new LinkedHashMap<>();
+
+    @YamlKey("kits")
+    public List<String> kits = new ArrayList<>();
+
+    @YamlKey("friends")
+    public Map<String, String> friends = new LinkedHashMap<>();
+}
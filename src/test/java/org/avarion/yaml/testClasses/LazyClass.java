@@ -0,0 +1,27 @@
+package org.avarion.yaml.testClasses;
+
+import org.avarion.yaml.Lazy;
+import org.avarion.yaml.Leniency;
+import org.avarion.yaml.YamlFile;
+import org.avarion.yaml.YamlFileInterface;
+import org.avarion.yaml.YamlKey;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One small setting read on every load, and blocks that are only converted when asked for.
+ */
+@YamlFile
+public class LazyClass extends YamlFileInterface {
+
+    @YamlKey("name")
+    public String name = "lobby";
+
+    @YamlKey("addresses")
+    public Lazy<Map<String, Address>> addresses = Lazy.of(new LinkedHashMap<>());
+
+    @YamlKey(value = "limits", lenient = Leniency.STRICT)
+    public Lazy<List<Integer>> limits = Lazy.of(List.of(1, 2));
+}
@@ -0,0 +1,31 @@
+package org.avarion.yaml.testClasses;
+
+import org.avarion.yaml.YamlFileInterface;
+import org.avarion.yaml.YamlKey;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * High-churn data: a map and a set that change all the time, beside settings that hardly ever do.
+ */
+public class LeaderboardClass extends YamlFileInterface {
+    @YamlKey("points")
+    public Map<String, Integer> points = new LinkedHashMap<>();
+
+    @YamlKey("claims")
+    public Set<String> claims = new LinkedHashSet<>();
+
+    @YamlKey("history")
+    public List<String> history = new ArrayList<>();
+
+    @YamlKey("season.number")
+    public int season = 1;
+
+    @YamlKey("season.name")
+    public String seasonName = "spring";
+}
@@ -0,0 +1,40 @@
+package org.avarion.yaml.testClasses;
+
+import org.avarion.yaml.Leniency;
+import org.avarion.yaml.YamlFile;
+import org.avarion.yaml.YamlFileInterface;
+import org.avarion.yaml.YamlKey;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocks big enough to be converted on several threads.
+ */
+@YamlFile(parallelThreshold = 100)
+public class ParallelClass extends YamlFileInterface {
+
+    @YamlKey("materials")
+    public List<Material> materials = new ArrayList<>();
+
+    @YamlKey("stats")
+    public Map<String, Address> stats = new LinkedHashMap<>();
+
+    @YamlKey(value = "strict", lenient = Leniency.STRICT)
+    public List<Integer> strict = new ArrayList<>();
+
+    /** The same fields, converted one element at a time. */
+    @YamlFile
+    public static class Sequential extends YamlFileInterface {
+        @YamlKey("materials")
+        public List<Material> materials = new ArrayList<>();
+
+        @YamlKey("stats")
+        public Map<String, Address> stats = new LinkedHashMap<>();
+
+        @YamlKey(value = "strict", lenient = Leniency.STRICT)
+        public List<Integer> strict = new ArrayList<>();
+    }
+}
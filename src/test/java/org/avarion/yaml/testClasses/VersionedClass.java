@@ -0,0 +1,32 @@
+package org.avarion.yaml.testClasses;
+
+import org.avarion.yaml.YamlFile;
+import org.avarion.yaml.YamlFileInterface;
+import org.avarion.yaml.YamlKey;
+import org.avarion.yaml.YamlMigrations;
+
+/**
+ * A file at version 3 of its layout, with the steps that got it there.
+ */
+@YamlFile(version = 3)
+public class VersionedClass extends YamlFileInterface {
+
+    static {
+        YamlMigrations.register(VersionedClass.class, 1, step -> step
+                .move("mysql", "database.mysql"));
+        YamlMigrations.register(VersionedClass.class, 2, step -> step
+                .transform("spawn.radius", radius -> ((Number) radius).intValue() * 2)
+                .move("spawn.radius", "spawn.diameter"));
+        // Version 3 only added a key, which needs no step.
+    }
+
+    @YamlKey("database.mysql.host")
+    public String host = "localhost";
+
+    @YamlKey("spawn.diameter")
+    public int diameter = 10;
+
+    /** Moved before versions were kept, so still declared the old way. */
+    @YamlKey(value = "motd", previously = "greeting")
+    public String motd = "Welcome";
+}